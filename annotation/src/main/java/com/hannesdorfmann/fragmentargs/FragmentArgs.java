@@ -12,33 +12,68 @@ public class FragmentArgs {
   public static final String AUTO_MAPPING_QUALIFIED_CLASS =
       AUTO_MAPPING_PACKAGE + "." + AUTO_MAPPING_CLASS_NAME;
 
-  private static FragmentArgsInjector autoMappingInjector;
+  /**
+   * Used as injector if the generated automapping class could not be loaded, so that we don't try
+   * to load it again and again
+   */
+  private static final FragmentArgsInjector NO_INJECTOR = new FragmentArgsInjector() {
+    @Override public void inject(Object target) {
+    }
+  };
+
+  private static volatile FragmentArgsInjector autoMappingInjector;
 
   public static void inject(Object fragment) {
     injectFromBundle(fragment);
   }
 
+  /**
+   * Sets the {@link FragmentArgsInjector} that should be used by {@link #inject(Object)}. If you
+   * set the generated injector like {@code FragmentArgs.setInjector(new
+   * AutoFragmentArgInjector())} (i.e. in your Application class) FragmentArgs doesn't have to load
+   * the generated class by reflection. Passing null resets the injector, so that it will be loaded
+   * again on next injection.
+   *
+   * @param injector The injector to use
+   * @since 4.0
+   */
+  public static void setInjector(FragmentArgsInjector injector) {
+    autoMappingInjector = injector;
+  }
+
   static void injectFromBundle(Object target) {
+    getInjector().inject(target);
+  }
 
-    if (autoMappingInjector == null) {
-      // Load the automapping class
-      try {
-        Class<?> c = Class.forName(AUTO_MAPPING_QUALIFIED_CLASS);
-        autoMappingInjector = (FragmentArgsInjector) c.newInstance();
-      } catch (Exception e) {
-        // Since 2.0.0 we don't throw an exception because of android library support.
-        // Instead we print this exception as warning message
-
-        /*
-        Exception wrapped = new Exception("Could not load the generated automapping class. "
-            + "However, that may be ok, if you use FragmentArgs in library projects", e);
-        wrapped.printStackTrace();
-        */
+  static FragmentArgsInjector getInjector() {
+    FragmentArgsInjector injector = autoMappingInjector;
+    if (injector == null) {
+      synchronized (FragmentArgs.class) {
+        injector = autoMappingInjector;
+        if (injector == null) {
+          injector = loadAutoMappingInjector();
+          autoMappingInjector = injector;
+        }
       }
     }
+    return injector;
+  }
+
+  private static FragmentArgsInjector loadAutoMappingInjector() {
+    // Load the automapping class
+    try {
+      Class<?> c = Class.forName(AUTO_MAPPING_QUALIFIED_CLASS);
+      return (FragmentArgsInjector) c.newInstance();
+    } catch (Exception e) {
+      // Since 2.0.0 we don't throw an exception because of android library support.
+      // Instead we print this exception as warning message
 
-    if (autoMappingInjector != null) {
-      autoMappingInjector.inject(target);
+      /*
+      Exception wrapped = new Exception("Could not load the generated automapping class. "
+          + "However, that may be ok, if you use FragmentArgs in library projects", e);
+      wrapped.printStackTrace();
+      */
+      return NO_INJECTOR;
     }
   }
 }
@@ -0,0 +1,27 @@
+package com.hannesdorfmann.fragmentargs.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Use this annotation to mark a plain data class (POJO) that should be used as {@link Arg}. The
+ * annotation processor generates an {@link com.hannesdorfmann.fragmentargs.bundler.ArgsBundler}
+ * named <code>MyDataArgsBundler</code> that puts the fields of the class one by one into a
+ * nested Bundle, without reflection and without Java serialization. The generated bundler is used
+ * automatically for {@link Arg} fields of that type.
+ * <p>
+ * The class must have a non private empty constructor. All non static and non transient fields are
+ * stored, they must not be private or final. The types of the fields must be supported by Bundle
+ * (like {@link Arg} fields) or be annotated with {@link ArgData} as well.
+ * </p>
+ *
+ * @since 4.0
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+@Documented
+public @interface ArgData {
+}
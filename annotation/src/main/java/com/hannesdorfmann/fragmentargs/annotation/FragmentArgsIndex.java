@@ -0,0 +1,27 @@
+package com.hannesdorfmann.fragmentargs.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class generated by the annotation processor in a library module (annotation processor
+ * option {@code fragmentArgsLib = true}) that lists all fragments with a generated builder of this
+ * library. The annotation processor of the application module reads all indexes from the
+ * classpath at compile time and includes the listed fragments in the generated
+ * AutoFragmentArgInjector. You should never use this annotation directly.
+ *
+ * @since 4.0
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+@Documented
+public @interface FragmentArgsIndex {
+
+  /**
+   * The full qualified (canonical) names of the fragments
+   */
+  String[] value();
+}
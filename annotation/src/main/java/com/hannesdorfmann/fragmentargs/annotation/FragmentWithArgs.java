@@ -25,4 +25,74 @@ public @interface FragmentWithArgs {
    * fragment
    */
   boolean inherited() default true;
+
+  /**
+   * Should the injection be skipped if the arguments Bundle has already been injected into the same
+   * fragment instance? Default value = false. If enabled, the generated builder remembers the
+   * arguments Bundle instance that has been injected last into a fragment instance and skips
+   * reading the arguments again if the fragment's arguments are still the same Bundle instance
+   * (i.e. retained fragments or fragments calling {@code FragmentArgs.inject(this)} in more than
+   * one lifecycle callback). Changes made to the Bundle after the first injection are not
+   * detected.
+   *
+   * @since 4.0
+   */
+  boolean skipUnchangedArguments() default false;
+
+  /**
+   * Should a class with lazy accessors for the arguments be generated? Default value = false. If
+   * enabled, an additional class with the name of the fragment and "LazyArgs" suffix is generated
+   * (i.e. MyFragmentLazyArgs). It provides a getter method for each argument that reads the value
+   * from the arguments Bundle on first access and returns the memoized value afterwards. This is
+   * an alternative to {@code FragmentArgs.inject()} for fragments with many or expensive arguments
+   * that are not needed in every code path.
+   *
+   * @since 4.0
+   */
+  boolean lazyArgs() default false;
+
+  /**
+   * Should an immutable value class for the arguments be generated? Default value = false. If
+   * enabled, an additional class with the name of the fragment and "Args" suffix is generated
+   * (i.e. MyFragmentArgs). It has a final field for each argument and a static {@code from(Bundle)}
+   * method that parses the Bundle once. The parsed instance is cached per Bundle instance, so that
+   * views, presenters etc. can share one parsed snapshot of the arguments.
+   *
+   * @since 4.0
+   */
+  boolean argsClass() default false;
+
+  /**
+   * Should the parsed arguments be retained across configuration changes? Default value = false.
+   * If enabled, the args value class is generated (see {@link #argsClass()}) and the generated
+   * injector injects the values from the cached args instance of the fragment's arguments Bundle.
+   * The FragmentManager keeps the same Bundle instance while the fragment is recreated after a
+   * configuration change, so the arguments are only read from the Bundle again after process
+   * death.
+   *
+   * @since 4.0
+   */
+  boolean retainArguments() default false;
+
+  /**
+   * Should primitive arguments (like int, boolean or double) be packed into one long[] entry of the
+   * arguments Bundle instead of one Bundle entry per argument? Default value = false. The layout of
+   * the packed array is fixed at compile time, so the generated injector reads the values by index.
+   * Only scalar primitives are packed: primitive arrays (like int[]) have a variable length and are
+   * already stored without boxing, so they stay own Bundle entries.
+   *
+   * @since 4.0
+   */
+  boolean packPrimitives() default false;
+
+  /**
+   * Should the generated builder support prototypes? Default value = false. If enabled, the
+   * builder gets methods for required arguments too, <code>freeze()</code> to turn a builder into
+   * an immutable prototype, <code>derive()</code> to create a new builder from a prototype and
+   * <code>buildAllWith...()</code> methods to create a list of fragments that only differ in one
+   * argument.
+   *
+   * @since 4.0
+   */
+  boolean prototype() default false;
 }
@@ -0,0 +1,24 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import android.os.Bundle;
+import java.util.List;
+
+/**
+ * This {@link ArgsBundler} stores a <code>java.util.List&lt;Boolean&gt;</code> as <code>boolean[]</code>
+ * instead of boxing every element. The list read from the Bundle is an unmodifiable view backed by
+ * the array, see {@link PrimitiveLists}. Use it like this:
+ * <code>@Arg(bundler = BooleanListArgsBundler.class) List&lt;Boolean&gt; values;</code>
+ *
+ * @since 4.0
+ */
+public class BooleanListArgsBundler implements ArgsBundler<List<Boolean>> {
+
+  @Override public void put(String key, List<Boolean> value, Bundle bundle) {
+    bundle.putBooleanArray(key, PrimitiveLists.toBooleanArray(value));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override public <V extends List<Boolean>> V get(String key, Bundle bundle) {
+    return (V) PrimitiveLists.asList(bundle.getBooleanArray(key));
+  }
+}
@@ -0,0 +1,42 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import android.os.Parcelable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Helper methods used by the generated code to put types into a Bundle, that are not supported by
+ * the typed methods of Bundle directly, like <code>java.util.List</code> or arrays of a
+ * Parcelable subtype.
+ *
+ * @since 4.0
+ */
+public final class BundleArgs {
+
+  private BundleArgs() {
+  }
+
+  /**
+   * Returns the given list if it's an ArrayList, otherwise a copy of it
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> ArrayList<T> toArrayList(List<T> list) {
+    if (list == null || list instanceof ArrayList) {
+      return (ArrayList<T>) list;
+    }
+    return new ArrayList<T>(list);
+  }
+
+  /**
+   * Copies the <code>Parcelable[]</code> returned by <code>Bundle.getParcelableArray()</code>
+   * into an array of the given type.
+   */
+  public static <T extends Parcelable> T[] toParcelableArray(Parcelable[] values,
+      Class<T[]> type) {
+    if (values == null) {
+      return null;
+    }
+    return Arrays.copyOf(values, values.length, type);
+  }
+}
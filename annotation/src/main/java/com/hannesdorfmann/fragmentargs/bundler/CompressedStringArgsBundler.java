@@ -0,0 +1,26 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import android.os.Bundle;
+
+/**
+ * A {@link CompressingArgsBundler} for <code>String</code> arguments like large JSON documents.
+ * Strings that need at least {@link #DEFAULT_THRESHOLD} bytes marshalled are compressed, shorter
+ * ones are put by <code>Bundle.putString()</code>.
+ *
+ * @since 4.0
+ */
+public class CompressedStringArgsBundler extends CompressingArgsBundler<String> {
+
+  public CompressedStringArgsBundler() {
+    super(new ArgsBundler<String>() {
+      @Override public void put(String key, String value, Bundle bundle) {
+        bundle.putString(key, value);
+      }
+
+      @SuppressWarnings("unchecked")
+      @Override public <V extends String> V get(String key, Bundle bundle) {
+        return (V) bundle.getString(key);
+      }
+    });
+  }
+}
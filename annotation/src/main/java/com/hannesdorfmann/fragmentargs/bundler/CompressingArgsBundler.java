@@ -0,0 +1,201 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import android.os.Bundle;
+import android.os.Parcel;
+import java.io.IOException;
+
+/**
+ * An {@link ArgsBundler} that compresses the value put by another {@link ArgsBundler} if it's
+ * large, to keep fragment transactions away from the binder transaction limit. The delegate puts
+ * the value into a temporary Bundle, which is marshalled by a {@link Parcel}. If the marshalled
+ * Bundle has at least <code>threshold</code> bytes it's compressed by the {@link CompressionCodec}
+ * and stored as nested Bundle under the key. Otherwise (or if compressing doesn't make it smaller)
+ * the values of the delegate are put as they are. {@link #get(String, Bundle)} handles both.
+ * Values containing binders or file descriptors (i.e. a <code>ParcelFileDescriptor</code>) can't be
+ * marshalled and are never compressed.
+ * <p>
+ * Subclass it to use it with {@code @Arg}, like
+ * <pre>
+ * public class JsonArgsBundler extends CompressingArgsBundler&lt;JSONObject&gt; {
+ *   public JsonArgsBundler() {
+ *     super(new MyJsonArgsBundler(), 4096);
+ *   }
+ * }
+ * </pre>
+ * {@link CompressedStringArgsBundler} compresses the built in <code>String</code> operation of
+ * Bundle.
+ * </p>
+ *
+ * @since 4.0
+ */
+public class CompressingArgsBundler<T> implements ArgsBundler<T> {
+
+  /**
+   * Gets notified about the compression of arguments, i.e. to log the compression ratio. Set it by
+   * {@link #setMetricsListener(MetricsListener)}.
+   */
+  public interface MetricsListener {
+
+    /**
+     * Called after a value has been compressed
+     *
+     * @param key The key of the value
+     * @param size The size of the marshalled value in bytes
+     * @param compressedSize The size of the compressed value in bytes
+     * @param nanos The time compressing took in nanoseconds
+     */
+    public void onCompressed(String key, int size, int compressedSize, long nanos);
+
+    /**
+     * Called after a value has been decompressed
+     *
+     * @param key The key of the value
+     * @param size The size of the marshalled value in bytes
+     * @param compressedSize The size of the compressed value in bytes
+     * @param nanos The time decompressing took in nanoseconds
+     */
+    public void onDecompressed(String key, int size, int compressedSize, long nanos);
+  }
+
+  /**
+   * The default threshold in bytes
+   */
+  public static final int DEFAULT_THRESHOLD = 16 * 1024;
+
+  private static final String COMPRESSED_KEY = "_fa_z";
+  private static final String LENGTH_KEY = "_fa_n";
+
+  private static volatile MetricsListener metricsListener;
+
+  private final ArgsBundler<T> delegate;
+  private final int threshold;
+  private final CompressionCodec codec;
+
+  public CompressingArgsBundler(ArgsBundler<T> delegate) {
+    this(delegate, DEFAULT_THRESHOLD);
+  }
+
+  public CompressingArgsBundler(ArgsBundler<T> delegate, int threshold) {
+    this(delegate, threshold, new DeflateCodec());
+  }
+
+  /**
+   * @param delegate The bundler that puts the value into a Bundle
+   * @param threshold The minimum size of the marshalled value in bytes to compress it
+   * @param codec The codec to compress the marshalled value
+   */
+  public CompressingArgsBundler(ArgsBundler<T> delegate, int threshold, CompressionCodec codec) {
+    this.delegate = delegate;
+    this.threshold = threshold;
+    this.codec = codec;
+  }
+
+  /**
+   * Sets the {@link MetricsListener} notified by all CompressingArgsBundlers. Passing null removes
+   * the listener.
+   *
+   * @param listener The listener
+   */
+  public static void setMetricsListener(MetricsListener listener) {
+    metricsListener = listener;
+  }
+
+  @Override public void put(String key, T value, Bundle bundle) {
+    Bundle values = new Bundle(1);
+    delegate.put(key, value, values);
+
+    byte[] data = marshall(values);
+    byte[] compressed = data == null ? null : compress(key, data);
+    if (compressed == null) {
+      bundle.putAll(values);
+      return;
+    }
+
+    Bundle compressedBundle = new Bundle(2);
+    compressedBundle.putByteArray(COMPRESSED_KEY, compressed);
+    compressedBundle.putInt(LENGTH_KEY, data.length);
+    bundle.putBundle(key, compressedBundle);
+  }
+
+  @Override public <V extends T> V get(String key, Bundle bundle) {
+    Object value = bundle.get(key);
+    if (!(value instanceof Bundle) || !((Bundle) value).containsKey(COMPRESSED_KEY)) {
+      return delegate.<V>get(key, bundle);
+    }
+
+    Bundle compressedBundle = (Bundle) value;
+    byte[] data = decompress(key, compressedBundle.getByteArray(COMPRESSED_KEY),
+        compressedBundle.getInt(LENGTH_KEY));
+    return delegate.<V>get(key, unmarshall(data));
+  }
+
+  /**
+   * Compresses the marshalled value, if it has at least <code>threshold</code> bytes
+   *
+   * @return The compressed data or null, if the value should be stored uncompressed
+   */
+  byte[] compress(String key, byte[] data) {
+    if (data.length < threshold) {
+      return null;
+    }
+
+    long start = System.nanoTime();
+    byte[] compressed = codec.compress(data);
+    MetricsListener listener = metricsListener;
+    if (listener != null) {
+      listener.onCompressed(key, data.length, compressed.length, System.nanoTime() - start);
+    }
+    return compressed.length < data.length ? compressed : null;
+  }
+
+  byte[] decompress(String key, byte[] compressed, int length) {
+    long start = System.nanoTime();
+    byte[] data;
+    try {
+      data = codec.decompress(compressed, length);
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not decompress argument " + key, e);
+    }
+    MetricsListener listener = metricsListener;
+    if (listener != null) {
+      listener.onDecompressed(key, length, compressed.length, System.nanoTime() - start);
+    }
+    return data;
+  }
+
+  /**
+   * Marshals the Bundle by a {@link Parcel}. Exceptions thrown while writing the values into the
+   * Parcel (i.e. by a Parcelable of the delegate) are not caught.
+   *
+   * @return The marshalled Bundle or null, if it has less than <code>threshold</code> bytes or
+   * contains binders or file descriptors
+   */
+  byte[] marshall(Bundle values) {
+    Parcel parcel = Parcel.obtain();
+    try {
+      parcel.writeBundle(values);
+      if (parcel.dataSize() < threshold) {
+        return null;
+      }
+      try {
+        return parcel.marshall();
+      } catch (RuntimeException e) {
+        // Parcel.marshall() only fails if the Parcel contains binders or file descriptors
+        return null;
+      }
+    } finally {
+      parcel.recycle();
+    }
+  }
+
+  private Bundle unmarshall(byte[] data) {
+    Parcel parcel = Parcel.obtain();
+    try {
+      parcel.unmarshall(data, 0, data.length);
+      parcel.setDataPosition(0);
+      return parcel.readBundle(delegate.getClass().getClassLoader());
+    } finally {
+      parcel.recycle();
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import java.io.IOException;
+
+/**
+ * Compresses the serialized arguments of a {@link CompressingArgsBundler}.
+ *
+ * @since 4.0
+ * @see DeflateCodec
+ */
+public interface CompressionCodec {
+
+  /**
+   * Compress the given bytes
+   *
+   * @param data The bytes to compress
+   * @return The compressed bytes
+   */
+  public byte[] compress(byte[] data);
+
+  /**
+   * Decompress bytes returned by {@link #compress(byte[])}
+   *
+   * @param data The compressed bytes
+   * @param length The length of the uncompressed data
+   * @return The uncompressed bytes
+   * @throws IOException if the data is corrupt
+   */
+  public byte[] decompress(byte[] data, int length) throws IOException;
+}
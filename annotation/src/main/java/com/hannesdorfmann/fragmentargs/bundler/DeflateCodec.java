@@ -0,0 +1,77 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A {@link CompressionCodec} using {@link Deflater} and {@link Inflater} of
+ * <code>java.util.zip</code>. The output has no gzip or zlib header.
+ *
+ * @since 4.0
+ */
+public class DeflateCodec implements CompressionCodec {
+
+  private final int level;
+
+  public DeflateCodec() {
+    this(Deflater.DEFAULT_COMPRESSION);
+  }
+
+  /**
+   * @param level The compression level, see {@link Deflater#setLevel(int)}
+   */
+  public DeflateCodec(int level) {
+    this.level = level;
+  }
+
+  @Override public byte[] compress(byte[] data) {
+    Deflater deflater = new Deflater(level, true);
+    try {
+      deflater.setInput(data);
+      deflater.finish();
+      byte[] buffer = new byte[data.length / 2 + 64];
+      int length = 0;
+      while (!deflater.finished()) {
+        if (length == buffer.length) {
+          buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        length += deflater.deflate(buffer, length, buffer.length - length);
+      }
+      return Arrays.copyOf(buffer, length);
+    } finally {
+      deflater.end();
+    }
+  }
+
+  @Override public byte[] decompress(byte[] data, int length) throws IOException {
+    // nowrap Inflater needs an extra dummy byte at the end of the input
+    Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(Arrays.copyOf(data, data.length + 1));
+      byte[] result = new byte[length];
+      int read = 0;
+      while (read < length && !inflater.finished()) {
+        int n = inflater.inflate(result, read, length - read);
+        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        read += n;
+      }
+      if (read == length && !inflater.finished()) {
+        // Consume the end of the stream, more data means the length is wrong
+        read += inflater.inflate(new byte[1]);
+      }
+      if (read != length || !inflater.finished()) {
+        throw new IOException("Compressed data is corrupt or has not the expected length " + length);
+      }
+      return result;
+    } catch (DataFormatException e) {
+      throw new IOException("Compressed data is corrupt: " + e.getMessage());
+    } finally {
+      inflater.end();
+    }
+  }
+}
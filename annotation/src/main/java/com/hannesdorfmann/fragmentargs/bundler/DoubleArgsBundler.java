@@ -0,0 +1,42 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import android.os.Bundle;
+
+/**
+ * An {@link ArgsBundler} for <code>double</code> arguments (i.e. a custom encoding of a coordinate). The
+ * generated code calls {@link #putDouble(String, double, Bundle)} and {@link #getDouble(String, Bundle)}
+ * directly for <code>double</code> fields, so no {@link Double} is allocated. The generic methods
+ * of {@link ArgsBundler} delegate to the primitive ones and are used for <code>Double</code>
+ * fields.
+ *
+ * @since 4.0
+ */
+public abstract class DoubleArgsBundler implements ArgsBundler<Double> {
+
+  /**
+   * Put (save) a value into the bundle.
+   *
+   * @param key The key you have to use as the key for the bundle to save the value
+   * @param value The value you have to save into the bundle (for the given key)
+   * @param bundle The Bundle to save key / value. It's not null.
+   */
+  public abstract void putDouble(String key, double value, Bundle bundle);
+
+  /**
+   * Get a value from the bundle
+   *
+   * @param key The key for the value
+   * @param bundle The Bundle where the value is saved in
+   * @return The value retrieved from the Bundle with the given key
+   */
+  public abstract double getDouble(String key, Bundle bundle);
+
+  @Override public void put(String key, Double value, Bundle bundle) {
+    putDouble(key, value, bundle);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override public <V extends Double> V get(String key, Bundle bundle) {
+    return (V) Double.valueOf(getDouble(key, bundle));
+  }
+}
@@ -0,0 +1,24 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import android.os.Bundle;
+import java.util.List;
+
+/**
+ * This {@link ArgsBundler} stores a <code>java.util.List&lt;Double&gt;</code> as <code>double[]</code>
+ * instead of boxing every element. The list read from the Bundle is an unmodifiable view backed by
+ * the array, see {@link PrimitiveLists}. Use it like this:
+ * <code>@Arg(bundler = DoubleListArgsBundler.class) List&lt;Double&gt; values;</code>
+ *
+ * @since 4.0
+ */
+public class DoubleListArgsBundler implements ArgsBundler<List<Double>> {
+
+  @Override public void put(String key, List<Double> value, Bundle bundle) {
+    bundle.putDoubleArray(key, PrimitiveLists.toDoubleArray(value));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override public <V extends List<Double>> V get(String key, Bundle bundle) {
+    return (V) PrimitiveLists.asList(bundle.getDoubleArray(key));
+  }
+}
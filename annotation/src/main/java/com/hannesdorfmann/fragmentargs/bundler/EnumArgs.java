@@ -0,0 +1,141 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helper methods used by the generated code to put enums, enum arrays and enum lists into a Bundle
+ * as ordinals (int, int[]) or names (String, String[]). null is supported as value, as array / list
+ * and as element (stored as ordinal -1 or name null).
+ *
+ * @since 4.0
+ */
+public final class EnumArgs {
+
+  private EnumArgs() {
+  }
+
+  public static int toOrdinal(Enum<?> value) {
+    return value == null ? -1 : value.ordinal();
+  }
+
+  /**
+   * @param ordinal The ordinal
+   * @param constants The cached result of <code>values()</code> of the enum
+   */
+  public static <E extends Enum<E>> E fromOrdinal(int ordinal, E[] constants) {
+    return ordinal < 0 ? null : constants[ordinal];
+  }
+
+  public static int[] toOrdinals(Enum<?>[] values) {
+    if (values == null) {
+      return null;
+    }
+    int[] ordinals = new int[values.length];
+    for (int i = 0; i < values.length; i++) {
+      ordinals[i] = values[i] == null ? -1 : values[i].ordinal();
+    }
+    return ordinals;
+  }
+
+  public static int[] toOrdinals(List<? extends Enum<?>> values) {
+    if (values == null) {
+      return null;
+    }
+    int size = values.size();
+    int[] ordinals = new int[size];
+    for (int i = 0; i < size; i++) {
+      Enum<?> value = values.get(i);
+      ordinals[i] = value == null ? -1 : value.ordinal();
+    }
+    return ordinals;
+  }
+
+  /**
+   * @param ordinals The ordinals
+   * @param constants The cached result of <code>values()</code> of the enum
+   */
+  @SuppressWarnings("unchecked")
+  public static <E extends Enum<E>> E[] fromOrdinals(int[] ordinals, E[] constants) {
+    if (ordinals == null) {
+      return null;
+    }
+    E[] values =
+        (E[]) Array.newInstance(constants.getClass().getComponentType(), ordinals.length);
+    for (int i = 0; i < ordinals.length; i++) {
+      values[i] = ordinals[i] < 0 ? null : constants[ordinals[i]];
+    }
+    return values;
+  }
+
+  /**
+   * @param ordinals The ordinals
+   * @param constants The cached result of <code>values()</code> of the enum
+   */
+  public static <E extends Enum<E>> ArrayList<E> listFromOrdinals(int[] ordinals, E[] constants) {
+    if (ordinals == null) {
+      return null;
+    }
+    ArrayList<E> values = new ArrayList<E>(ordinals.length);
+    for (int ordinal : ordinals) {
+      values.add(ordinal < 0 ? null : constants[ordinal]);
+    }
+    return values;
+  }
+
+  public static String toName(Enum<?> value) {
+    return value == null ? null : value.name();
+  }
+
+  public static <E extends Enum<E>> E fromName(String name, Class<E> type) {
+    return name == null ? null : Enum.valueOf(type, name);
+  }
+
+  public static String[] toNames(Enum<?>[] values) {
+    if (values == null) {
+      return null;
+    }
+    String[] names = new String[values.length];
+    for (int i = 0; i < values.length; i++) {
+      names[i] = values[i] == null ? null : values[i].name();
+    }
+    return names;
+  }
+
+  public static String[] toNames(List<? extends Enum<?>> values) {
+    if (values == null) {
+      return null;
+    }
+    int size = values.size();
+    String[] names = new String[size];
+    for (int i = 0; i < size; i++) {
+      Enum<?> value = values.get(i);
+      names[i] = value == null ? null : value.name();
+    }
+    return names;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <E extends Enum<E>> E[] fromNames(String[] names, Class<E> type) {
+    if (names == null) {
+      return null;
+    }
+    E[] values = (E[]) Array.newInstance(type, names.length);
+    for (int i = 0; i < names.length; i++) {
+      values[i] = names[i] == null ? null : Enum.valueOf(type, names[i]);
+    }
+    return values;
+  }
+
+  public static <E extends Enum<E>> ArrayList<E> listFromNames(String[] names, Class<E> type) {
+    if (names == null) {
+      return null;
+    }
+    ArrayList<E> values = new ArrayList<E>(names.length);
+    for (String name : names) {
+      values.add(name == null ? null : Enum.valueOf(type, name));
+    }
+    return values;
+  }
+}
@@ -0,0 +1,42 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import android.os.Bundle;
+
+/**
+ * An {@link ArgsBundler} for <code>int</code> arguments (i.e. a custom encoding of an id). The
+ * generated code calls {@link #putInt(String, int, Bundle)} and {@link #getInt(String, Bundle)}
+ * directly for <code>int</code> fields, so no {@link Integer} is allocated. The generic methods
+ * of {@link ArgsBundler} delegate to the primitive ones and are used for <code>Integer</code>
+ * fields.
+ *
+ * @since 4.0
+ */
+public abstract class IntArgsBundler implements ArgsBundler<Integer> {
+
+  /**
+   * Put (save) a value into the bundle.
+   *
+   * @param key The key you have to use as the key for the bundle to save the value
+   * @param value The value you have to save into the bundle (for the given key)
+   * @param bundle The Bundle to save key / value. It's not null.
+   */
+  public abstract void putInt(String key, int value, Bundle bundle);
+
+  /**
+   * Get a value from the bundle
+   *
+   * @param key The key for the value
+   * @param bundle The Bundle where the value is saved in
+   * @return The value retrieved from the Bundle with the given key
+   */
+  public abstract int getInt(String key, Bundle bundle);
+
+  @Override public void put(String key, Integer value, Bundle bundle) {
+    putInt(key, value, bundle);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override public <V extends Integer> V get(String key, Bundle bundle) {
+    return (V) Integer.valueOf(getInt(key, bundle));
+  }
+}
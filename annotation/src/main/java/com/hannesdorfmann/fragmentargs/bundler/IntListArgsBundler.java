@@ -0,0 +1,24 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import android.os.Bundle;
+import java.util.List;
+
+/**
+ * This {@link ArgsBundler} stores a <code>java.util.List&lt;Integer&gt;</code> as <code>int[]</code>
+ * instead of boxing every element. The list read from the Bundle is an unmodifiable view backed by
+ * the array, see {@link PrimitiveLists}. Use it like this:
+ * <code>@Arg(bundler = IntListArgsBundler.class) List&lt;Integer&gt; values;</code>
+ *
+ * @since 4.0
+ */
+public class IntListArgsBundler implements ArgsBundler<List<Integer>> {
+
+  @Override public void put(String key, List<Integer> value, Bundle bundle) {
+    bundle.putIntArray(key, PrimitiveLists.toIntArray(value));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override public <V extends List<Integer>> V get(String key, Bundle bundle) {
+    return (V) PrimitiveLists.asList(bundle.getIntArray(key));
+  }
+}
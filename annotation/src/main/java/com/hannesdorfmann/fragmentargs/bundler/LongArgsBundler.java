@@ -0,0 +1,42 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import android.os.Bundle;
+
+/**
+ * An {@link ArgsBundler} for <code>long</code> arguments (i.e. a custom encoding of a timestamp). The
+ * generated code calls {@link #putLong(String, long, Bundle)} and {@link #getLong(String, Bundle)}
+ * directly for <code>long</code> fields, so no {@link Long} is allocated. The generic methods
+ * of {@link ArgsBundler} delegate to the primitive ones and are used for <code>Long</code>
+ * fields.
+ *
+ * @since 4.0
+ */
+public abstract class LongArgsBundler implements ArgsBundler<Long> {
+
+  /**
+   * Put (save) a value into the bundle.
+   *
+   * @param key The key you have to use as the key for the bundle to save the value
+   * @param value The value you have to save into the bundle (for the given key)
+   * @param bundle The Bundle to save key / value. It's not null.
+   */
+  public abstract void putLong(String key, long value, Bundle bundle);
+
+  /**
+   * Get a value from the bundle
+   *
+   * @param key The key for the value
+   * @param bundle The Bundle where the value is saved in
+   * @return The value retrieved from the Bundle with the given key
+   */
+  public abstract long getLong(String key, Bundle bundle);
+
+  @Override public void put(String key, Long value, Bundle bundle) {
+    putLong(key, value, bundle);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override public <V extends Long> V get(String key, Bundle bundle) {
+    return (V) Long.valueOf(getLong(key, bundle));
+  }
+}
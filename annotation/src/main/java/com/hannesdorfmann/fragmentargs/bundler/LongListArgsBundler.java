@@ -0,0 +1,24 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import android.os.Bundle;
+import java.util.List;
+
+/**
+ * This {@link ArgsBundler} stores a <code>java.util.List&lt;Long&gt;</code> as <code>long[]</code>
+ * instead of boxing every element. The list read from the Bundle is an unmodifiable view backed by
+ * the array, see {@link PrimitiveLists}. Use it like this:
+ * <code>@Arg(bundler = LongListArgsBundler.class) List&lt;Long&gt; values;</code>
+ *
+ * @since 4.0
+ */
+public class LongListArgsBundler implements ArgsBundler<List<Long>> {
+
+  @Override public void put(String key, List<Long> value, Bundle bundle) {
+    bundle.putLongArray(key, PrimitiveLists.toLongArray(value));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override public <V extends List<Long>> V get(String key, Bundle bundle) {
+    return (V) PrimitiveLists.asList(bundle.getLongArray(key));
+  }
+}
@@ -0,0 +1,29 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import android.os.Bundle;
+import android.os.Parcelable;
+import java.util.List;
+
+/**
+ * This {@link ArgsBundler} puts any <code>java.util.List</code> of Parcelables into a Bundle.
+ * Unlike {@link CastedArrayListArgsBundler} it doesn't require an ArrayList: an ArrayList is put
+ * as it is, other lists (like unmodifiable lists or a <code>subList()</code>) are copied once into
+ * an ArrayList of the same size.
+ * <p>
+ * {@code @Arg(bundler = ParcelableListArgsBundler.class) List<Foo> foos}
+ * </p>
+ *
+ * @since 4.0
+ * @see UnmodifiableParcelableListArgsBundler
+ */
+public class ParcelableListArgsBundler implements ArgsBundler<List<? extends Parcelable>> {
+
+  @Override public void put(String key, List<? extends Parcelable> value, Bundle bundle) {
+    bundle.putParcelableArrayList(key, BundleArgs.toArrayList(value));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override public <V extends List<? extends Parcelable>> V get(String key, Bundle bundle) {
+    return (V) bundle.getParcelableArrayList(key);
+  }
+}
@@ -0,0 +1,171 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Helper methods to convert lists of boxed primitives into primitive arrays and back. The lists
+ * returned by the <code>asList()</code> methods are unmodifiable views backed by the primitive
+ * array, so the elements are only boxed on access. The lists converted into arrays must not
+ * contain null.
+ *
+ * @since 4.0
+ */
+public final class PrimitiveLists {
+
+  private PrimitiveLists() {
+  }
+
+  public static int[] toIntArray(List<Integer> list) {
+    if (list == null) {
+      return null;
+    }
+    if (list instanceof IntList) {
+      return ((IntList) list).values.clone();
+    }
+    int size = list.size();
+    int[] values = new int[size];
+    for (int i = 0; i < size; i++) {
+      values[i] = checkNotNull(list.get(i), i);
+    }
+    return values;
+  }
+
+  public static List<Integer> asList(int[] values) {
+    return values == null ? null : new IntList(values);
+  }
+
+  public static long[] toLongArray(List<Long> list) {
+    if (list == null) {
+      return null;
+    }
+    if (list instanceof LongList) {
+      return ((LongList) list).values.clone();
+    }
+    int size = list.size();
+    long[] values = new long[size];
+    for (int i = 0; i < size; i++) {
+      values[i] = checkNotNull(list.get(i), i);
+    }
+    return values;
+  }
+
+  public static List<Long> asList(long[] values) {
+    return values == null ? null : new LongList(values);
+  }
+
+  public static double[] toDoubleArray(List<Double> list) {
+    if (list == null) {
+      return null;
+    }
+    if (list instanceof DoubleList) {
+      return ((DoubleList) list).values.clone();
+    }
+    int size = list.size();
+    double[] values = new double[size];
+    for (int i = 0; i < size; i++) {
+      values[i] = checkNotNull(list.get(i), i);
+    }
+    return values;
+  }
+
+  public static List<Double> asList(double[] values) {
+    return values == null ? null : new DoubleList(values);
+  }
+
+  public static boolean[] toBooleanArray(List<Boolean> list) {
+    if (list == null) {
+      return null;
+    }
+    if (list instanceof BooleanList) {
+      return ((BooleanList) list).values.clone();
+    }
+    int size = list.size();
+    boolean[] values = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      values[i] = checkNotNull(list.get(i), i);
+    }
+    return values;
+  }
+
+  public static List<Boolean> asList(boolean[] values) {
+    return values == null ? null : new BooleanList(values);
+  }
+
+  private static <T> T checkNotNull(T element, int index) {
+    if (element == null) {
+      throw new IllegalArgumentException("The list contains null at index " + index
+          + ", but null can't be stored in a primitive array");
+    }
+    return element;
+  }
+
+  private static final class IntList extends AbstractList<Integer> implements RandomAccess {
+
+    private final int[] values;
+
+    IntList(int[] values) {
+      this.values = values;
+    }
+
+    @Override public Integer get(int index) {
+      return values[index];
+    }
+
+    @Override public int size() {
+      return values.length;
+    }
+  }
+
+  private static final class LongList extends AbstractList<Long> implements RandomAccess {
+
+    private final long[] values;
+
+    LongList(long[] values) {
+      this.values = values;
+    }
+
+    @Override public Long get(int index) {
+      return values[index];
+    }
+
+    @Override public int size() {
+      return values.length;
+    }
+  }
+
+  private static final class DoubleList extends AbstractList<Double> implements RandomAccess {
+
+    private final double[] values;
+
+    DoubleList(double[] values) {
+      this.values = values;
+    }
+
+    @Override public Double get(int index) {
+      return values[index];
+    }
+
+    @Override public int size() {
+      return values.length;
+    }
+  }
+
+  private static final class BooleanList extends AbstractList<Boolean> implements RandomAccess {
+
+    private final boolean[] values;
+
+    BooleanList(boolean[] values) {
+      this.values = values;
+    }
+
+    @Override public Boolean get(int index) {
+      return values[index];
+    }
+
+    @Override public int size() {
+      return values.length;
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import android.os.Bundle;
+import android.os.Parcelable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link ParcelableListArgsBundler} that returns an unmodifiable view on the ArrayList read from
+ * the Bundle. The list is not copied, so use it for arguments that are only read.
+ *
+ * @since 4.0
+ */
+public class UnmodifiableParcelableListArgsBundler extends ParcelableListArgsBundler {
+
+  @SuppressWarnings("unchecked")
+  @Override public <V extends List<? extends Parcelable>> V get(String key, Bundle bundle) {
+    List<? extends Parcelable> list = bundle.getParcelableArrayList(key);
+    return list == null ? null : (V) Collections.unmodifiableList(list);
+  }
+}
@@ -0,0 +1,42 @@
+package com.hannesdorfmann.fragmentargs;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FragmentArgsTest {
+
+  @After
+  public void reset() {
+    FragmentArgs.setInjector(null);
+  }
+
+  @Test
+  public void missingAutoMappingIsCached() {
+    // There is no generated AutoFragmentArgInjector in this module
+    FragmentArgsInjector injector = FragmentArgs.getInjector();
+    Assert.assertNotNull(injector);
+    Assert.assertSame(injector, FragmentArgs.getInjector());
+
+    // Must not throw
+    FragmentArgs.inject(new Object());
+  }
+
+  @Test
+  public void explicitInjector() {
+    final List<Object> injected = new ArrayList<Object>();
+    FragmentArgs.setInjector(new FragmentArgsInjector() {
+      @Override public void inject(Object target) {
+        injected.add(target);
+      }
+    });
+
+    Object target = new Object();
+    FragmentArgs.inject(target);
+
+    Assert.assertEquals(1, injected.size());
+    Assert.assertSame(target, injected.get(0));
+  }
+}
@@ -0,0 +1,32 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BundleArgsTest {
+
+  @Test
+  public void arrayListIsNotCopied() {
+    ArrayList<String> list = new ArrayList<String>(Arrays.asList("a", "b"));
+    Assert.assertSame(list, BundleArgs.toArrayList(list));
+  }
+
+  @Test
+  public void otherListsAreCopied() {
+    List<String> list = Collections.unmodifiableList(Arrays.asList("a", "b", "c"));
+    ArrayList<String> copy = BundleArgs.toArrayList(list);
+    Assert.assertEquals(list, copy);
+
+    List<String> subList = new ArrayList<String>(list).subList(1, 3);
+    Assert.assertEquals(Arrays.asList("b", "c"), BundleArgs.toArrayList(subList));
+  }
+
+  @Test
+  public void nullList() {
+    Assert.assertNull(BundleArgs.toArrayList(null));
+  }
+}
@@ -0,0 +1,123 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import android.os.Bundle;
+import java.io.IOException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Bundle and Parcel of the android stub jar can't be used in unit tests, so this tests the
+ * compression steps of put() and get() without them.
+ */
+public class CompressingArgsBundlerTest {
+
+  private static final ArgsBundler<String> STRING_BUNDLER = new ArgsBundler<String>() {
+    @Override public void put(String key, String value, Bundle bundle) {
+      bundle.putString(key, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public <V extends String> V get(String key, Bundle bundle) {
+      return (V) bundle.getString(key);
+    }
+  };
+
+  private static final byte[] JSON;
+
+  static {
+    StringBuilder json = new StringBuilder();
+    for (int i = 0; i < 500; i++) {
+      json.append("{\"id\":").append(i).append(",\"name\":\"item\"},");
+    }
+    JSON = json.toString().getBytes();
+  }
+
+  private static class CountingListener implements CompressingArgsBundler.MetricsListener {
+
+    int compressed;
+    int decompressed;
+    int size;
+    int compressedSize;
+
+    @Override public void onCompressed(String key, int size, int compressedSize, long nanos) {
+      compressed++;
+      this.size = size;
+      this.compressedSize = compressedSize;
+    }
+
+    @Override public void onDecompressed(String key, int size, int compressedSize, long nanos) {
+      decompressed++;
+    }
+  }
+
+  private final CountingListener listener = new CountingListener();
+
+  @After
+  public void reset() {
+    CompressingArgsBundler.setMetricsListener(null);
+  }
+
+  @Test
+  public void belowThresholdIsNotCompressed() {
+    CompressingArgsBundler.setMetricsListener(listener);
+    CompressingArgsBundler<String> bundler =
+        new CompressingArgsBundler<String>(STRING_BUNDLER, JSON.length + 1);
+
+    Assert.assertNull(bundler.compress("json", JSON));
+    Assert.assertEquals(0, listener.compressed);
+  }
+
+  @Test
+  public void aboveThresholdIsCompressed() throws IOException {
+    CompressingArgsBundler.setMetricsListener(listener);
+    CompressingArgsBundler<String> bundler =
+        new CompressingArgsBundler<String>(STRING_BUNDLER, JSON.length);
+
+    byte[] compressed = bundler.compress("json", JSON);
+    Assert.assertNotNull(compressed);
+    Assert.assertEquals(1, listener.compressed);
+    Assert.assertEquals(JSON.length, listener.size);
+    Assert.assertEquals(compressed.length, listener.compressedSize);
+
+    Assert.assertArrayEquals(JSON, bundler.decompress("json", compressed, JSON.length));
+    Assert.assertEquals(1, listener.decompressed);
+  }
+
+  @Test
+  public void notCompressedIfNotSmaller() {
+    CompressingArgsBundler.setMetricsListener(listener);
+    CompressionCodec growingCodec = new CompressionCodec() {
+      @Override public byte[] compress(byte[] data) {
+        return new byte[data.length + 1];
+      }
+
+      @Override public byte[] decompress(byte[] data, int length) {
+        throw new AssertionError("Must not be called");
+      }
+    };
+    CompressingArgsBundler<String> bundler =
+        new CompressingArgsBundler<String>(STRING_BUNDLER, 0, growingCodec);
+
+    Assert.assertNull(bundler.compress("json", JSON));
+    Assert.assertEquals(1, listener.compressed);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void corruptData() {
+    CompressingArgsBundler<String> bundler = new CompressingArgsBundler<String>(STRING_BUNDLER);
+    bundler.decompress("json", new byte[] { 1, 2, 3 }, JSON.length);
+  }
+
+  @Test
+  public void writeFailureIsNotSwallowed() {
+    // Parcel of the stub jar throws a RuntimeException, like a failing Parcelable of the delegate
+    CompressingArgsBundler<String> bundler = new CompressingArgsBundler<String>(STRING_BUNDLER, 0);
+    try {
+      bundler.marshall(null);
+      Assert.fail("Expected RuntimeException");
+    } catch (RuntimeException e) {
+      Assert.assertEquals("Stub!", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DeflateCodecTest {
+
+  private final DeflateCodec codec = new DeflateCodec();
+
+  @Test
+  public void roundTrip() throws IOException {
+    StringBuilder json = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      json.append("{\"id\":").append(i).append(",\"name\":\"item\"},");
+    }
+    byte[] data = json.toString().getBytes("UTF-8");
+
+    byte[] compressed = codec.compress(data);
+    Assert.assertTrue(compressed.length < data.length / 4);
+    Assert.assertArrayEquals(data, codec.decompress(compressed, data.length));
+  }
+
+  @Test
+  public void incompressibleData() throws IOException {
+    byte[] data = new byte[4096];
+    new Random(42).nextBytes(data);
+
+    byte[] compressed = codec.compress(data);
+    Assert.assertArrayEquals(data, codec.decompress(compressed, data.length));
+  }
+
+  @Test
+  public void emptyData() throws IOException {
+    byte[] compressed = codec.compress(new byte[0]);
+    Assert.assertArrayEquals(new byte[0], codec.decompress(compressed, 0));
+  }
+
+  @Test(expected = IOException.class)
+  public void wrongLength() throws IOException {
+    byte[] data = new byte[100];
+    Arrays.fill(data, (byte) 1);
+    codec.decompress(codec.compress(data), 99);
+  }
+
+  @Test(expected = IOException.class)
+  public void corruptData() throws IOException {
+    byte[] data = new byte[100];
+    Arrays.fill(data, (byte) 1);
+    byte[] compressed = codec.compress(data);
+    codec.decompress(Arrays.copyOf(compressed, compressed.length / 2), data.length);
+  }
+}
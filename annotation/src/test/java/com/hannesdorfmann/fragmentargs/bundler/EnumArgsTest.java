@@ -0,0 +1,68 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EnumArgsTest {
+
+  enum Color {
+    RED, GREEN, BLUE
+  }
+
+  private static final Color[] COLORS = Color.values();
+
+  @Test
+  public void ordinals() {
+    Color[] colors = { Color.BLUE, null, Color.RED };
+    int[] ordinals = EnumArgs.toOrdinals(colors);
+    Assert.assertArrayEquals(new int[] { 2, -1, 0 }, ordinals);
+    Assert.assertArrayEquals(colors, EnumArgs.fromOrdinals(ordinals, COLORS));
+    Assert.assertEquals(Color[].class, EnumArgs.fromOrdinals(ordinals, COLORS).getClass());
+
+    List<Color> list = Arrays.asList(colors);
+    Assert.assertArrayEquals(ordinals, EnumArgs.toOrdinals(list));
+    Assert.assertEquals(new ArrayList<Color>(list), EnumArgs.listFromOrdinals(ordinals, COLORS));
+  }
+
+  @Test
+  public void singleValues() {
+    Assert.assertEquals(2, EnumArgs.toOrdinal(Color.BLUE));
+    Assert.assertEquals(Color.BLUE, EnumArgs.fromOrdinal(2, COLORS));
+    Assert.assertEquals("GREEN", EnumArgs.toName(Color.GREEN));
+    Assert.assertEquals(Color.GREEN, EnumArgs.fromName("GREEN", Color.class));
+  }
+
+  @Test
+  public void nullSingleValues() {
+    Assert.assertEquals(-1, EnumArgs.toOrdinal(null));
+    Assert.assertNull(EnumArgs.fromOrdinal(-1, COLORS));
+    Assert.assertNull(EnumArgs.toName(null));
+    Assert.assertNull(EnumArgs.fromName(null, Color.class));
+  }
+
+  @Test
+  public void names() {
+    Color[] colors = { Color.GREEN, null };
+    String[] names = EnumArgs.toNames(colors);
+    Assert.assertArrayEquals(new String[] { "GREEN", null }, names);
+    Assert.assertArrayEquals(colors, EnumArgs.fromNames(names, Color.class));
+
+    List<Color> list = Arrays.asList(colors);
+    Assert.assertArrayEquals(names, EnumArgs.toNames(list));
+    Assert.assertEquals(new ArrayList<Color>(list), EnumArgs.listFromNames(names, Color.class));
+  }
+
+  @Test
+  public void nullValues() {
+    Assert.assertNull(EnumArgs.toOrdinals((Color[]) null));
+    Assert.assertNull(EnumArgs.toOrdinals((List<Color>) null));
+    Assert.assertNull(EnumArgs.fromOrdinals(null, COLORS));
+    Assert.assertNull(EnumArgs.listFromOrdinals(null, COLORS));
+    Assert.assertNull(EnumArgs.toNames((Color[]) null));
+    Assert.assertNull(EnumArgs.fromNames(null, Color.class));
+    Assert.assertNull(EnumArgs.listFromNames(null, Color.class));
+  }
+}
@@ -0,0 +1,68 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrimitiveListsTest {
+
+  @Test
+  public void intList() {
+    List<Integer> list = Arrays.asList(3, 1, 2);
+    int[] values = PrimitiveLists.toIntArray(list);
+    Assert.assertArrayEquals(new int[] { 3, 1, 2 }, values);
+
+    List<Integer> view = PrimitiveLists.asList(values);
+    Assert.assertEquals(list, view);
+    Assert.assertEquals(list.hashCode(), view.hashCode());
+
+    // Converting the view back copies the array
+    int[] copy = PrimitiveLists.toIntArray(view);
+    Assert.assertArrayEquals(values, copy);
+    Assert.assertNotSame(values, copy);
+  }
+
+  @Test
+  public void otherLists() {
+    Assert.assertEquals(Arrays.asList(1L, 2L),
+        PrimitiveLists.asList(PrimitiveLists.toLongArray(Arrays.asList(1L, 2L))));
+    Assert.assertEquals(Arrays.asList(1.5, 2.0),
+        PrimitiveLists.asList(PrimitiveLists.toDoubleArray(Arrays.asList(1.5, 2.0))));
+    Assert.assertEquals(Arrays.asList(true, false),
+        PrimitiveLists.asList(PrimitiveLists.toBooleanArray(Arrays.asList(true, false))));
+  }
+
+  @Test
+  public void nullValues() {
+    Assert.assertNull(PrimitiveLists.toIntArray(null));
+    Assert.assertNull(PrimitiveLists.asList((int[]) null));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void unmodifiableAdd() {
+    PrimitiveLists.asList(new long[] { 1 }).add(2L);
+  }
+
+  @Test
+  public void unmodifiableSet() {
+    int[] values = { 1, 2 };
+    try {
+      PrimitiveLists.asList(values).set(0, 5);
+      Assert.fail("Expected UnsupportedOperationException");
+    } catch (UnsupportedOperationException e) {
+      // expected
+    }
+    Assert.assertArrayEquals(new int[] { 1, 2 }, values);
+  }
+
+  @Test
+  public void nullElement() {
+    try {
+      PrimitiveLists.toIntArray(Arrays.asList(1, null, 3));
+      Assert.fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      Assert.assertTrue(e.getMessage().contains("index 1"));
+    }
+  }
+}
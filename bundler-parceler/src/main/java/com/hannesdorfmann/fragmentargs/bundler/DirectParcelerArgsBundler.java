@@ -0,0 +1,14 @@
+package com.hannesdorfmann.fragmentargs.bundler;
+
+/**
+ * A {@link ParcelerArgsBundler} that doesn't look up the Parceler generated wrapper class at
+ * runtime. For <code>@Arg</code> fields of a <code>@Parcel</code> annotated class the annotation
+ * processor generates code that calls the constructor of the wrapper class (like
+ * <code>User$$Parcelable</code>) directly. This bundler is only called for values that are not an
+ * instance of exactly the declared type (i.e. subclasses), which are wrapped by {@link
+ * org.parceler.Parcels#wrap(Object)}.
+ *
+ * @since 4.0
+ */
+public class DirectParcelerArgsBundler extends ParcelerArgsBundler {
+}
@@ -1,6 +1,8 @@
 package com.hannesdorfmann.fragmentargs.processor;
 
 import com.hannesdorfmann.fragmentargs.annotation.Arg;
+import com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -20,16 +22,15 @@ import javax.lang.model.element.VariableElement;
  */
 public class AnnotatedFragment {
 
+  private static final String SHORT_KEY_CHARS =
+      "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
   private Set<ArgumentAnnotatedField> requiredFields = new TreeSet<ArgumentAnnotatedField>();
   private Set<ArgumentAnnotatedField> optional = new TreeSet<ArgumentAnnotatedField>();
   private Map<String, ArgumentAnnotatedField> bundleKeyMap =
       new HashMap<String, ArgumentAnnotatedField>();
   private TypeElement classElement;
 
-  // qualified Bundler class is KEY, Varibale / Field name = VALUE
-  private Map<String, String> bundlerVariableMap = new HashMap<String, String>();
-  private int bundlerCounter = 0;
-
   // Setter methods will be used
   private Map<String, ExecutableElement> setterMethods = new HashMap<String, ExecutableElement>();
 
@@ -55,27 +56,12 @@ public class AnnotatedFragment {
     return bundleKeyMap.get(field.getKey());
   }
 
-  private void checkAndSetCustomBundler(ArgumentAnnotatedField field) {
-
-    if (field.hasCustomBundler()) {
-      String bundlerClass = field.getBundlerClass();
-      String varName = bundlerVariableMap.get(bundlerClass);
-      if (varName == null) {
-        varName = "bundler" + (++bundlerCounter);
-        bundlerVariableMap.put(bundlerClass, varName);
-      }
-
-      field.setBundlerFieldName(varName);
-    }
-  }
-
   /**
    * Adds an field as required
    */
   public void addRequired(ArgumentAnnotatedField field) {
     bundleKeyMap.put(field.getKey(), field);
     requiredFields.add(field);
-    checkAndSetCustomBundler(field);
   }
 
   /**
@@ -84,8 +70,6 @@ public class AnnotatedFragment {
   public void addOptional(ArgumentAnnotatedField field) {
     bundleKeyMap.put(field.getKey(), field);
     optional.add(field);
-
-    checkAndSetCustomBundler(field);
   }
 
   public Set<ArgumentAnnotatedField> getRequiredFields() {
@@ -126,14 +110,7 @@ public class AnnotatedFragment {
    * e.g. LoginFragmentBuilder or LoginActivity$$LoginFragment
    */
   public String getBuilderName() {
-    String builderName = getSimpleName() + "Builder";
-
-    if(isInnerClass()) {
-      return classElement.getEnclosingElement().getSimpleName() + "$$" + builderName;
-
-    } else {
-      return builderName;
-    }
+    return getGeneratedClassName("Builder");
   }
 
   /**
@@ -141,17 +118,118 @@ public class AnnotatedFragment {
    * e.g. com.hannesdorfman.package.LoginFragmentBuilder or com.hannesdorfman.package.LoginActivity$$LoginFragment
    */
   public String getQualifiedBuilderName() {
-    String qualifiedBuilderName = getQualifiedName() + "Builder";
+    return getQualifiedGeneratedClassName("Builder");
+  }
+
+  /**
+   * Returns the name of the generated lazy args class
+   * e.g. LoginFragmentLazyArgs or LoginActivity$$LoginFragmentLazyArgs
+   */
+  public String getLazyArgsName() {
+    return getGeneratedClassName("LazyArgs");
+  }
+
+  /**
+   * Returns the qualified name of the generated lazy args class
+   */
+  public String getQualifiedLazyArgsName() {
+    return getQualifiedGeneratedClassName("LazyArgs");
+  }
+
+  /**
+   * Returns the name of the generated args value class
+   * e.g. LoginFragmentArgs or LoginActivity$$LoginFragmentArgs
+   */
+  public String getArgsName() {
+    return getGeneratedClassName("Args");
+  }
+
+  /**
+   * Returns the qualified name of the generated args value class
+   */
+  public String getQualifiedArgsName() {
+    return getQualifiedGeneratedClassName("Args");
+  }
+
+  private String getGeneratedClassName(String suffix) {
+    String name = getSimpleName() + suffix;
+
+    if(isInnerClass()) {
+      return classElement.getEnclosingElement().getSimpleName() + "$$" + name;
+
+    } else {
+      return name;
+    }
+  }
+
+  private String getQualifiedGeneratedClassName(String suffix) {
+    String qualifiedName = getQualifiedName() + suffix;
 
     if(isInnerClass()) {
-      return qualifiedBuilderName
-              .replace("." + getSimpleName() + "Builder", "$$" + getSimpleName() + "Builder");
+      return qualifiedName
+              .replace("." + getSimpleName() + suffix, "$$" + getSimpleName() + suffix);
 
     } else {
-      return qualifiedBuilderName;
+      return qualifiedName;
     }
   }
 
+  /**
+   * @return true if the injection should be skipped, if the same arguments Bundle has already been
+   * injected in the same fragment instance
+   * @see FragmentWithArgs#skipUnchangedArguments()
+   */
+  public boolean isSkipUnchangedArguments() {
+    FragmentWithArgs annotation = classElement.getAnnotation(FragmentWithArgs.class);
+    return annotation != null && annotation.skipUnchangedArguments();
+  }
+
+  /**
+   * @return true if a class with lazy accessors for the arguments should be generated
+   * @see FragmentWithArgs#lazyArgs()
+   */
+  public boolean isLazyArgs() {
+    FragmentWithArgs annotation = classElement.getAnnotation(FragmentWithArgs.class);
+    return annotation != null && annotation.lazyArgs();
+  }
+
+  /**
+   * @return true if an immutable args value class should be generated
+   * @see FragmentWithArgs#argsClass()
+   */
+  public boolean isArgsClass() {
+    FragmentWithArgs annotation = classElement.getAnnotation(FragmentWithArgs.class);
+    return annotation != null && (annotation.argsClass() || annotation.retainArguments());
+  }
+
+  /**
+   * @return true if the arguments should be injected from the parsed arguments that are retained
+   * across configuration changes
+   * @see FragmentWithArgs#retainArguments()
+   */
+  public boolean isRetainArguments() {
+    FragmentWithArgs annotation = classElement.getAnnotation(FragmentWithArgs.class);
+    return annotation != null && annotation.retainArguments();
+  }
+
+  /**
+   * @return true if primitive arguments should be packed into one long[] entry of the Bundle
+   * @see FragmentWithArgs#packPrimitives()
+   */
+  public boolean isPackPrimitives() {
+    FragmentWithArgs annotation = classElement.getAnnotation(FragmentWithArgs.class);
+    return annotation != null && annotation.packPrimitives();
+  }
+
+  /**
+   * @return true if the generated builder should support prototypes
+   * @see FragmentWithArgs#prototype()
+   */
+  public boolean isPrototype() {
+    FragmentWithArgs annotation = classElement.getAnnotation(FragmentWithArgs.class);
+    return annotation != null && annotation.prototype();
+  }
+
   public boolean isInnerClass() {
     return classElement.getEnclosingElement().getKind() == ElementKind.CLASS;
   }
@@ -162,8 +240,97 @@ public class AnnotatedFragment {
     return all;
   }
 
-  public Map<String, String> getBundlerVariableMap() {
-    return bundlerVariableMap;
+  /**
+   * Get all arguments sorted by their variable name. The position in this list is used as index of
+   * an argument in generated bit flags.
+   */
+  public List<ArgumentAnnotatedField> getAllSorted() {
+    return new ArrayList<ArgumentAnnotatedField>(new TreeSet<ArgumentAnnotatedField>(getAll()));
+  }
+
+  /**
+   * Assigns short deterministic keys (like "a", "b", ..., "aa") to all arguments without an
+   * explicit key. The keys are assigned in the order of the variable names and never clash with
+   * explicit keys of other arguments of this fragment.
+   */
+  public void assignShortKeys() {
+    Set<String> explicitKeys = new HashSet<String>();
+    for (ArgumentAnnotatedField arg : getAll()) {
+      if (arg.hasExplicitKey()) {
+        explicitKeys.add(arg.getKey());
+      }
+    }
+
+    int index = 0;
+    for (ArgumentAnnotatedField arg : getAllSorted()) {
+      if (arg.hasExplicitKey()) {
+        continue;
+      }
+      String shortKey;
+      do {
+        shortKey = getShortKey(index++);
+      } while (explicitKeys.contains(shortKey));
+      arg.setShortKey(shortKey);
+    }
+  }
+
+  /**
+   * Bijective base 52 representation of the given index: 0 = "a", 51 = "Z", 52 = "aa"
+   */
+  static String getShortKey(int index) {
+    StringBuilder builder = new StringBuilder();
+    int n = index + 1;
+    while (n > 0) {
+      n--;
+      builder.append(SHORT_KEY_CHARS.charAt(n % SHORT_KEY_CHARS.length()));
+      n /= SHORT_KEY_CHARS.length();
+    }
+    return builder.reverse().toString();
+  }
+
+  /**
+   * Get the primitive arguments that are packed into one long[] entry of the Bundle if {@link
+   * #isPackPrimitives()}. The position in this list (sorted by variable name) is the index in the
+   * packed array. Primitive arrays are not packed.
+   */
+  public List<ArgumentAnnotatedField> getPackedArguments() {
+    List<ArgumentAnnotatedField> packed = new ArrayList<ArgumentAnnotatedField>();
+    if (isPackPrimitives()) {
+      for (ArgumentAnnotatedField arg : getAllSorted()) {
+        if (arg.isPrimitive() && !arg.hasCustomBundler()) {
+          packed.add(arg);
+        }
+      }
+    }
+    return packed;
+  }
+
+  /**
+   * Get the arguments that have a flag in the presence bitmask written by the generated builder:
+   * optional arguments and arguments with a custom bundler. The position in this list (sorted by
+   * variable name) is the index of the flag.
+   */
+  public List<ArgumentAnnotatedField> getPresenceFlagArguments() {
+    List<ArgumentAnnotatedField> flagged = new ArrayList<ArgumentAnnotatedField>();
+    for (ArgumentAnnotatedField arg : getAllSorted()) {
+      if (!arg.isRequired() || arg.hasCustomBundler()) {
+        flagged.add(arg);
+      }
+    }
+    return flagged;
+  }
+
+  /**
+   * Checks if an argument of this fragment uses a custom
+   * {@link com.hannesdorfmann.fragmentargs.bundler.ArgsBundler}
+   */
+  public boolean hasCustomBundlers() {
+    for (ArgumentAnnotatedField arg : getAll()) {
+      if (arg.hasCustomBundler()) {
+        return true;
+      }
+    }
+    return false;
   }
 
   /**
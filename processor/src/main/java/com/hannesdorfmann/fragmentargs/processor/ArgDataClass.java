@@ -0,0 +1,197 @@
+package com.hannesdorfmann.fragmentargs.processor;
+
+import com.hannesdorfmann.fragmentargs.annotation.ArgData;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Simple data holder class for a class annotated with {@link ArgData}
+ */
+public class ArgDataClass {
+
+  private static final String BUNDLER_SUFFIX = "ArgsBundler";
+
+  private final TypeElement classElement;
+  private final List<ArgumentAnnotatedField> fields = new ArrayList<ArgumentAnnotatedField>();
+
+  public ArgDataClass(TypeElement classElement) throws ProcessingException {
+    this.classElement = classElement;
+
+    if (classElement.getKind() != ElementKind.CLASS) {
+      throw new ProcessingException(classElement, "@%s can only be used on classes",
+          ArgData.class.getSimpleName());
+    }
+
+    if (classElement.getModifiers().contains(Modifier.ABSTRACT)
+        || classElement.getModifiers().contains(Modifier.PRIVATE)) {
+      throw new ProcessingException(classElement,
+          "@%s classes must not be abstract or private (%s)", ArgData.class.getSimpleName(),
+          classElement.getQualifiedName());
+    }
+
+    if (isInnerClass() && !classElement.getModifiers().contains(Modifier.STATIC)) {
+      throw new ProcessingException(classElement, "@%s inner classes must be static (%s)",
+          ArgData.class.getSimpleName(), classElement.getQualifiedName());
+    }
+
+    boolean emptyConstructor = false;
+    for (Element e : classElement.getEnclosedElements()) {
+      if (e.getKind() == ElementKind.CONSTRUCTOR
+          && ((ExecutableElement) e).getParameters().isEmpty()
+          && !e.getModifiers().contains(Modifier.PRIVATE)) {
+        emptyConstructor = true;
+      }
+    }
+
+    // Fields of super classes first, the generated bundler sets them like the own fields
+    List<TypeElement> hierarchy = new ArrayList<TypeElement>();
+    TypeElement currentClass = classElement;
+    while (currentClass != null) {
+      hierarchy.add(0, currentClass);
+      TypeMirror superClass = currentClass.getSuperclass();
+      currentClass = null;
+      if (superClass.getKind() == TypeKind.DECLARED) {
+        TypeElement superElement = (TypeElement) ((DeclaredType) superClass).asElement();
+        String superName = superElement.getQualifiedName().toString();
+        if (!superName.startsWith("java.") && !superName.startsWith("android.")) {
+          currentClass = superElement;
+        }
+      }
+    }
+    Set<String> names = new HashSet<String>();
+    for (TypeElement type : hierarchy) {
+      collectFields(type, names);
+    }
+
+    if (!emptyConstructor) {
+      throw new ProcessingException(classElement,
+          "@%s classes must provide a non private empty constructor (%s)",
+          ArgData.class.getSimpleName(), classElement.getQualifiedName());
+    }
+  }
+
+  /**
+   * Adds the stored fields declared in the given class (the annotated class or one of its super
+   * classes)
+   *
+   * @param names The names of the fields collected so far
+   */
+  private void collectFields(TypeElement type, Set<String> names) throws ProcessingException {
+    boolean samePackage = getPackage(type).equals(getPackage(classElement));
+    for (Element e : type.getEnclosedElements()) {
+      if (e.getKind() != ElementKind.FIELD
+          || e.getModifiers().contains(Modifier.STATIC)
+          || e.getModifiers().contains(Modifier.TRANSIENT)) {
+        continue;
+      }
+
+      if (e.getModifiers().contains(Modifier.PRIVATE)
+          || e.getModifiers().contains(Modifier.FINAL)) {
+        throw new ProcessingException(e,
+            "Fields of @%s classes must not be private or final (%s.%s)",
+            ArgData.class.getSimpleName(), type.getQualifiedName(), e);
+      }
+
+      if (!samePackage && !e.getModifiers().contains(Modifier.PUBLIC)) {
+        throw new ProcessingException(e,
+            "Fields inherited by @%s class %s from a super class in another package must be "
+                + "public (%s.%s)", ArgData.class.getSimpleName(),
+            classElement.getQualifiedName(), type.getQualifiedName(), e);
+      }
+
+      if (!names.add(e.getSimpleName().toString())) {
+        throw new ProcessingException(e,
+            "The field %s of @%s class %s hides a field of a super class with the same name",
+            e, ArgData.class.getSimpleName(), classElement.getQualifiedName());
+      }
+
+      fields.add(new ArgumentAnnotatedField(e, classElement));
+    }
+  }
+
+  private static String getPackage(TypeElement type) {
+    Element element = type;
+    while (element.getKind() != ElementKind.PACKAGE) {
+      element = element.getEnclosingElement();
+    }
+    return ((PackageElement) element).getQualifiedName().toString();
+  }
+
+  public TypeElement getClassElement() {
+    return classElement;
+  }
+
+  /**
+   * The stored fields in declaration order, fields of super classes first
+   */
+  public List<ArgumentAnnotatedField> getFields() {
+    return fields;
+  }
+
+  public String getQualifiedName() {
+    return classElement.getQualifiedName().toString();
+  }
+
+  /**
+   * Returns the name of the generated bundler
+   * e.g. UserArgsBundler or LoginFragment$$UserArgsBundler
+   */
+  public String getBundlerName() {
+    String name = classElement.getSimpleName() + BUNDLER_SUFFIX;
+    if (isInnerClass()) {
+      return classElement.getEnclosingElement().getSimpleName() + "$$" + name;
+    }
+    return name;
+  }
+
+  /**
+   * Returns the qualified name of the generated bundler
+   */
+  public String getQualifiedBundlerName() {
+    return getQualifiedBundlerName(classElement);
+  }
+
+  private boolean isInnerClass() {
+    return isInnerClass(classElement);
+  }
+
+  private static boolean isInnerClass(TypeElement classElement) {
+    return classElement.getEnclosingElement().getKind() == ElementKind.CLASS;
+  }
+
+  /**
+   * Get the qualified name of the bundler generated for the given type
+   *
+   * @return The name or null if the type is not annotated with {@link ArgData}
+   */
+  public static String getQualifiedBundlerName(TypeMirror type) {
+    if (type.getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+    if (element.getAnnotation(ArgData.class) == null) {
+      return null;
+    }
+    return getQualifiedBundlerName(element);
+  }
+
+  private static String getQualifiedBundlerName(TypeElement classElement) {
+    String qualifiedName = classElement.getQualifiedName() + BUNDLER_SUFFIX;
+    if (isInnerClass(classElement)) {
+      String simpleName = classElement.getSimpleName() + BUNDLER_SUFFIX;
+      return qualifiedName.replace("." + simpleName, "$$" + simpleName);
+    }
+    return qualifiedName;
+  }
+}
@@ -3,8 +3,13 @@ package com.hannesdorfmann.fragmentargs.processor;
 import com.hannesdorfmann.fragmentargs.FragmentArgs;
 import com.hannesdorfmann.fragmentargs.FragmentArgsInjector;
 import com.hannesdorfmann.fragmentargs.annotation.Arg;
+import com.hannesdorfmann.fragmentargs.annotation.ArgData;
+import com.hannesdorfmann.fragmentargs.annotation.FragmentArgsIndex;
 import com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs;
 import com.hannesdorfmann.fragmentargs.bundler.ArgsBundler;
+import com.hannesdorfmann.fragmentargs.bundler.DoubleArgsBundler;
+import com.hannesdorfmann.fragmentargs.bundler.IntArgsBundler;
+import com.hannesdorfmann.fragmentargs.bundler.LongArgsBundler;
 import com.hannesdorfmann.fragmentargs.repacked.com.squareup.javawriter.JavaWriter;
 
 import java.io.IOException;
@@ -13,24 +18,33 @@ import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Filer;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
@@ -45,17 +59,67 @@ import javax.tools.JavaFileObject;
  */
 public class ArgProcessor extends AbstractProcessor {
 
+    /**
+     * Key prefix of the presence bitmask words written by the generated builder, followed by the
+     * index of the word
+     */
+    private static final String PRESENCE_FLAGS_KEY = "_fa_p";
+
+    /**
+     * Key prefix of the boolean marker that builders before the presence bitmask put for each
+     * argument with a custom bundler
+     */
     private static final String CUSTOM_BUNDLER_BUNDLE_KEY =
             "com.hannesdorfmann.fragmentargs.custom.bundler.2312A478rand.";
 
+    /**
+     * Number of flags per presence bitmask word. The sign bit is not used, so that a negative value
+     * marks a Bundle without presence bitmask
+     */
+    private static final int PRESENCE_FLAGS_PER_WORD = 63;
+
+    /**
+     * Key of the long[] entry holding the packed primitive arguments
+     *
+     * @see FragmentWithArgs#packPrimitives()
+     */
+    private static final String PACKED_ARGUMENTS_KEY = "_fa_v";
+
     private static final Map<String, String> ARGUMENT_TYPES =
             new HashMap<String, String>(20);
 
+    /**
+     * Prefix of the generated class holding the shared {@link ArgsBundler} instances of a module,
+     * followed by the module name
+     */
+    private static final String BUNDLER_REGISTRY_CLASS_NAME = "ArgsBundlers$$";
+
+    /**
+     * Max number of fragments dispatched by one shard of the generated AutoFragmentArgInjector
+     */
+    private static final int MAX_FRAGMENTS_PER_SHARD = 128;
+
+    /**
+     * The package where the index classes of library modules are generated
+     */
+    private static final String INDEX_PACKAGE = "com.hannesdorfmann.fragmentargs.index";
+    private static final String INDEX_CLASS_NAME = "FragmentArgsIndex$$";
+
+    /**
+     * Prefix of the fields in the generated args value class that flag present optional arguments
+     */
+    private static final String ARGS_CLASS_PRESENT_FLAGS = "presentFlags";
+
     /**
      * Annotation Processor Option
      */
     private static final String OPTION_IS_LIBRARY = "fragmentArgsLib";
 
+    /**
+     * The name of the module, used to generate a unique index class in library modules
+     */
+    private static final String OPTION_MODULE_NAME = "fragmentArgsModuleName";
+
     /**
      * Should the builder be annotated with support annotations?
      */
@@ -72,6 +136,64 @@ public class ArgProcessor extends AbstractProcessor {
      */
     private static final String OPTION_LOG_WARNINGS = "fragmentArgsLogWarnings";
 
+    /**
+     * Runtime checks of the generated code: "debug" (default) or "release". In release mode the
+     * generated injector doesn't check if required arguments are set, since this is guaranteed by
+     * the builder.
+     */
+    private static final String OPTION_CHECKS = "fragmentArgsChecks";
+
+    /**
+     * Use short generated Bundle keys instead of the field names for arguments without explicit key
+     */
+    private static final String OPTION_SHORT_KEYS = "fragmentArgsShortKeys";
+
+    /**
+     * How enum arguments are stored in the Bundle: "ordinal" (default) or "name". Names are stable
+     * if the constants of the enum are reordered, ordinals are smaller.
+     */
+    private static final String OPTION_ENUM_ENCODING = "fragmentArgsEnumEncoding";
+
+    /**
+     * Helper class used by the generated code to store enum arrays and lists
+     */
+    private static final String ENUM_ARGS = "com.hannesdorfmann.fragmentargs.bundler.EnumArgs";
+
+    /**
+     * Helper class used by the generated code to store lists and arrays of Parcelable subtypes
+     */
+    private static final String BUNDLE_ARGS = "com.hannesdorfmann.fragmentargs.bundler.BundleArgs";
+
+    /**
+     * The ArgsBundler of bundler-parceler for which the generated code uses the Parceler generated
+     * wrapper class directly. The processor doesn't depend on bundler-parceler, so only the name is
+     * known.
+     */
+    private static final String DIRECT_PARCELER_BUNDLER =
+            "com.hannesdorfmann.fragmentargs.bundler.DirectParcelerArgsBundler";
+
+    /**
+     * The annotation of classes Parceler generates a wrapper for
+     */
+    private static final String PARCELER_PARCEL = "org.parceler.Parcel";
+
+    /**
+     * Suffix of the wrapper classes generated by Parceler
+     */
+    private static final String PARCELER_WRAPPER_SUFFIX = "$$Parcelable";
+
+    /**
+     * If "true" arguments that would be stored as Serializable are a compile error, unless the
+     * argument is declared as Serializable or uses a custom ArgsBundler
+     */
+    private static final String OPTION_STRICT_TYPES = "fragmentArgsStrictTypes";
+
+    /**
+     * Operations of {@link #ARGUMENT_TYPES} that have no array counterpart in Bundle
+     */
+    private static final Set<String> OPERATIONS_WITHOUT_ARRAY = new HashSet<String>(
+            Arrays.asList("Bundle", "Binder"));
+
     static {
         ARGUMENT_TYPES.put("java.lang.String", "String");
         ARGUMENT_TYPES.put("int", "Int");
@@ -93,6 +215,7 @@ public class ArgProcessor extends AbstractProcessor {
         ARGUMENT_TYPES.put("java.lang.CharSequence", "CharSequence");
         ARGUMENT_TYPES.put("android.os.Bundle", "Bundle");
         ARGUMENT_TYPES.put("android.os.Parcelable", "Parcelable");
+        ARGUMENT_TYPES.put("android.os.IBinder", "Binder");
     }
 
     private Types typeUtils;
@@ -103,12 +226,28 @@ public class ArgProcessor extends AbstractProcessor {
     private TypeElement TYPE_ANDROIDX_FRAGMENT;
     private boolean supportAnnotations = true;
     private boolean logWarnings = true;
+    private boolean releaseChecks = false;
+    private boolean shortKeys = false;
+    private boolean enumNames = false;
+    private boolean strictTypes = false;
+    private boolean autoMappingWritten = false;
+    /**
+     * The fragments of all rounds so far, written to the automapping class or the index once a
+     * round doesn't contain new fragments
+     */
+    private final List<AnnotatedFragment> autoMappingFragments = new ArrayList<AnnotatedFragment>();
+    private final List<Element> autoMappingOriginating = new ArrayList<Element>();
+    private BundlerRegistry bundlerRegistry;
+    private Set<String> bundlerRegistryNames = new HashSet<String>();
+    private String nonNullAnnotationImport = "";
+    private String nullableAnnotationImport = "";
 
     @Override
     public Set<String> getSupportedAnnotationTypes() {
         Set<String> supportTypes = new LinkedHashSet<String>();
         supportTypes.add(Arg.class.getCanonicalName());
         supportTypes.add(FragmentWithArgs.class.getCanonicalName());
+        supportTypes.add(ArgData.class.getCanonicalName());
         return supportTypes;
     }
 
@@ -116,9 +255,14 @@ public class ArgProcessor extends AbstractProcessor {
     public Set<String> getSupportedOptions() {
         Set<String> supportedOptions = new LinkedHashSet<String>();
         supportedOptions.add(OPTION_IS_LIBRARY);
+        supportedOptions.add(OPTION_MODULE_NAME);
         supportedOptions.add(OPTION_ADDITIONAL_BUILDER_ANNOTATIONS);
         supportedOptions.add(OPTION_SUPPORT_ANNOTATIONS);
         supportedOptions.add(OPTION_LOG_WARNINGS);
+        supportedOptions.add(OPTION_CHECKS);
+        supportedOptions.add(OPTION_SHORT_KEYS);
+        supportedOptions.add(OPTION_ENUM_ENCODING);
+        supportedOptions.add(OPTION_STRICT_TYPES);
         return supportedOptions;
     }
 
@@ -126,10 +270,16 @@ public class ArgProcessor extends AbstractProcessor {
     public synchronized void init(ProcessingEnvironment env) {
         super.init(env);
 
-        Elements elementUtils = env.getElementUtils();
         typeUtils = env.getTypeUtils();
         filer = env.getFiler();
+    }
 
+    /**
+     * Looks up the fragment base classes. Elements can't be compared across processing rounds, so
+     * this is done in each round.
+     */
+    private void initFragmentTypes() {
+        Elements elementUtils = processingEnv.getElementUtils();
         TYPE_FRAGMENT = elementUtils.getTypeElement("android.app.Fragment");
         TYPE_SUPPORT_FRAGMENT =
                 elementUtils.getTypeElement("android.support.v4.app.Fragment");
@@ -140,31 +290,43 @@ public class ArgProcessor extends AbstractProcessor {
     private String getOperation(ArgumentAnnotatedField arg) {
         String op = ARGUMENT_TYPES.get(arg.getRawType());
         if (op != null) {
-            if (arg.isArray()) {
-                return op + "Array";
-            } else {
+            if (!arg.isArray()) {
                 return op;
+            } else if (!OPERATIONS_WITHOUT_ARRAY.contains(op)) {
+                return op + "Array";
             }
         }
 
         Elements elements = processingEnv.getElementUtils();
-        TypeMirror type = arg.getElement().asType();
+        TypeMirror type = arg.getTypeMirror();
         Types types = processingEnv.getTypeUtils();
-        String[] arrayListTypes = new String[]{
-                String.class.getName(), Integer.class.getName(), CharSequence.class.getName()
-        };
-        String[] arrayListOps =
-                new String[]{"StringArrayList", "IntegerArrayList", "CharSequenceArrayList"};
-        for (int i = 0; i < arrayListTypes.length; i++) {
-            TypeMirror tm = getArrayListType(arrayListTypes[i]);
-            if (types.isAssignable(type, tm)) {
-                return arrayListOps[i];
-            }
+        TypeMirror parcelable = elements.getTypeElement("android.os.Parcelable").asType();
+
+        if (type.getKind() == TypeKind.ARRAY
+                && types.isAssignable(((ArrayType) type).getComponentType(), parcelable)) {
+            return "ParcelableArray";
         }
 
-        if (types.isAssignable(type,
-                getWildcardType(ArrayList.class.getName(), "android.os.Parcelable"))) {
-            return "ParcelableArrayList";
+        // java.util.List is put as ArrayList, see isListArgument(). Other List types (like
+        // LinkedList) can't be read back from an ArrayList and are stored as Serializable.
+        String[] listTypes = isListArgument(arg) || isDeclaredType(arg, ArrayList.class)
+                ? new String[]{ArrayList.class.getName(), List.class.getName()} : new String[0];
+        for (String listType : listTypes) {
+            String[] arrayListTypes = new String[]{
+                    String.class.getName(), Integer.class.getName(), CharSequence.class.getName()
+            };
+            String[] arrayListOps =
+                    new String[]{"StringArrayList", "IntegerArrayList", "CharSequenceArrayList"};
+            for (int i = 0; i < arrayListTypes.length; i++) {
+                TypeMirror tm = getListType(listType, arrayListTypes[i]);
+                if (types.isAssignable(type, tm)) {
+                    return arrayListOps[i];
+                }
+            }
+
+            if (types.isAssignable(type, getWildcardType(listType, "android.os.Parcelable"))) {
+                return "ParcelableArrayList";
+            }
         }
         TypeMirror sparseParcelableArray =
                 getWildcardType("android.util.SparseArray", "android.os.Parcelable");
@@ -173,10 +335,14 @@ public class ArgProcessor extends AbstractProcessor {
             return "SparseParcelableArray";
         }
 
-        if (types.isAssignable(type, elements.getTypeElement("android.os.Parcelable").asType())) {
+        if (types.isAssignable(type, parcelable)) {
             return "Parcelable";
         }
 
+        if (types.isAssignable(type, elements.getTypeElement("android.os.IBinder").asType())) {
+            return "Binder";
+        }
+
         if (types.isAssignable(type, elements.getTypeElement(Serializable.class.getName()).asType())) {
             return "Serializable";
         }
@@ -184,6 +350,320 @@ public class ArgProcessor extends AbstractProcessor {
         return null;
     }
 
+    /**
+     * Get the enum operation of an argument: "Enum", "EnumArray" (array of enums) or "EnumList"
+     * ({@link List} or {@link ArrayList} of enums). Enums are stored as ordinal or name (see {@link
+     * #OPTION_ENUM_ENCODING}) instead of Serializable.
+     *
+     * @return The operation or null if the argument is not an enum
+     */
+    private String getEnumOperation(ArgumentAnnotatedField arg) {
+        TypeMirror type = arg.getTypeMirror();
+        if (getEnumElement(type) != null) {
+            return "Enum";
+        }
+        if (type.getKind() == TypeKind.ARRAY
+                && getEnumElement(((ArrayType) type).getComponentType()) != null) {
+            return "EnumArray";
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            DeclaredType declaredType = (DeclaredType) type;
+            String rawType = ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+            if ((List.class.getName().equals(rawType) || ArrayList.class.getName().equals(rawType))
+                    && declaredType.getTypeArguments().size() == 1
+                    && getEnumElement(declaredType.getTypeArguments().get(0)) != null) {
+                return "EnumList";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the enum of an enum argument, enum array argument or enum list argument
+     */
+    private TypeElement getEnumElement(ArgumentAnnotatedField arg) {
+        TypeMirror type = arg.getTypeMirror();
+        if (type.getKind() == TypeKind.ARRAY) {
+            return getEnumElement(((ArrayType) type).getComponentType());
+        }
+        TypeElement enumElement = getEnumElement(type);
+        if (enumElement != null) {
+            return enumElement;
+        }
+        return getEnumElement(((DeclaredType) type).getTypeArguments().get(0));
+    }
+
+    private TypeElement getEnumElement(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        Element element = ((DeclaredType) type).asElement();
+        return element.getKind() == ElementKind.ENUM ? (TypeElement) element : null;
+    }
+
+    /**
+     * Get the static fields caching <code>values()</code> of the enums that are stored as
+     * ordinal, keyed by the qualified name of the enum
+     */
+    private Map<String, String> getEnumValuesFields(Collection<ArgumentAnnotatedField> args) {
+        Map<String, String> fields = new LinkedHashMap<String, String>();
+        if (enumNames) {
+            return fields;
+        }
+        for (ArgumentAnnotatedField arg : args) {
+            ArgumentAnnotatedField mapValues = arg.hasCustomBundler() ? null : getMapValues(arg);
+            if (mapValues != null) {
+                arg = mapValues;
+            }
+            if (!arg.hasCustomBundler() && getEnumOperation(arg) != null) {
+                String enumName = getEnumElement(arg).getQualifiedName().toString();
+                if (!fields.containsKey(enumName)) {
+                    fields.put(enumName, "enumValues" + (fields.size() + 1));
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Get the values of a <code>Map&lt;String, V&gt;</code> argument ({@link Map} or {@link
+     * HashMap}) that is put into a nested Bundle. Each value is put by the Bundle operation of V.
+     *
+     * @return The values or null if the argument is no such map or V is not supported
+     */
+    private ArgumentAnnotatedField getMapValues(ArgumentAnnotatedField arg) {
+        TypeMirror type = arg.getTypeMirror();
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        DeclaredType declaredType = (DeclaredType) type;
+        String rawType = ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+        if (!Map.class.getName().equals(rawType) && !HashMap.class.getName().equals(rawType)) {
+            return null;
+        }
+        List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
+        if (typeArguments.size() != 2
+                || !String.class.getName().equals(typeArguments.get(0).toString())) {
+            return null;
+        }
+        TypeKind valueKind = typeArguments.get(1).getKind();
+        if (valueKind != TypeKind.DECLARED && valueKind != TypeKind.ARRAY) {
+            return null;
+        }
+
+        ArgumentAnnotatedField values = new ArgumentAnnotatedField(arg, typeArguments.get(1));
+        if (getEnumOperation(values) == null && getOperation(values) == null) {
+            return null;
+        }
+        return values;
+    }
+
+    private static String getHelperMethodName(String prefix, ArgumentAnnotatedField arg,
+                                              String suffix) {
+        String name = arg.getVariableName();
+        return prefix + Character.toUpperCase(name.charAt(0)) + name.substring(1) + suffix;
+    }
+
+    private static String getMapHelperMethodName(String prefix, ArgumentAnnotatedField arg) {
+        return getHelperMethodName(prefix, arg, "Map");
+    }
+
+    /**
+     * Get the wrapper class Parceler generates for the type of the argument, if the argument uses
+     * <code>DirectParcelerArgsBundler</code>. Only <code>@Parcel</code> annotated, non generic
+     * classes have a wrapper that is known at compile time.
+     *
+     * @return The qualified name of the wrapper class or null, if the bundler has to be used
+     */
+    private String getParcelerWrapper(ArgumentAnnotatedField arg) {
+        if (!arg.hasCustomBundler() || !DIRECT_PARCELER_BUNDLER.equals(arg.getBundlerClass())
+                || arg.getTypeMirror().getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        TypeElement type = (TypeElement) ((DeclaredType) arg.getTypeMirror()).asElement();
+        if (!type.getTypeParameters().isEmpty()) {
+            return null;
+        }
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            if (PARCELER_PARCEL.equals(annotation.getAnnotationType().toString())) {
+                // Parceler names the wrapper of nested classes Outer$Inner$$Parcelable
+                return processingEnv.getElementUtils().getBinaryName(type)
+                        + PARCELER_WRAPPER_SUFFIX;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes the static methods that put and read arguments using
+     * <code>DirectParcelerArgsBundler</code> (see {@link #getParcelerWrapper(ArgumentAnnotatedField)}).
+     * Instances of exactly the declared type are wrapped by calling the constructor of the Parceler
+     * generated wrapper. Subclasses and null are passed to the bundler, which falls back to
+     * <code>Parcels.wrap()</code>.
+     */
+    private void writeParcelerHelperMethods(JavaWriter jw, Collection<ArgumentAnnotatedField> args)
+            throws IOException {
+
+        for (ArgumentAnnotatedField arg : args) {
+            String wrapper = getParcelerWrapper(arg);
+            if (wrapper == null) {
+                continue;
+            }
+            String type = arg.getType();
+
+            jw.emitEmptyLine();
+            jw.beginMethod("void", getHelperMethodName("write", arg, "Parcel"),
+                    EnumSet.of(Modifier.STATIC), "String", "key", type, "value", "Bundle",
+                    "bundle");
+            jw.beginControlFlow("if (value != null && value.getClass() == %s.class)",
+                    jw.compressType(type));
+            jw.emitStatement("bundle.putParcelable(key, new %s(value))",
+                    jw.compressType(wrapper));
+            jw.nextControlFlow("else");
+            jw.emitStatement("%s.put(key, value, bundle)", arg.getBundlerFieldName());
+            jw.endControlFlow();
+            jw.endMethod();
+
+            jw.emitEmptyLine();
+            jw.beginMethod(type, getHelperMethodName("read", arg, "Parcel"),
+                    EnumSet.of(Modifier.STATIC), "String", "key", "Bundle", "bundle");
+            jw.emitStatement("android.os.Parcelable parcelable = bundle.getParcelable(key)");
+            jw.beginControlFlow("if (parcelable instanceof %s)", jw.compressType(wrapper));
+            jw.emitStatement("return ((%s) parcelable).getParcel()", jw.compressType(wrapper));
+            jw.endControlFlow();
+            jw.emitStatement("return %s.get(key, bundle)", arg.getBundlerFieldName());
+            jw.endMethod();
+        }
+    }
+
+    /**
+     * Writes the statement that puts an argument into a Bundle by its custom {@link ArgsBundler}
+     *
+     * @param helperClass The class containing the methods written by {@link
+     * #writeParcelerHelperMethods(JavaWriter, Collection)}
+     */
+    private void writeBundlerPutOperation(JavaWriter jw, ArgumentAnnotatedField arg, String key,
+                                          String sourceVariable, String bundleVariable,
+                                          String helperClass) throws IOException {
+        if (getParcelerWrapper(arg) != null) {
+            jw.emitStatement("%s.%s(%s, %s, %s)", helperClass,
+                    getHelperMethodName("write", arg, "Parcel"), key, sourceVariable,
+                    bundleVariable);
+        } else {
+            jw.emitStatement("%s.put%s(%s, %s, %s)", arg.getBundlerFieldName(),
+                    getPrimitiveBundlerType(arg), key, sourceVariable, bundleVariable);
+        }
+    }
+
+    /**
+     * Get the expression to read an argument from the bundle by its custom {@link ArgsBundler}
+     *
+     * @param helperClass The class containing the methods written by {@link
+     * #writeParcelerHelperMethods(JavaWriter, Collection)}
+     */
+    private String getBundlerReadExpression(ArgumentAnnotatedField field, String key,
+                                            String bundleVariable, String helperClass) {
+        if (getParcelerWrapper(field) != null) {
+            return String.format("%s.%s(%s, %s)", helperClass,
+                    getHelperMethodName("read", field, "Parcel"), key, bundleVariable);
+        }
+        return String.format("%s.get%s(%s, %s)", field.getBundlerFieldName(),
+                getPrimitiveBundlerType(field), key, bundleVariable);
+    }
+
+    /**
+     * Writes the static methods that convert <code>Map&lt;String, V&gt;</code> arguments into a
+     * nested Bundle and back (see {@link #getMapValues(ArgumentAnnotatedField)}). Null values are
+     * kept. The map is restored into a pre-sized {@link HashMap}.
+     *
+     * @param helperClass The name of the class the methods are written to
+     */
+    private void writeMapHelperMethods(JavaWriter jw, Collection<ArgumentAnnotatedField> args,
+                                       String helperClass)
+            throws IOException, ProcessingException {
+
+        Map<String, String> enumValuesFields = getEnumValuesFields(args);
+        for (ArgumentAnnotatedField arg : args) {
+            ArgumentAnnotatedField values = arg.hasCustomBundler() ? null : getMapValues(arg);
+            if (values == null) {
+                continue;
+            }
+            String valueType = values.getType();
+
+            jw.emitEmptyLine();
+            jw.beginMethod("Bundle", getMapHelperMethodName("write", arg),
+                    EnumSet.of(Modifier.STATIC), arg.getType(), "map");
+            jw.beginControlFlow("if (map == null)");
+            jw.emitStatement("return null");
+            jw.endControlFlow();
+            jw.emitStatement("Bundle bundle = new Bundle(map.size())");
+            jw.beginControlFlow("for (java.util.Map.Entry<String, %s> entry : map.entrySet())",
+                    jw.compressType(valueType));
+            jw.emitStatement("%s value = entry.getValue()", jw.compressType(valueType));
+            jw.beginControlFlow("if (value == null)");
+            jw.emitStatement("bundle.putString(entry.getKey(), null)");
+            jw.nextControlFlow("else");
+            writePutOperation(jw, values, "entry.getKey()", "value", "bundle", helperClass);
+            jw.endControlFlow();
+            jw.endControlFlow();
+            jw.emitStatement("return bundle");
+            jw.endMethod();
+
+            String readExpression = getOperationReadExpression(values, "key", "bundle",
+                    enumValuesFields, helperClass);
+            if (isBoxedPrimitive(values) || "Enum".equals(getEnumOperation(values))) {
+                // The typed getters can't return null for these types
+                readExpression = "bundle.get(key) == null ? null : " + readExpression;
+            }
+
+            String mapType = "java.util.HashMap<String, " + valueType + ">";
+            jw.emitEmptyLine();
+            jw.beginMethod(mapType, getMapHelperMethodName("read", arg),
+                    EnumSet.of(Modifier.STATIC), "Bundle", "bundle");
+            jw.beginControlFlow("if (bundle == null)");
+            jw.emitStatement("return null");
+            jw.endControlFlow();
+            jw.emitStatement("%1$s map = new %1$s((int) (bundle.size() / 0.75f) + 1)",
+                    jw.compressType(mapType));
+            jw.beginControlFlow("for (String key : bundle.keySet())");
+            jw.emitStatement("%s value = %s", jw.compressType(valueType), readExpression);
+            jw.emitStatement("map.put(key, value)");
+            jw.endControlFlow();
+            jw.emitStatement("return map");
+            jw.endMethod();
+        }
+    }
+
+    /**
+     * Checks if the custom bundler of a primitive argument is a primitive specialization like
+     * {@link IntArgsBundler}, so that its methods can be called without boxing.
+     *
+     * @return The primitive type of the specialized methods ("Int", "Long" or "Double") or an empty
+     * string, if the generic methods of {@link ArgsBundler} have to be used
+     */
+    private String getPrimitiveBundlerType(ArgumentAnnotatedField arg) {
+        TypeElement bundler = processingEnv.getElementUtils().getTypeElement(arg.getBundlerClass());
+        if (bundler == null || !arg.isPrimitive()) {
+            return "";
+        }
+
+        Class<?>[] bundlerTypes = {
+                IntArgsBundler.class, LongArgsBundler.class, DoubleArgsBundler.class
+        };
+        TypeKind[] kinds = {TypeKind.INT, TypeKind.LONG, TypeKind.DOUBLE};
+        for (int i = 0; i < bundlerTypes.length; i++) {
+            TypeElement bundlerType =
+                    processingEnv.getElementUtils().getTypeElement(bundlerTypes[i].getName());
+            if (arg.getTypeMirror().getKind() == kinds[i] && bundlerType != null
+                    && typeUtils.isSubtype(bundler.asType(), bundlerType.asType())) {
+                String name = kinds[i].name();
+                return name.charAt(0) + name.substring(1).toLowerCase(Locale.US);
+            }
+        }
+        return "";
+    }
+
     private TypeMirror getWildcardType(String type, String elementType) {
         TypeElement arrayList = processingEnv.getElementUtils().getTypeElement(type);
         TypeMirror elType = processingEnv.getElementUtils().getTypeElement(elementType).asType();
@@ -191,53 +671,193 @@ public class ArgProcessor extends AbstractProcessor {
                 .getDeclaredType(arrayList, processingEnv.getTypeUtils().getWildcardType(elType, null));
     }
 
-    private TypeMirror getArrayListType(String elementType) {
-        TypeElement arrayList = processingEnv.getElementUtils().getTypeElement("java.util.ArrayList");
+    private TypeMirror getListType(String listType, String elementType) {
+        TypeElement list = processingEnv.getElementUtils().getTypeElement(listType);
         TypeMirror elType = processingEnv.getElementUtils().getTypeElement(elementType).asType();
-        return processingEnv.getTypeUtils().getDeclaredType(arrayList, elType);
+        return processingEnv.getTypeUtils().getDeclaredType(list, elType);
+    }
+
+    /**
+     * Checks if the argument is declared as {@link List}. Bundle only supports {@link ArrayList},
+     * so the generated code copies other lists into an ArrayList before putting them.
+     */
+    private boolean isListArgument(ArgumentAnnotatedField arg) {
+        return isDeclaredType(arg, List.class);
+    }
+
+    /**
+     * Checks if the argument is declared as the given class (with any type arguments)
+     */
+    private boolean isDeclaredType(ArgumentAnnotatedField arg, Class<?> clazz) {
+        TypeMirror type = arg.getTypeMirror();
+        return type.getKind() == TypeKind.DECLARED && clazz.getName().equals(
+                ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString());
+    }
+
+    /**
+     * Checks if the argument is declared as {@link Serializable}, so that storing it as
+     * Serializable is intended
+     */
+    private boolean isDeclaredSerializable(ArgumentAnnotatedField arg) {
+        return Serializable.class.getName().equals(arg.getType());
     }
 
-    private void writePutArguments(JavaWriter jw, String sourceVariable, String bundleVariable,
+    private void writePutArguments(JavaWriter jw, AnnotatedFragment fragment,
+                                   String sourceVariable, String bundleVariable,
                                    ArgumentAnnotatedField arg) throws IOException, ProcessingException {
+        writePutArguments(jw, fragment, sourceVariable, bundleVariable, "mPresence", "mPacked",
+                !arg.isPrimitive() && !arg.isRequired(), false, arg);
+    }
 
-        boolean addNullCheck = !arg.isPrimitive() && !arg.isRequired();
+    /**
+     * Writes the statements that put an argument into a Bundle
+     *
+     * @param presencePrefix The prefix of the variables holding the presence bitmask
+     * @param packedVariable The variable holding the packed primitive arguments
+     * @param addNullCheck true if the argument should only be put if the source variable is not
+     * null
+     * @param clearIfNull true if an argument already in the Bundle should be removed if the source
+     * variable is null. Only used together with addNullCheck
+     */
+    private void writePutArguments(JavaWriter jw, AnnotatedFragment fragment,
+                                   String sourceVariable, String bundleVariable,
+                                   String presencePrefix, String packedVariable,
+                                   boolean addNullCheck, boolean clearIfNull,
+                                   ArgumentAnnotatedField arg)
+            throws IOException, ProcessingException {
 
         jw.emitEmptyLine();
 
-        if (addNullCheck) {
+        int presenceIndex = fragment.getPresenceFlagArguments().indexOf(arg);
+        if (addNullCheck && clearIfNull) {
+            jw.beginControlFlow("if (%s == null)", sourceVariable);
+            if (presenceIndex >= 0) {
+                jw.emitStatement("%s &= ~%s", getPresenceVariable(presencePrefix, presenceIndex),
+                        getPresenceBit(presenceIndex));
+            }
+            jw.emitStatement("%s.remove(%s)", bundleVariable, getKeyExpression(fragment, arg));
+            jw.nextControlFlow("else");
+        } else if (addNullCheck) {
             jw.beginControlFlow("if (%s != null)", sourceVariable);
         }
 
-        if (arg.hasCustomBundler()) {
-            jw.emitStatement("%s.putBoolean(\"%s\", true)", bundleVariable,
-                    CUSTOM_BUNDLER_BUNDLE_KEY + arg.getKey());
-            jw.emitStatement("%s.put(\"%s\", %s, %s)", arg.getBundlerFieldName(), arg.getKey(),
-                    sourceVariable, bundleVariable);
+        if (presenceIndex >= 0) {
+            jw.emitStatement("%s |= %s", getPresenceVariable(presencePrefix, presenceIndex),
+                    getPresenceBit(presenceIndex));
+        }
+
+        int packedIndex = fragment.getPackedArguments().indexOf(arg);
+        if (packedIndex >= 0) {
+            jw.emitStatement("%s[%d] = %s", packedVariable, packedIndex,
+                    getPackExpression(arg, sourceVariable));
+        } else if (arg.hasCustomBundler()) {
+            writeBundlerPutOperation(jw, arg, getKeyExpression(fragment, arg), sourceVariable,
+                    bundleVariable, fragment.getBuilderName());
         } else {
+            writePutOperation(jw, arg, getKeyExpression(fragment, arg), sourceVariable,
+                    bundleVariable, fragment.getBuilderName());
+        }
+
+        if (addNullCheck) {
+            jw.endControlFlow();
+        }
+    }
+
+    /**
+     * Writes the statement that puts an argument into a Bundle by the built in Bundle operations
+     *
+     * @param mapHelperClass The class containing the methods written by {@link
+     * #writeMapHelperMethods(JavaWriter, Collection, String)}
+     * @throws ProcessingException if the type of the argument is not supported
+     */
+    private void writePutOperation(JavaWriter jw, ArgumentAnnotatedField arg, String key,
+                                   String sourceVariable, String bundleVariable,
+                                   String mapHelperClass)
+            throws IOException, ProcessingException {
+
+        if (getMapValues(arg) != null) {
+            jw.emitStatement("%s.putBundle(%s, %s.%s(%s))", bundleVariable, key, mapHelperClass,
+                    getMapHelperMethodName("write", arg), sourceVariable);
+            return;
+        }
+
+        if (getEnumOperation(arg) != null) {
+            jw.emitStatement("%s.%s(%s, %s)", bundleVariable, getEnumPutMethod(arg), key,
+                    getEnumPutExpression(arg, sourceVariable));
+            return;
+        }
+
+        String op = getOperation(arg);
 
-            String op = getOperation(arg);
+        if (op == null) {
+            throw new ProcessingException(arg.getElement(),
+                    "Don't know how to put %s in a Bundle. This type is not supported by default. "
+                            + "However, you can specify your own %s implementation in @Arg( bundler = YourBundler.class)",
+                    arg.getTypeMirror().toString(), ArgsBundler.class.getSimpleName());
+        }
 
-            if (op == null) {
+        if ("Serializable".equals(op) && !isDeclaredSerializable(arg)) {
+            if (strictTypes) {
                 throw new ProcessingException(arg.getElement(),
-                        "Don't know how to put %s in a Bundle. This type is not supported by default. "
-                                + "However, you can specify your own %s implementation in @Arg( bundler = YourBundler.class)",
-                        arg.getElement().asType().toString(), ArgsBundler.class.getSimpleName());
+                        "%s would be stored as Serializable. Use a type supported by Bundle or "
+                                + "specify your own %s implementation in @Arg( bundler = YourBundler.class)",
+                        arg.getName(), ArgsBundler.class.getSimpleName());
             }
+            warn(arg.getElement(),
+                "%1$s will be stored as Serializable",
+                arg.getName()
+            );
+        }
 
-            if ("Serializable".equals(op)) {
-                warn(arg.getElement(),
-                    "%1$s will be stored as Serializable",
-                    arg.getName()
-                );
-            }
+        String value = sourceVariable;
+        if (op.endsWith("ArrayList") && isListArgument(arg)) {
+            value = String.format("%s.toArrayList(%s)", BUNDLE_ARGS, sourceVariable);
+        }
+        jw.emitStatement("%4$s.put%1$s(%2$s, %3$s)", op, key, value, bundleVariable);
+    }
 
-            jw.emitStatement("%4$s.put%1$s(\"%2$s\", %3$s)", op, arg.getKey(), sourceVariable,
-                    bundleVariable);
+    private String getEnumPutMethod(ArgumentAnnotatedField arg) {
+        boolean scalar = "Enum".equals(getEnumOperation(arg));
+        if (enumNames) {
+            return scalar ? "putString" : "putStringArray";
         }
+        return scalar ? "putInt" : "putIntArray";
+    }
 
-        if (addNullCheck) {
-            jw.endControlFlow();
+    private String getEnumPutExpression(ArgumentAnnotatedField arg, String sourceVariable) {
+        if ("Enum".equals(getEnumOperation(arg))) {
+            return String.format("%s.%s(%s)", ENUM_ARGS, enumNames ? "toName" : "toOrdinal",
+                    sourceVariable);
+        }
+        return String.format("%s.%s(%s)", ENUM_ARGS, enumNames ? "toNames" : "toOrdinals",
+                sourceVariable);
+    }
+
+    /**
+     * Get the expression to read an enum, enum array or enum list argument from the bundle
+     */
+    private String getEnumReadExpression(ArgumentAnnotatedField field, String key,
+                                         String bundleVariable,
+                                         Map<String, String> enumValuesFields) {
+        String op = getEnumOperation(field);
+        String enumName = getEnumElement(field).getQualifiedName().toString();
+        if (enumNames) {
+            if ("Enum".equals(op)) {
+                return String.format("%s.fromName(%s.getString(%s), %s.class)", ENUM_ARGS,
+                        bundleVariable, key, enumName);
+            }
+            return String.format("%s.%s(%s.getStringArray(%s), %s.class)", ENUM_ARGS,
+                    "EnumArray".equals(op) ? "fromNames" : "listFromNames", bundleVariable, key,
+                    enumName);
         }
+        String valuesField = enumValuesFields.get(enumName);
+        if ("Enum".equals(op)) {
+            return String.format("%s.fromOrdinal(%s.getInt(%s, -1), %s)", ENUM_ARGS,
+                    bundleVariable, key, valuesField);
+        }
+        return String.format("%s.%s(%s.getIntArray(%s), %s)", ENUM_ARGS,
+                "EnumArray".equals(op) ? "fromOrdinals" : "listFromOrdinals", bundleVariable, key,
+                valuesField);
     }
 
     private void writePackage(JavaWriter jw, TypeElement type) throws IOException {
@@ -458,6 +1078,7 @@ public class ArgProcessor extends AbstractProcessor {
 
         Types typeUtils = processingEnv.getTypeUtils();
         Filer filer = processingEnv.getFiler();
+        initFragmentTypes();
 
         //
         // Processor options
@@ -485,8 +1106,25 @@ public class ArgProcessor extends AbstractProcessor {
             logWarnings = false;
         }
 
-        String nonNullAnnotationImport = "";
-        String nullableAnnotationImport = "";
+        String checks = processingEnv.getOptions().get(OPTION_CHECKS);
+        if (checks != null && checks.equalsIgnoreCase("release")) {
+            releaseChecks = true;
+        }
+
+        String shortKeysStr = processingEnv.getOptions().get(OPTION_SHORT_KEYS);
+        if (shortKeysStr != null && shortKeysStr.equalsIgnoreCase("true")) {
+            shortKeys = true;
+        }
+
+        String enumEncoding = processingEnv.getOptions().get(OPTION_ENUM_ENCODING);
+        if (enumEncoding != null && enumEncoding.equalsIgnoreCase("name")) {
+            enumNames = true;
+        }
+
+        String strictTypesStr = processingEnv.getOptions().get(OPTION_STRICT_TYPES);
+        if (strictTypesStr != null && strictTypesStr.equalsIgnoreCase("true")) {
+            strictTypes = true;
+        }
 
         if(supportAnnotations) {
             if (isClassAvailable("android.support.annotation.NonNull")) {
@@ -514,8 +1152,6 @@ public class ArgProcessor extends AbstractProcessor {
         // REMEMBER: It's a SET! it uses .equals() .hashCode() to determine if element already in set
         Set<TypeElement> fragmentClasses = new HashSet<TypeElement>();
 
-        Element[] origHelper = null;
-
         // Search for @Arg fields
         for (Element element : env.getElementsAnnotatedWith(Arg.class)) {
 
@@ -560,15 +1196,39 @@ public class ArgProcessor extends AbstractProcessor {
             }
         }
 
-        // Store the key - value for the generated FragmentArtMap class
-        Map<String, String> autoMapping = new HashMap<String, String>();
-
-        for (TypeElement fragmentClass : fragmentClasses) {
+        // One shared instance per ArgsBundler class for all builders of this round
+        bundlerRegistry = createBundlerRegistry(fragmentClasses);
 
-            JavaFileObject jfo = null;
+        // Generate the bundlers of @ArgData classes
+        for (Element element : env.getElementsAnnotatedWith(ArgData.class)) {
             try {
-
-                AnnotatedFragment fragment = collectArgumentsForType(fragmentClass);
+                writeArgDataBundler(new ArgDataClass((TypeElement) element));
+            } catch (IOException e) {
+                processingExceptions.add(new ProcessingException(element,
+                        "Unable to write bundler for type %s: %s", element, e.getMessage()));
+            } catch (ProcessingException e) {
+                processingExceptions.add(e);
+            }
+        }
+
+        // The fragments the generated AutoFragmentArgInjector dispatches to
+        List<AnnotatedFragment> autoMapping = new ArrayList<AnnotatedFragment>();
+
+        for (TypeElement fragmentClass : fragmentClasses) {
+
+            JavaFileObject jfo = null;
+            try {
+
+                AnnotatedFragment fragment = collectArgumentsForType(fragmentClass);
+                if (shortKeys) {
+                    fragment.assignShortKeys();
+                    checkKeyConstantNames(fragment);
+                }
+                for (ArgumentAnnotatedField arg : fragment.getAllSorted()) {
+                    if (arg.hasCustomBundler()) {
+                        arg.setBundlerFieldName(bundlerRegistry.getReference(arg.getBundlerClass()));
+                    }
+                }
 
                 String builderName = fragment.getBuilderName();
 
@@ -584,17 +1244,22 @@ public class ArgProcessor extends AbstractProcessor {
                     superClass = element.getSuperclass();
                 }
 
-                String qualifiedFragmentName = fragment.getQualifiedName();
                 String qualifiedBuilderName = fragment.getQualifiedBuilderName();
 
                 Element[] orig = originating.toArray(new Element[originating.size()]);
-                origHelper = orig;
 
                 jfo = filer.createSourceFile(qualifiedBuilderName, orig);
                 Writer writer = jfo.openWriter();
                 jw = new JavaWriter(writer);
                 writePackage(jw, fragmentClass);
                 jw.emitImports("android.os.Bundle");
+                writeBundlerRegistryImport(jw, fragment);
+                if (fragment.isSkipUnchangedArguments()) {
+                    jw.emitImports("java.util.Map", "java.util.WeakHashMap");
+                }
+                if (fragment.isPrototype()) {
+                    jw.emitImports("java.util.ArrayList", "java.util.Collection", "java.util.List");
+                }
                 if (supportAnnotations) {
                     jw.emitImports(nonNullAnnotationImport);
                     if (!fragment.getOptionalFields().isEmpty()) {
@@ -616,17 +1281,41 @@ public class ArgProcessor extends AbstractProcessor {
 
                 jw.beginType(builderName, "class", EnumSet.of(Modifier.PUBLIC, Modifier.FINAL));
 
-                if (!fragment.getBundlerVariableMap().isEmpty()) {
+                if (shortKeys) {
+                    // The Bundle keys
                     jw.emitEmptyLine();
-                    for (Map.Entry<String, String> e : fragment.getBundlerVariableMap().entrySet()) {
-                        jw.emitField(e.getKey(), e.getValue(),
-                                EnumSet.of(Modifier.PRIVATE, Modifier.FINAL, Modifier.STATIC),
-                                "new " + e.getKey() + "()");
+                    for (ArgumentAnnotatedField arg : fragment.getAllSorted()) {
+                        jw.emitField("String", getKeyConstantName(arg),
+                                EnumSet.of(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL),
+                                JavaWriter.stringLiteral(arg.getBundleKey()));
                     }
                 }
+                writeEnumValuesFields(jw, fragment);
+                if (fragment.isSkipUnchangedArguments()) {
+                    // fragment -> the arguments Bundle that has been injected last
+                    jw.emitEmptyLine();
+                    String fragmentName = fragmentClass.getSimpleName().toString();
+                    jw.emitField("Map<" + fragmentName + ", Bundle>", "injectedArguments",
+                            EnumSet.of(Modifier.PRIVATE, Modifier.FINAL, Modifier.STATIC),
+                            "new WeakHashMap<" + fragmentName + ", Bundle>()");
+                }
                 jw.emitEmptyLine();
+                // Pre-sized, the number of entries is known
                 jw.emitField("Bundle", "mArguments", EnumSet.of(Modifier.PRIVATE, Modifier.FINAL),
-                        "new Bundle()");
+                        "new Bundle(" + getBundleCapacity(fragment) + ")");
+                jw.emitField("boolean", "mTransferred", EnumSet.of(Modifier.PRIVATE));
+                if (fragment.isPrototype()) {
+                    jw.emitField("boolean", "mFrozen", EnumSet.of(Modifier.PRIVATE));
+                }
+                int presenceWords = getPresenceWords(fragment);
+                for (int i = 0; i < presenceWords; i++) {
+                    jw.emitField("long", "mPresence" + i, EnumSet.of(Modifier.PRIVATE));
+                }
+                int packedArguments = fragment.getPackedArguments().size();
+                if (packedArguments > 0) {
+                    jw.emitField("long[]", "mPacked", EnumSet.of(Modifier.PRIVATE, Modifier.FINAL),
+                            "new long[" + packedArguments + "]");
+                }
                 jw.emitEmptyLine();
 
                 Set<ArgumentAnnotatedField> required = fragment.getRequiredFields();
@@ -642,7 +1331,7 @@ public class ArgProcessor extends AbstractProcessor {
                 jw.beginMethod(null, builderName, EnumSet.of(Modifier.PUBLIC), args);
 
                 for (ArgumentAnnotatedField arg : required) {
-                    writePutArguments(jw, arg.getVariableName(), "mArguments", arg);
+                    writePutArguments(jw, fragment, arg.getVariableName(), "mArguments", arg);
                 }
 
                 jw.endMethod();
@@ -652,24 +1341,58 @@ public class ArgProcessor extends AbstractProcessor {
                     writeNewFragmentWithRequiredMethod(builderName, fragmentClass, jw, args);
                 }
 
+                if (!fragment.getOptionalFields().isEmpty()) {
+                    jw.emitEmptyLine();
+                    writeBundleWithAllArgumentsMethod(jw, fragment);
+                    jw.emitEmptyLine();
+                    writeNewFragmentWithAllArgumentsMethod(jw, fragment);
+                }
+
                 Set<ArgumentAnnotatedField> optionalArguments = fragment.getOptionalFields();
 
                 for (ArgumentAnnotatedField arg : optionalArguments) {
-                    writeBuilderMethod(builderName, jw, arg);
+                    writeBuilderMethod(builderName, jw, fragment, arg);
+                }
+
+                if (fragment.isPrototype()) {
+                    writePrototypeMethods(jw, fragment);
                 }
 
                 jw.emitEmptyLine();
-                writeBuildBundleMethod(jw);
+                writeBuildBundleMethod(jw, fragment);
+
+                jw.emitEmptyLine();
+                writeTransferBundleMethod(jw, fragment);
+
+                jw.emitEmptyLine();
+                writeCheckNotTransferredMethod(jw);
 
                 jw.emitEmptyLine();
                 writeInjectMethod(jw, fragmentClass, fragment);
 
+                for (int i = 0; i < presenceWords; i++) {
+                    jw.emitEmptyLine();
+                    writeReadPresenceFlagsMethod(jw, fragment, i);
+                }
+
+                writeMapHelperMethods(jw, fragment.getAllSorted(), builderName);
+                writeParcelerHelperMethods(jw, fragment.getAllSorted());
+
                 jw.emitEmptyLine();
-                writeBuildMethod(jw, fragmentClass);
+                writeBuildMethod(jw, fragmentClass, fragment);
 
                 jw.endType();
 
-                autoMapping.put(qualifiedFragmentName, qualifiedBuilderName);
+                autoMapping.add(fragment);
+                autoMappingOriginating.addAll(originating);
+
+                if (fragment.isLazyArgs()) {
+                    writeLazyArgsClass(fragment, orig);
+                }
+
+                if (fragment.isArgsClass()) {
+                    writeArgsClass(fragment, orig);
+                }
             } catch (IOException e) {
                 processingExceptions.add(
                         new ProcessingException(fragmentClass, "Unable to write builder for type %s: %s",
@@ -692,10 +1415,53 @@ public class ArgProcessor extends AbstractProcessor {
             }
         }
 
-        // Write the automapping class
-        if (origHelper != null && !isLibrary) {
+        if (!bundlerRegistry.isEmpty()) {
+            try {
+                writeBundlerRegistry(bundlerRegistry,
+                        fragmentClasses.toArray(new Element[fragmentClasses.size()]));
+            } catch (IOException e) {
+                processingExceptions.add(new ProcessingException(null,
+                        "Unable to write the bundler registry %s: %s",
+                        bundlerRegistry.getQualifiedClassName(), e.getMessage()));
+            }
+        }
+
+        if (autoMappingWritten) {
+            for (AnnotatedFragment fragment : autoMapping) {
+                processingExceptions.add(new ProcessingException(fragment.getClassElement(),
+                        "%s has been generated after the %s has been written in a previous "
+                                + "annotation processing round, so it can't be injected by it",
+                        fragment.getQualifiedName(),
+                        isLibrary ? "index of this library" : FragmentArgs.AUTO_MAPPING_CLASS_NAME));
+            }
+        } else {
+            autoMappingFragments.addAll(autoMapping);
+        }
+
+        // Write the automapping class or the index of this library once all fragments are known,
+        // that is in the first round without new fragments (other processors may generate
+        // fragments in later rounds)
+        boolean allFragmentsKnown = autoMapping.isEmpty() || env.processingOver();
+        if (!autoMappingWritten && allFragmentsKnown
+                && (!autoMappingFragments.isEmpty() || !isLibrary)) {
+            Element[] originating = autoMappingOriginating.toArray(
+                    new Element[autoMappingOriginating.size()]);
             try {
-                writeAutoMapping(autoMapping, origHelper);
+                if (isLibrary) {
+                    writeIndex(autoMappingFragments, originating);
+                    autoMappingWritten = true;
+                } else {
+                    List<AnnotatedFragment> fragments =
+                            new ArrayList<AnnotatedFragment>(autoMappingFragments);
+                    List<Element> indexOriginating = new ArrayList<Element>(
+                            autoMappingOriginating);
+                    collectIndexedFragments(fragments, indexOriginating);
+                    if (!fragments.isEmpty()) {
+                        writeAutoMapping(fragments, indexOriginating.toArray(
+                                new Element[indexOriginating.size()]));
+                        autoMappingWritten = true;
+                    }
+                }
             } catch (ProcessingException e) {
                 processingExceptions.add(e);
             }
@@ -710,290 +1476,1667 @@ public class ArgProcessor extends AbstractProcessor {
     }
 
     /**
-     * Write the buildBundle() method
-     *
-     * @param jw The javawriter
-     * @throws IOException
-     */
-    private void writeBuildBundleMethod(JavaWriter jw) throws IOException {
-        if (supportAnnotations) jw.emitAnnotation("NonNull");
-        jw.beginMethod("Bundle", "buildBundle", EnumSet.of(Modifier.PUBLIC));
-        jw.emitStatement("return new Bundle(mArguments)");
-        jw.endMethod();
-    }
-
-    /**
-     * Scans a fragment for a given {@link FragmentWithArgs} annotation
-     *
-     * @param env             The round environment
-     * @param annotationClass The annotation (.class) to scan for
-     * @param fragmentClasses The set of classes already scanned (containing annotations)
-     * @throws ProcessingException
+     * Creates the registry of the {@link ArgsBundler} instances used by the given fragments. The
+     * name is derived from the module name, so that the registries of different modules (and of
+     * different processing rounds) don't clash. A registry is written per processing round, since
+     * the builders of a round reference it. Usually all fragments are processed in the first
+     * round, then there is exactly one registry per module.
      */
-    private void scanForAnnotatedFragmentClasses(RoundEnvironment env,
-                                                 Class<? extends Annotation> annotationClass, Set<TypeElement> fragmentClasses,
-                                                 Element element)
-            throws ProcessingException {
-
-        if (element.getKind() != ElementKind.CLASS) {
-            throw new ProcessingException(element, "%s can only be applied on Fragment classes",
-                    annotationClass.getSimpleName());
+    private BundlerRegistry createBundlerRegistry(Set<TypeElement> fragmentClasses) {
+        List<String> fragmentNames = new ArrayList<String>(fragmentClasses.size());
+        for (TypeElement fragmentClass : fragmentClasses) {
+            fragmentNames.add(fragmentClass.getQualifiedName().toString());
         }
+        Collections.sort(fragmentNames);
 
-        TypeElement classElement = (TypeElement) element;
-
-        // Check if its a fragment
-        if (!isFragmentClass(element)) {
-            throw new ProcessingException(element,
-                    "%s can only be used on fragments, but %s is not a subclass of fragment",
-                    annotationClass.getSimpleName(), classElement.getQualifiedName());
+        String className = BUNDLER_REGISTRY_CLASS_NAME + getModuleName(fragmentNames);
+        if (bundlerRegistryNames.contains(className)) {
+            className += "_" + bundlerRegistryNames.size();
         }
+        return new BundlerRegistry(FragmentArgs.AUTO_MAPPING_PACKAGE, className);
+    }
 
-        // Skip abstract classes
-        if (!classElement.getModifiers().contains(Modifier.ABSTRACT)) {
-            fragmentClasses.add(classElement);
+    private void writeBundlerRegistryImport(JavaWriter jw, AnnotatedFragment fragment)
+            throws IOException {
+        if (fragment.hasCustomBundlers()) {
+            jw.emitImports(bundlerRegistry.getQualifiedClassName());
         }
     }
 
     /**
-     * Checks if the given element is in a valid Fragment class
+     * Writes the class holding one shared instance of each {@link ArgsBundler} class used by the
+     * builders, instead of a static field with an own instance in each builder. Each instance is
+     * held by a nested holder class, so it's created lazily on first access and safely published
+     * to all threads by the class initialization.
      */
-    private boolean isFragmentClass(Element classElement) {
-        List<TypeElement> fragmentTypeElements = Arrays.asList(TYPE_FRAGMENT, TYPE_SUPPORT_FRAGMENT, TYPE_ANDROIDX_FRAGMENT);
+    private void writeBundlerRegistry(BundlerRegistry registry, Element[] originating)
+            throws IOException {
+        String className = registry.getClassName();
+        JavaFileObject jfo =
+                filer.createSourceFile(registry.getQualifiedClassName(), originating);
+        JavaWriter jw = new JavaWriter(jfo.openWriter());
+        try {
+            jw.emitPackage(registry.getPackageName());
+            jw.beginType(className, "class", EnumSet.of(Modifier.PUBLIC, Modifier.FINAL));
 
-        for (TypeElement fragmentTypeElement : fragmentTypeElements) {
-            if(fragmentTypeElement != null && typeUtils.isSubtype(classElement.asType(),
-                    fragmentTypeElement.asType())) {
-                return true;
+            jw.emitEmptyLine();
+            jw.beginConstructor(EnumSet.of(Modifier.PRIVATE));
+            jw.endConstructor();
+
+            for (Map.Entry<String, String> e : registry.getBundlerNames().entrySet()) {
+                jw.emitEmptyLine();
+                jw.beginMethod(e.getKey(), "get" + e.getValue(),
+                        EnumSet.of(Modifier.PUBLIC, Modifier.STATIC));
+                jw.emitStatement("return %s.INSTANCE", getBundlerHolderName(e.getValue()));
+                jw.endMethod();
+            }
+
+            for (Map.Entry<String, String> e : registry.getBundlerNames().entrySet()) {
+                jw.emitEmptyLine();
+                jw.beginType(getBundlerHolderName(e.getValue()), "class",
+                        EnumSet.of(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL));
+                jw.emitField(e.getKey(), "INSTANCE", EnumSet.of(Modifier.STATIC, Modifier.FINAL),
+                        "new " + jw.compressType(e.getKey()) + "()");
+                jw.endType();
             }
+
+            jw.endType();
+        } finally {
+            jw.close();
         }
+        bundlerRegistryNames.add(className);
+    }
 
-        return false;
+    private static String getBundlerHolderName(String bundlerName) {
+        return bundlerName + "Holder";
     }
 
-    private boolean isClassAvailable(String className) {
-        try  {
-            Class.forName(className);
-            return true;
-        }  catch (ClassNotFoundException e) {
-            return false;
+    /**
+     * Writes the static fields holding the cached constants of enums stored as ordinal
+     */
+    private void writeEnumValuesFields(JavaWriter jw, AnnotatedFragment fragment)
+            throws IOException {
+        Map<String, String> enumValuesFields = getEnumValuesFields(fragment.getAllSorted());
+        if (!enumValuesFields.isEmpty()) {
+            jw.emitEmptyLine();
+            for (Map.Entry<String, String> e : enumValuesFields.entrySet()) {
+                jw.emitField(e.getKey() + "[]", e.getValue(),
+                        EnumSet.of(Modifier.PRIVATE, Modifier.FINAL, Modifier.STATIC),
+                        e.getKey() + ".values()");
+            }
         }
     }
 
     /**
-     * Key is the fully qualified fragment name, value is the fully qualified Builder class name
+     * Writes the {@link ArgsBundler} of a class annotated with {@link ArgData}. The fields are put
+     * one by one into a nested Bundle.
      */
+    private void writeArgDataBundler(ArgDataClass data) throws IOException, ProcessingException {
 
-    private void writeAutoMapping(Map<String, String> mapping, Element[] element)
-            throws ProcessingException {
+        TypeElement dataClass = data.getClassElement();
+        String dataType = data.getQualifiedName();
+        List<ArgumentAnnotatedField> fields = data.getFields();
 
-        try {
-            JavaFileObject jfo =
-                    filer.createSourceFile(FragmentArgs.AUTO_MAPPING_QUALIFIED_CLASS, element);
-            Writer writer = jfo.openWriter();
-            JavaWriter jw = new JavaWriter(writer);
-            // Package
-            jw.emitPackage(FragmentArgs.AUTO_MAPPING_PACKAGE);
+        // Bundlers of nested @ArgData classes and custom bundlers
+        Map<String, String> bundlerFields = new LinkedHashMap<String, String>();
+        for (ArgumentAnnotatedField field : fields) {
+            if (field.hasCustomBundler()) {
+                String varName = bundlerFields.get(field.getBundlerClass());
+                if (varName == null) {
+                    varName = "bundler" + (bundlerFields.size() + 1);
+                    bundlerFields.put(field.getBundlerClass(), varName);
+                }
+                field.setBundlerFieldName(varName);
+            }
+        }
+        Map<String, String> enumValuesFields = getEnumValuesFields(fields);
 
-            // Class
-            jw.beginType(FragmentArgs.AUTO_MAPPING_CLASS_NAME, "class",
+        JavaFileObject jfo = filer.createSourceFile(data.getQualifiedBundlerName(), dataClass);
+        JavaWriter jw = new JavaWriter(jfo.openWriter());
+        try {
+            writePackage(jw, dataClass);
+            jw.emitImports("android.os.Bundle", ArgsBundler.class.getCanonicalName());
+            jw.emitEmptyLine();
+            jw.beginType(data.getBundlerName(), "class",
                     EnumSet.of(Modifier.PUBLIC, Modifier.FINAL), null,
-                    FragmentArgsInjector.class.getCanonicalName());
+                    ArgsBundler.class.getSimpleName() + "<" + dataType + ">");
+
+            if (!bundlerFields.isEmpty()) {
+                jw.emitEmptyLine();
+                for (Map.Entry<String, String> e : bundlerFields.entrySet()) {
+                    jw.emitField(e.getKey(), e.getValue(),
+                            EnumSet.of(Modifier.PRIVATE, Modifier.FINAL, Modifier.STATIC),
+                            "new " + e.getKey() + "()");
+                }
+            }
+            if (!enumValuesFields.isEmpty()) {
+                jw.emitEmptyLine();
+                for (Map.Entry<String, String> e : enumValuesFields.entrySet()) {
+                    jw.emitField(e.getKey() + "[]", e.getValue(),
+                            EnumSet.of(Modifier.PRIVATE, Modifier.FINAL, Modifier.STATIC),
+                            e.getKey() + ".values()");
+                }
+            }
 
+            // put()
             jw.emitEmptyLine();
-            // The mapping Method
             jw.emitAnnotation("Override");
-            jw.beginMethod("void", "inject", EnumSet.of(Modifier.PUBLIC), "Object", "target");
-
+            jw.beginMethod("void", "put", EnumSet.of(Modifier.PUBLIC), "String", "key", dataType,
+                    "value", "Bundle", "bundle");
+            jw.beginControlFlow("if (value == null)");
+            jw.emitStatement("bundle.putBundle(key, null)");
+            jw.emitStatement("return");
+            jw.endControlFlow();
             jw.emitEmptyLine();
-            jw.emitStatement("Class<?> targetClass = target.getClass()");
-            jw.emitStatement("String targetName = targetClass.getCanonicalName()");
-            // TODO should be targetClass.getName()? Inner anonymous class not possible?
-
-            for (Map.Entry<String, String> entry : mapping.entrySet()) {
-
-                jw.emitEmptyLine();
-                jw.beginControlFlow("if ( %s.class.getName().equals(targetName) )", entry.getKey());
-                jw.emitStatement("%s.injectArguments( ( %s ) target)", entry.getValue(), entry.getKey());
-                jw.emitStatement("return");
-                jw.endControlFlow();
+            jw.emitStatement("Bundle data = new Bundle(%d)", fields.size());
+            for (ArgumentAnnotatedField field : fields) {
+                String source = "value." + field.getName();
+                String key = "\"" + field.getKey() + "\"";
+                if (!field.isPrimitive()) {
+                    jw.beginControlFlow("if (%s != null)", source);
+                }
+                if (field.hasCustomBundler()) {
+                    writeBundlerPutOperation(jw, field, key, source, "data",
+                            data.getBundlerName());
+                } else {
+                    writePutOperation(jw, field, key, source, "data", data.getBundlerName());
+                }
+                if (!field.isPrimitive()) {
+                    jw.endControlFlow();
+                }
             }
+            jw.emitStatement("bundle.putBundle(key, data)");
+            jw.endMethod();
 
-            // End Mapping method
+            // get()
+            jw.emitEmptyLine();
+            jw.emitAnnotation("SuppressWarnings", "\"unchecked\"");
+            jw.emitAnnotation("Override");
+            jw.beginMethod("<T extends " + dataType + "> T", "get", EnumSet.of(Modifier.PUBLIC),
+                    "String", "key", "Bundle", "bundle");
+            jw.emitStatement("Bundle data = bundle.getBundle(key)");
+            jw.beginControlFlow("if (data == null)");
+            jw.emitStatement("return null");
+            jw.endControlFlow();
+            jw.emitEmptyLine();
+            jw.emitStatement("%1$s value = new %1$s()", jw.compressType(dataType));
+            for (ArgumentAnnotatedField field : fields) {
+                String key = "\"" + field.getKey() + "\"";
+                String readExpression;
+                if (field.hasCustomBundler()) {
+                    readExpression = getBundlerReadExpression(field, key, "data",
+                            data.getBundlerName());
+                } else {
+                    readExpression =
+                            getOperationReadExpression(field, key, "data", enumValuesFields,
+                                    data.getBundlerName());
+                }
+                // Boxed primitives and enums must not be read if not set
+                if (field.isPrimitive()) {
+                    jw.emitStatement("value.%s = %s", field.getName(), readExpression);
+                } else {
+                    jw.beginControlFlow("if (data.containsKey(%s))", key);
+                    jw.emitStatement("value.%s = %s", field.getName(), readExpression);
+                    jw.endControlFlow();
+                }
+            }
+            jw.emitStatement("return (T) value");
             jw.endMethod();
 
+            writeMapHelperMethods(jw, fields, data.getBundlerName());
+            writeParcelerHelperMethods(jw, fields);
+
             jw.endType();
+        } finally {
             jw.close();
-        } catch (IOException e) {
-            throw new ProcessingException(null,
-                    "Unable to write the automapping class for builder to fragment: %s: %s",
-                    FragmentArgs.AUTO_MAPPING_QUALIFIED_CLASS, e.getMessage());
         }
     }
 
-    private void writeNewFragmentWithRequiredMethod(String builder, TypeElement element,
-                                                    JavaWriter jw, String[] args) throws IOException {
+    /**
+     * Writes the class with lazy accessors (getters) for the arguments of a fragment. Each getter
+     * reads the value from the arguments Bundle on first access and memoizes it.
+     *
+     * @see FragmentWithArgs#lazyArgs()
+     */
+    private void writeLazyArgsClass(AnnotatedFragment fragment, Element[] orig)
+            throws IOException, ProcessingException {
 
-        if (supportAnnotations) jw.emitAnnotation("NonNull");
-        jw.beginMethod(element.getQualifiedName().toString(), "new" + element.getSimpleName(),
-                EnumSet.of(Modifier.STATIC, Modifier.PUBLIC), args);
-        StringBuilder argNames = new StringBuilder();
-        for (int i = 1; i < args.length; i += 2) {
-            argNames.append(args[i]);
-            if (i < args.length - 1) {
-                argNames.append(", ");
+        TypeElement fragmentClass = fragment.getClassElement();
+        String className = fragment.getLazyArgsName();
+        String fragmentName = fragmentClass.getSimpleName().toString();
+        List<ArgumentAnnotatedField> allArguments = fragment.getAllSorted();
+
+        JavaFileObject jfo = filer.createSourceFile(fragment.getQualifiedLazyArgsName(), orig);
+        JavaWriter jw = new JavaWriter(jfo.openWriter());
+        try {
+            writePackage(jw, fragmentClass);
+            jw.emitImports("android.os.Bundle");
+            writeBundlerRegistryImport(jw, fragment);
+            if (supportAnnotations) {
+                jw.emitImports(nonNullAnnotationImport);
+                if (!fragment.getOptionalFields().isEmpty()) {
+                    jw.emitImports(nullableAnnotationImport);
+                }
             }
-        }
-        jw.emitStatement("return new %1$s(%2$s).build()", builder, argNames);
-        jw.endMethod();
-    }
+            if (fragment.isInnerClass()) {
+                jw.emitImports(fragment.getQualifiedName());
+            }
+            jw.emitEmptyLine();
 
-    private void writeBuildMethod(JavaWriter jw, TypeElement element) throws IOException {
-        if (supportAnnotations) {
-            jw.emitAnnotation("NonNull");
-        }
+            jw.beginType(className, "class", EnumSet.of(Modifier.PUBLIC, Modifier.FINAL));
+            writeEnumValuesFields(jw, fragment);
 
-        jw.beginMethod(element.getSimpleName().toString(), "build", EnumSet.of(Modifier.PUBLIC));
-        jw.emitStatement("%1$s fragment = new %1$s()", element.getSimpleName().toString());
-        jw.emitStatement("fragment.setArguments(mArguments)");
-        jw.emitStatement("return fragment");
-        jw.endMethod();
-    }
+            jw.emitEmptyLine();
+            jw.emitField("Bundle", "mArguments", EnumSet.of(Modifier.PRIVATE, Modifier.FINAL));
+            // One bit per argument that has already been read
+            for (int i = 0; i < allArguments.size(); i += 64) {
+                jw.emitField("long", getFlagsVariable("mRead", i), EnumSet.of(Modifier.PRIVATE));
+            }
+            for (ArgumentAnnotatedField arg : allArguments) {
+                jw.emitField(arg.getType(), getMemberName(arg), EnumSet.of(Modifier.PRIVATE));
+            }
 
-    private void writeInjectMethod(JavaWriter jw, TypeElement element,
-                                   AnnotatedFragment fragment) throws IOException, ProcessingException {
+            // Constructor
+            jw.emitEmptyLine();
+            jw.beginMethod(null, className, EnumSet.of(Modifier.PUBLIC),
+                    supportAnnotations ? "@NonNull Bundle" : "Bundle", "arguments");
+            jw.emitStatement("this.mArguments = arguments");
+            jw.endMethod();
 
-        Set<ArgumentAnnotatedField> allArguments = fragment.getAll();
+            // Factory method
+            jw.emitEmptyLine();
+            if (supportAnnotations) jw.emitAnnotation("NonNull");
+            jw.beginMethod(className, "of", EnumSet.of(Modifier.PUBLIC, Modifier.STATIC),
+                    supportAnnotations ? "@NonNull " + fragmentName : fragmentName, "fragment");
+            jw.emitStatement("Bundle args = fragment.getArguments()");
+            jw.beginControlFlow("if (args == null)");
+            jw.emitStatement(
+                    "throw new IllegalStateException(\"No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? \")");
+            jw.endControlFlow();
+            jw.emitStatement("return new %s(args)", className);
+            jw.endMethod();
 
-        String fragmentType = supportAnnotations ? "@NonNull " + element.getSimpleName().toString()
-                : element.getSimpleName().toString();
+            // Getters
+            int index = 0;
+            for (ArgumentAnnotatedField arg : allArguments) {
+                String readFlag = getFlagsVariable("mRead", index);
+                String bit = getFlagsBit(index);
+                String member = getMemberName(arg);
+                index++;
 
-        jw.beginMethod("void", "injectArguments",
-                EnumSet.of(Modifier.PUBLIC, Modifier.FINAL, Modifier.STATIC),
-                fragmentType, "fragment");
+                jw.emitEmptyLine();
+                if (supportAnnotations && !arg.isPrimitive()) {
+                    jw.emitAnnotation(arg.isRequired() ? "NonNull" : "Nullable");
+                }
+                jw.beginMethod(arg.getType(), "get" + capitalize(arg.getVariableName()),
+                        EnumSet.of(Modifier.PUBLIC));
+                jw.beginControlFlow("if ((%s & %s) == 0)", readFlag, bit);
 
+                if (fragment.getPresenceFlagArguments().contains(arg)) {
+                    writeReadPresenceFlags(jw, fragment, "mArguments");
+                }
+                if (fragment.getPackedArguments().contains(arg)) {
+                    writeReadPackedArguments(jw, "mArguments");
+                }
+                String readExpression = getReadExpression(fragment, arg, "mArguments");
+                if (arg.isRequired()) {
+                    writeRequiredCheck(jw, arg,
+                            getContainsExpression(fragment, arg, "mArguments", false));
+                    jw.emitStatement("%s = %s", member, readExpression);
+                } else {
+                    jw.beginControlFlow("if (%s)",
+                            getContainsExpression(fragment, arg, "mArguments", true));
+                    jw.emitStatement("%s = %s", member, readExpression);
+                    jw.endControlFlow();
+                }
+                jw.emitStatement("%s |= %s", readFlag, bit);
+                jw.endControlFlow();
+                jw.emitStatement("return %s", member);
+                jw.endMethod();
+            }
 
-        jw.emitStatement("Bundle args = fragment.getArguments()");
+            jw.endType();
+        } finally {
+            jw.close();
+        }
+    }
 
-        // Check if bundle is null only if at least one required field
-        jw.beginControlFlow("if (args == null)");
-        jw.emitStatement(
-                "throw new IllegalStateException(\"No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? \")");
-        jw.endControlFlow();
+    /**
+     * Writes the immutable value class for the arguments of a fragment. The arguments are parsed
+     * once per Bundle instance, parsed instances are cached in a {@link java.util.WeakHashMap} with
+     * the Bundle as key.
+     *
+     * @see FragmentWithArgs#argsClass()
+     */
+    private void writeArgsClass(AnnotatedFragment fragment, Element[] orig)
+            throws IOException, ProcessingException {
 
+        TypeElement fragmentClass = fragment.getClassElement();
+        String className = fragment.getArgsName();
+        String fragmentName = fragmentClass.getSimpleName().toString();
+        List<ArgumentAnnotatedField> allArguments = fragment.getAllSorted();
 
-        int setterAssignmentHelperCounter = 0;
-        for (ArgumentAnnotatedField field : allArguments) {
+        JavaFileObject jfo = filer.createSourceFile(fragment.getQualifiedArgsName(), orig);
+        JavaWriter jw = new JavaWriter(jfo.openWriter());
+        try {
+            writePackage(jw, fragmentClass);
+            jw.emitImports("android.os.Bundle", "java.util.Map", "java.util.WeakHashMap");
+            writeBundlerRegistryImport(jw, fragment);
+            if (supportAnnotations) {
+                jw.emitImports(nonNullAnnotationImport);
+                if (!fragment.getOptionalFields().isEmpty()) {
+                    jw.emitImports(nullableAnnotationImport);
+                }
+            }
+            if (fragment.isInnerClass()) {
+                jw.emitImports(fragment.getQualifiedName());
+            }
             jw.emitEmptyLine();
 
-            Set<Modifier> modifiers = field.getElement().getModifiers();
+            jw.beginType(className, "class", EnumSet.of(Modifier.PUBLIC, Modifier.FINAL));
 
-            // Check if the given setter is available
-            String setterMethod = null;
+            // Bundle -> parsed arguments
+            jw.emitEmptyLine();
+            jw.emitField("Map<Bundle, " + className + ">", "CACHE",
+                    EnumSet.of(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL),
+                    "new WeakHashMap<Bundle, " + className + ">()");
+            writeEnumValuesFields(jw, fragment);
+
+            jw.emitEmptyLine();
+            for (ArgumentAnnotatedField arg : allArguments) {
+                if (supportAnnotations && !arg.isPrimitive()) {
+                    jw.emitAnnotation(arg.isRequired() ? "NonNull" : "Nullable");
+                }
+                jw.emitField(arg.getType(), arg.getVariableName(),
+                        EnumSet.of(Modifier.PUBLIC, Modifier.FINAL));
+            }
+            // One bit per optional argument that is present, used by the generated injector
+            boolean hasOptional = !fragment.getOptionalFields().isEmpty();
+            if (hasOptional) {
+                for (int i = 0; i < allArguments.size(); i += 64) {
+                    jw.emitField("long", getFlagsVariable(ARGS_CLASS_PRESENT_FLAGS, i),
+                            EnumSet.of(Modifier.FINAL));
+                }
+            }
+
+            // Constructor
+            jw.emitEmptyLine();
+            jw.beginMethod(null, className, EnumSet.of(Modifier.PRIVATE), "Bundle", "args");
+            writeReadPresenceFlags(jw, fragment, "args");
+            if (!fragment.getPackedArguments().isEmpty()) {
+                writeReadPackedArguments(jw, "args");
+            }
+            if (hasOptional) {
+                for (int i = 0; i < allArguments.size(); i += 64) {
+                    jw.emitStatement("long %s = 0", getFlagsVariable("present", i));
+                }
+            }
+            for (int i = 0; i < allArguments.size(); i++) {
+                ArgumentAnnotatedField arg = allArguments.get(i);
+                jw.emitEmptyLine();
+                String readExpression = getReadExpression(fragment, arg, "args");
+                if (arg.isRequired()) {
+                    writeRequiredCheck(jw, arg, getContainsExpression(fragment, arg, "args", false));
+                    jw.emitStatement("this.%s = %s", arg.getVariableName(), readExpression);
+                } else {
+                    jw.beginControlFlow("if (%s)",
+                            getContainsExpression(fragment, arg, "args", true));
+                    jw.emitStatement("this.%s = %s", arg.getVariableName(), readExpression);
+                    jw.emitStatement("%s |= %s", getFlagsVariable("present", i), getFlagsBit(i));
+                    jw.nextControlFlow("else");
+                    jw.emitStatement("this.%s = %s", arg.getVariableName(), getDefaultValue(arg));
+                    jw.endControlFlow();
+                }
+            }
+            if (hasOptional) {
+                jw.emitEmptyLine();
+                for (int i = 0; i < allArguments.size(); i += 64) {
+                    jw.emitStatement("this.%s = %s", getFlagsVariable(ARGS_CLASS_PRESENT_FLAGS, i),
+                            getFlagsVariable("present", i));
+                }
+            }
+            jw.endMethod();
+
+            // from(Bundle)
+            jw.emitEmptyLine();
+            if (supportAnnotations) jw.emitAnnotation("NonNull");
+            jw.beginMethod(className, "from", EnumSet.of(Modifier.PUBLIC, Modifier.STATIC),
+                    supportAnnotations ? "@NonNull Bundle" : "Bundle", "args");
+            jw.emitStatement("%s parsed", className);
+            jw.beginControlFlow("synchronized (CACHE)");
+            jw.emitStatement("parsed = CACHE.get(args)");
+            jw.endControlFlow();
+            jw.beginControlFlow("if (parsed == null)");
+            jw.emitStatement("parsed = new %s(args)", className);
+            jw.beginControlFlow("synchronized (CACHE)");
+            jw.emitStatement("CACHE.put(args, parsed)");
+            jw.endControlFlow();
+            jw.endControlFlow();
+            jw.emitStatement("return parsed");
+            jw.endMethod();
+
+            // from(Fragment)
+            jw.emitEmptyLine();
+            if (supportAnnotations) jw.emitAnnotation("NonNull");
+            jw.beginMethod(className, "from", EnumSet.of(Modifier.PUBLIC, Modifier.STATIC),
+                    supportAnnotations ? "@NonNull " + fragmentName : fragmentName, "fragment");
+            jw.emitStatement("Bundle args = fragment.getArguments()");
+            jw.beginControlFlow("if (args == null)");
+            jw.emitStatement(
+                    "throw new IllegalStateException(\"No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? \")");
+            jw.endControlFlow();
+            jw.emitStatement("return from(args)");
+            jw.endMethod();
+
+            jw.endType();
+        } finally {
+            jw.close();
+        }
+    }
+
+    /**
+     * Get the name of the variable holding the bit flag of the argument with the given index. Each
+     * variable holds 64 flags, i.e. index 70 is in "prefix1"
+     */
+    private static String getFlagsVariable(String prefix, int index) {
+        return prefix + (index / 64);
+    }
+
+    /**
+     * Get the bit (as java source code) of the argument with the given index in its flags variable
+     */
+    private static String getFlagsBit(int index) {
+        return "0x" + Long.toHexString(1L << (index % 64)) + "L";
+    }
+
+    /**
+     * The default value of the type of the given argument as java source code
+     */
+    private static String getDefaultValue(ArgumentAnnotatedField arg) {
+        if (!arg.isPrimitive()) {
+            return "null";
+        }
+        return arg.getTypeMirror().getKind() == TypeKind.BOOLEAN ? "false" : "0";
+    }
+
+    /**
+     * The name of a member field in generated classes holding the value of an argument, i.e.
+     * "mTitle"
+     */
+    private static String getMemberName(ArgumentAnnotatedField arg) {
+        return "m" + capitalize(arg.getVariableName());
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * Write the buildBundle() method
+     *
+     * @param jw The javawriter
+     * @throws IOException
+     */
+    private void writeBuildBundleMethod(JavaWriter jw, AnnotatedFragment fragment)
+            throws IOException {
+        if (supportAnnotations) jw.emitAnnotation("NonNull");
+        jw.beginMethod("Bundle", "buildBundle", EnumSet.of(Modifier.PUBLIC));
+        jw.emitStatement("checkNotTransferred()");
+        writePutBuilderState(jw, fragment);
+        jw.emitStatement("return new Bundle(mArguments)");
+        jw.endMethod();
+    }
+
+    /**
+     * Write the transferBundle() method that returns the arguments Bundle of the builder without
+     * copying it. Afterwards the builder can't be used anymore.
+     */
+    private void writeTransferBundleMethod(JavaWriter jw, AnnotatedFragment fragment)
+            throws IOException {
+        jw.emitJavadoc("Returns the arguments Bundle without copying it. This builder can't be used "
+                + "anymore afterwards.");
+        if (supportAnnotations) jw.emitAnnotation("NonNull");
+        jw.beginMethod("Bundle", "transferBundle", EnumSet.of(Modifier.PUBLIC));
+        jw.emitStatement("checkNotTransferred()");
+        if (fragment.isPrototype()) {
+            jw.emitStatement("checkNotFrozen()");
+        }
+        writePutBuilderState(jw, fragment);
+        jw.emitStatement("mTransferred = true");
+        jw.emitStatement("return mArguments");
+        jw.endMethod();
+    }
+
+    private void writeCheckNotTransferredMethod(JavaWriter jw) throws IOException {
+        jw.beginMethod("void", "checkNotTransferred", EnumSet.of(Modifier.PRIVATE));
+        jw.beginControlFlow("if (mTransferred)");
+        jw.emitStatement("throw new IllegalStateException(\"The arguments have already been "
+                + "transferred by transferBundle(), this builder can't be used anymore\")");
+        jw.endControlFlow();
+        jw.endMethod();
+    }
+
+    /**
+     * The number of entries of the arguments Bundle written by the builder (custom bundlers may
+     * put additional entries)
+     */
+    private static int getBundleCapacity(AnnotatedFragment fragment) {
+        int packed = fragment.getPackedArguments().size();
+        return fragment.getAll().size() - packed + (packed > 0 ? 1 : 0)
+                + getPresenceWords(fragment);
+    }
+
+    /**
+     * Writes the statements that put the presence bitmask and the packed primitive arguments of the
+     * builder into mArguments
+     */
+    private void writePutBuilderState(JavaWriter jw, AnnotatedFragment fragment)
+            throws IOException {
+        int presenceWords = getPresenceWords(fragment);
+        for (int i = 0; i < presenceWords; i++) {
+            jw.emitStatement("mArguments.putLong(%s, mPresence%d)",
+                    JavaWriter.stringLiteral(PRESENCE_FLAGS_KEY + i), i);
+        }
+        if (!fragment.getPackedArguments().isEmpty()) {
+            // Copy, the builder may be modified and build again
+            jw.emitStatement("mArguments.putLongArray(%s, mPacked.clone())",
+                    JavaWriter.stringLiteral(PACKED_ARGUMENTS_KEY));
+        }
+    }
+
+    /**
+     * Writes the declaration of the local variable holding the packed primitive arguments of the
+     * given Bundle, which is null if the Bundle has not been created by the builder
+     */
+    private void writeReadPackedArguments(JavaWriter jw, String bundleVariable)
+            throws IOException {
+        jw.emitStatement("long[] packed = %s.getLongArray(%s)", bundleVariable,
+                JavaWriter.stringLiteral(PACKED_ARGUMENTS_KEY));
+    }
+
+    /**
+     * Get the expression (java source code) that encodes the value of a primitive argument as long
+     */
+    private static String getPackExpression(ArgumentAnnotatedField arg, String sourceVariable) {
+        switch (arg.getTypeMirror().getKind()) {
+            case BOOLEAN:
+                return sourceVariable + " ? 1L : 0L";
+            case FLOAT:
+                return "Float.floatToRawIntBits(" + sourceVariable + ")";
+            case DOUBLE:
+                return "Double.doubleToRawLongBits(" + sourceVariable + ")";
+            default:
+                return sourceVariable;
+        }
+    }
+
+    /**
+     * Get the expression (java source code) that decodes the packed value of a primitive argument
+     */
+    private static String getUnpackExpression(ArgumentAnnotatedField arg, String packedValue) {
+        switch (arg.getTypeMirror().getKind()) {
+            case BOOLEAN:
+                return packedValue + " != 0";
+            case FLOAT:
+                return "Float.intBitsToFloat((int) " + packedValue + ")";
+            case DOUBLE:
+                return "Double.longBitsToDouble(" + packedValue + ")";
+            case LONG:
+                return packedValue;
+            default:
+                return "(" + arg.getType() + ") " + packedValue;
+        }
+    }
+
+    /**
+     * Writes the static method that reads a word of the presence bitmask from a Bundle. If the
+     * Bundle hasn't been created by the generated builder (i.e. a Bundle created manually), the
+     * bitmask is computed by checking the keys of the arguments. Like in builders before the
+     * bitmask, arguments with a custom bundler are checked by their marker: required ones by
+     * containsKey(), optional ones by getBoolean().
+     */
+    private void writeReadPresenceFlagsMethod(JavaWriter jw, AnnotatedFragment fragment, int word)
+            throws IOException {
+        jw.beginMethod("long", "readPresenceFlags" + word, EnumSet.of(Modifier.STATIC), "Bundle",
+                "args");
+        jw.emitStatement("long presence = args.getLong(%s, -1L)",
+                JavaWriter.stringLiteral(PRESENCE_FLAGS_KEY + word));
+        jw.beginControlFlow("if (presence < 0)");
+        jw.emitSingleLineComment("Bundle has not been created by the builder");
+        jw.emitStatement("presence = 0");
+        List<ArgumentAnnotatedField> flagged = fragment.getPresenceFlagArguments();
+        int end = Math.min(flagged.size(), (word + 1) * PRESENCE_FLAGS_PER_WORD);
+        for (int i = word * PRESENCE_FLAGS_PER_WORD; i < end; i++) {
+            ArgumentAnnotatedField arg = flagged.get(i);
+            if (!arg.hasCustomBundler()) {
+                jw.beginControlFlow("if (args.containsKey(%s))", getKeyExpression(fragment, arg));
+            } else if (arg.isRequired()) {
+                jw.beginControlFlow("if (args.containsKey(%s))",
+                        JavaWriter.stringLiteral(CUSTOM_BUNDLER_BUNDLE_KEY + arg.getKey()));
+            } else {
+                jw.beginControlFlow("if (args.getBoolean(%s))",
+                        JavaWriter.stringLiteral(CUSTOM_BUNDLER_BUNDLE_KEY + arg.getKey()));
+            }
+            jw.emitStatement("presence |= %s", getPresenceBit(i));
+            jw.endControlFlow();
+        }
+        jw.endControlFlow();
+        jw.emitStatement("return presence");
+        jw.endMethod();
+    }
+
+    /**
+     * Writes the declaration of the local variables holding the presence bitmask of the given
+     * Bundle
+     */
+    private void writeReadPresenceFlags(JavaWriter jw, AnnotatedFragment fragment,
+                                        String bundleVariable) throws IOException {
+        String builder = fragment.getBuilderName();
+        for (int i = 0; i < getPresenceWords(fragment); i++) {
+            jw.emitStatement("long presence%1$d = %2$s.readPresenceFlags%1$d(%3$s)", i, builder,
+                    bundleVariable);
+        }
+    }
+
+    /**
+     * Number of words of the presence bitmask
+     */
+    private static int getPresenceWords(AnnotatedFragment fragment) {
+        int flags = fragment.getPresenceFlagArguments().size();
+        return (flags + PRESENCE_FLAGS_PER_WORD - 1) / PRESENCE_FLAGS_PER_WORD;
+    }
+
+    /**
+     * Get the name of the variable holding the presence flag of the argument with the given index
+     */
+    private static String getPresenceVariable(String prefix, int index) {
+        return prefix + (index / PRESENCE_FLAGS_PER_WORD);
+    }
+
+    /**
+     * Get the presence flag (as java source code) of the argument with the given index
+     */
+    private static String getPresenceBit(int index) {
+        return "0x" + Long.toHexString(1L << (index % PRESENCE_FLAGS_PER_WORD)) + "L";
+    }
+
+    /**
+     * Scans a fragment for a given {@link FragmentWithArgs} annotation
+     *
+     * @param env             The round environment
+     * @param annotationClass The annotation (.class) to scan for
+     * @param fragmentClasses The set of classes already scanned (containing annotations)
+     * @throws ProcessingException
+     */
+    private void scanForAnnotatedFragmentClasses(RoundEnvironment env,
+                                                 Class<? extends Annotation> annotationClass, Set<TypeElement> fragmentClasses,
+                                                 Element element)
+            throws ProcessingException {
+
+        if (element.getKind() != ElementKind.CLASS) {
+            throw new ProcessingException(element, "%s can only be applied on Fragment classes",
+                    annotationClass.getSimpleName());
+        }
+
+        TypeElement classElement = (TypeElement) element;
+
+        // Check if its a fragment
+        if (!isFragmentClass(element)) {
+            throw new ProcessingException(element,
+                    "%s can only be used on fragments, but %s is not a subclass of fragment",
+                    annotationClass.getSimpleName(), classElement.getQualifiedName());
+        }
+
+        // Skip abstract classes
+        if (!classElement.getModifiers().contains(Modifier.ABSTRACT)) {
+            fragmentClasses.add(classElement);
+        }
+    }
+
+    /**
+     * Checks if the given element is in a valid Fragment class
+     */
+    private boolean isFragmentClass(Element classElement) {
+        List<TypeElement> fragmentTypeElements = Arrays.asList(TYPE_FRAGMENT, TYPE_SUPPORT_FRAGMENT, TYPE_ANDROIDX_FRAGMENT);
+
+        for (TypeElement fragmentTypeElement : fragmentTypeElements) {
+            if(fragmentTypeElement != null && typeUtils.isSubtype(classElement.asType(),
+                    fragmentTypeElement.asType())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean isClassAvailable(String className) {
+        try  {
+            Class.forName(className);
+            return true;
+        }  catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the AutoFragmentArgInjector. The fragments are dispatched by a switch on the hash code
+     * of the binary class name, so finding the builder is O(1) and no fragment class is loaded
+     * before it gets injected. The switch cases are spread over shard classes to stay far below the
+     * 64KB method size limit. If there is no builder for the class of the target, the super classes
+     * are used. The resolved class is cached per target class.
+     */
+    private void writeAutoMapping(List<AnnotatedFragment> fragments, Element[] element)
+            throws ProcessingException {
+
+        // Shard index -> hash code -> fragments (sorted to get a deterministic output)
+        int shardCount = getShardCount(fragments.size());
+        List<Map<Integer, List<AnnotatedFragment>>> shards =
+                new ArrayList<Map<Integer, List<AnnotatedFragment>>>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new TreeMap<Integer, List<AnnotatedFragment>>());
+        }
+
+        for (AnnotatedFragment fragment : fragments) {
+            int hash = getBinaryName(fragment).hashCode();
+            Map<Integer, List<AnnotatedFragment>> shard = shards.get(getShardIndex(hash, shardCount));
+            List<AnnotatedFragment> sameHash = shard.get(hash);
+            if (sameHash == null) {
+                sameHash = new ArrayList<AnnotatedFragment>(1);
+                shard.put(hash, sameHash);
+            }
+            sameHash.add(fragment);
+        }
+
+        try {
+            JavaFileObject jfo =
+                    filer.createSourceFile(FragmentArgs.AUTO_MAPPING_QUALIFIED_CLASS, element);
+            Writer writer = jfo.openWriter();
+            JavaWriter jw = new JavaWriter(writer);
+            // Package
+            jw.emitPackage(FragmentArgs.AUTO_MAPPING_PACKAGE);
+
+            jw.emitImports("java.util.Map", "java.util.concurrent.ConcurrentHashMap");
+            jw.emitEmptyLine();
+
+            // Class
+            jw.beginType(FragmentArgs.AUTO_MAPPING_CLASS_NAME, "class",
+                    EnumSet.of(Modifier.PUBLIC, Modifier.FINAL), null,
+                    FragmentArgsInjector.class.getCanonicalName());
+
+            // Cache: class of the target -> class that has a builder, Void.class if there is none
+            jw.emitEmptyLine();
+            jw.emitField("Map<Class<?>, Class<?>>", "injectableClasses",
+                    EnumSet.of(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL),
+                    "new ConcurrentHashMap<Class<?>, Class<?>>()");
+
+            jw.emitEmptyLine();
+            // The mapping Method
+            jw.emitAnnotation("Override");
+            jw.beginMethod("void", "inject", EnumSet.of(Modifier.PUBLIC), "Object", "target");
+            jw.emitStatement("Class<?> targetClass = target.getClass()");
+            jw.emitStatement("Class<?> injectableClass = injectableClasses.get(targetClass)");
+            jw.beginControlFlow("if (injectableClass != null)");
+            jw.beginControlFlow("if (injectableClass != Void.class)");
+            jw.emitStatement("String targetName = injectableClass.getName()");
+            jw.emitStatement("inject(targetName, targetName.hashCode(), target)");
+            jw.endControlFlow();
+            jw.emitStatement("return");
+            jw.endControlFlow();
+            jw.emitEmptyLine();
+            jw.emitSingleLineComment(
+                    "First injection of this class: Find the nearest (super) class with a builder");
+            jw.beginControlFlow(
+                    "for (Class<?> c = targetClass; c != null; c = c.getSuperclass())");
+            jw.emitStatement("String targetName = c.getName()");
+            jw.beginControlFlow("if (inject(targetName, targetName.hashCode(), target))");
+            jw.emitStatement("injectableClasses.put(targetClass, c)");
+            jw.emitStatement("return");
+            jw.endControlFlow();
+            jw.endControlFlow();
+            jw.emitStatement("injectableClasses.put(targetClass, Void.class)");
+            // End Mapping method
+            jw.endMethod();
+
+            if (shardCount > 1) {
+                jw.emitEmptyLine();
+                jw.beginMethod("boolean", "inject", EnumSet.of(Modifier.PRIVATE, Modifier.STATIC),
+                        "String", "targetName", "int", "hash", "Object", "target");
+                jw.beginControlFlow("switch ((hash & 0x7fffffff) %% %d)", shardCount);
+                for (int i = 0; i < shardCount; i++) {
+                    jw.beginControlFlow("case %d:", i);
+                    jw.emitStatement("return %s.inject(targetName, hash, target)",
+                            getShardClassName(i));
+                    jw.endControlFlow();
+                }
+                jw.endControlFlow();
+                jw.emitStatement("return false");
+                jw.endMethod();
+            }
+
+            if (shardCount == 1) {
+                jw.emitEmptyLine();
+                writeAutoMappingShardMethod(jw, shards.get(0));
+            }
+
+            jw.endType();
+            jw.close();
+
+            if (shardCount > 1) {
+                for (int i = 0; i < shardCount; i++) {
+                    writeAutoMappingShard(getShardClassName(i), shards.get(i), element);
+                }
+            }
+        } catch (IOException e) {
+            throw new ProcessingException(null,
+                    "Unable to write the automapping class for builder to fragment: %s: %s",
+                    FragmentArgs.AUTO_MAPPING_QUALIFIED_CLASS, e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the fragments listed in the indexes of all library modules on the classpath
+     *
+     * @param fragments The fragments of this module, indexed fragments will be added
+     * @param originating The originating elements, the index classes will be added
+     */
+    private void collectIndexedFragments(List<AnnotatedFragment> fragments,
+                                         List<Element> originating) {
+
+        Elements elementUtils = processingEnv.getElementUtils();
+        PackageElement indexPackage = elementUtils.getPackageElement(INDEX_PACKAGE);
+        if (indexPackage == null) {
+            return;
+        }
+
+        for (Element index : indexPackage.getEnclosedElements()) {
+            FragmentArgsIndex annotation = index.getAnnotation(FragmentArgsIndex.class);
+            if (annotation == null) {
+                continue;
+            }
+
+            originating.add(index);
+            for (String fragmentName : annotation.value()) {
+                TypeElement fragmentClass = elementUtils.getTypeElement(fragmentName);
+                if (fragmentClass == null) {
+                    warn(index, "Fragment %s listed in %s could not be found", fragmentName, index);
+                    continue;
+                }
+
+                AnnotatedFragment fragment = new AnnotatedFragment(fragmentClass);
+                if (!fragments.contains(fragment)) {
+                    fragments.add(fragment);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the index of a library module. This is an empty class annotated with {@link
+     * FragmentArgsIndex} that lists all fragments of this module. The application module reads
+     * the index at compile time and includes the fragments in its AutoFragmentArgInjector.
+     */
+    private void writeIndex(List<AnnotatedFragment> fragments, Element[] element)
+            throws ProcessingException {
+
+        List<String> fragmentNames = new ArrayList<String>(fragments.size());
+        for (AnnotatedFragment fragment : fragments) {
+            fragmentNames.add(fragment.getQualifiedName());
+        }
+        Collections.sort(fragmentNames);
+
+        String indexClassName = INDEX_CLASS_NAME + getModuleName(fragmentNames);
+
+        try {
+            JavaFileObject jfo =
+                    filer.createSourceFile(INDEX_PACKAGE + "." + indexClassName, element);
+            Writer writer = jfo.openWriter();
+            JavaWriter jw = new JavaWriter(writer);
+            jw.emitPackage(INDEX_PACKAGE);
+
+            Object[] names = new Object[fragmentNames.size()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = JavaWriter.stringLiteral(fragmentNames.get(i));
+            }
+
+            jw.emitAnnotation(FragmentArgsIndex.class, names);
+            jw.beginType(indexClassName, "class", EnumSet.of(Modifier.PUBLIC, Modifier.FINAL));
+            jw.emitEmptyLine();
+            jw.beginMethod(null, indexClassName, EnumSet.of(Modifier.PRIVATE));
+            jw.endMethod();
+            jw.endType();
+            jw.close();
+        } catch (IOException e) {
+            throw new ProcessingException(null, "Unable to write the index class %s: %s",
+                    INDEX_PACKAGE + "." + indexClassName, e.getMessage());
+        }
+    }
+
+    /**
+     * Get the module name from the annotation processor options. If no module name is specified
+     * a name is derived from the fragments of this module.
+     */
+    private String getModuleName(List<String> fragmentNames) {
+        String moduleName = processingEnv.getOptions().get(OPTION_MODULE_NAME);
+        if (moduleName == null || moduleName.length() == 0) {
+            return Integer.toHexString(fragmentNames.hashCode());
+        }
+
+        StringBuilder builder = new StringBuilder(moduleName.length());
+        for (int i = 0; i < moduleName.length(); i++) {
+            char c = moduleName.charAt(i);
+            builder.append(Character.isJavaIdentifierPart(c) ? c : '_');
+        }
+        return builder.toString();
+    }
+
+    private void writeAutoMappingShard(String shardClassName,
+                                       Map<Integer, List<AnnotatedFragment>> shard, Element[] element)
+            throws IOException {
+
+        JavaFileObject jfo = filer.createSourceFile(
+                FragmentArgs.AUTO_MAPPING_PACKAGE + "." + shardClassName, element);
+        Writer writer = jfo.openWriter();
+        JavaWriter jw = new JavaWriter(writer);
+        jw.emitPackage(FragmentArgs.AUTO_MAPPING_PACKAGE);
+        jw.beginType(shardClassName, "class", EnumSet.of(Modifier.FINAL));
+        jw.emitEmptyLine();
+        writeAutoMappingShardMethod(jw, shard);
+        jw.endType();
+        jw.close();
+    }
+
+    /**
+     * Writes the static inject method of a shard. Fragments are compared by their binary class name
+     * as String literal, so the fragment class is only referenced in the matching branch.
+     */
+    private void writeAutoMappingShardMethod(JavaWriter jw,
+                                             Map<Integer, List<AnnotatedFragment>> shard)
+            throws IOException {
+
+        jw.beginMethod("boolean", "inject", EnumSet.of(Modifier.STATIC), "String", "targetName",
+                "int", "hash", "Object", "target");
+
+        if (!shard.isEmpty()) {
+            jw.beginControlFlow("switch (hash)");
+            for (Map.Entry<Integer, List<AnnotatedFragment>> entry : shard.entrySet()) {
+                jw.beginControlFlow("case %d:", entry.getKey());
+                for (AnnotatedFragment fragment : entry.getValue()) {
+                    jw.beginControlFlow("if (%s.equals(targetName))",
+                            JavaWriter.stringLiteral(getBinaryName(fragment)));
+                    jw.emitStatement("%s.injectArguments((%s) target)",
+                            fragment.getQualifiedBuilderName(), fragment.getQualifiedName());
+                    jw.emitStatement("return true");
+                    jw.endControlFlow();
+                }
+                jw.emitStatement("return false");
+                jw.endControlFlow();
+            }
+            jw.endControlFlow();
+        }
+
+        jw.emitStatement("return false");
+        jw.endMethod();
+    }
+
+    private static String getShardClassName(int shardIndex) {
+        return FragmentArgs.AUTO_MAPPING_CLASS_NAME + "$$Shard" + shardIndex;
+    }
+
+    /**
+     * The number of shards of the AutoFragmentArgInjector, at least 1. With more than one shard the
+     * switch cases are written to the shard classes.
+     */
+    static int getShardCount(int fragmentCount) {
+        return Math.max(1, (fragmentCount + MAX_FRAGMENTS_PER_SHARD - 1) / MAX_FRAGMENTS_PER_SHARD);
+    }
+
+    private static int getShardIndex(int hash, int shardCount) {
+        return (hash & 0x7fffffff) % shardCount;
+    }
+
+    /**
+     * The binary name of the fragment class, the same as {@link Class#getName()} returns at runtime
+     */
+    private String getBinaryName(AnnotatedFragment fragment) {
+        return processingEnv.getElementUtils().getBinaryName(fragment.getClassElement()).toString();
+    }
+
+    private void writeNewFragmentWithRequiredMethod(String builder, TypeElement element,
+                                                    JavaWriter jw, String[] args) throws IOException {
+
+        if (supportAnnotations) jw.emitAnnotation("NonNull");
+        jw.beginMethod(element.getQualifiedName().toString(), "new" + element.getSimpleName(),
+                EnumSet.of(Modifier.STATIC, Modifier.PUBLIC), args);
+        StringBuilder argNames = new StringBuilder();
+        for (int i = 1; i < args.length; i += 2) {
+            argNames.append(args[i]);
+            if (i < args.length - 1) {
+                argNames.append(", ");
+            }
+        }
+        jw.emitStatement("return new %1$s(%2$s).build()", builder, argNames);
+        jw.endMethod();
+    }
 
-            // Private fields and non-public fields from a different package need a setter method
-            boolean useSetter = modifiers.contains(Modifier.PRIVATE)
-                    || (!getPackage(fragment.getClassElement()).equals(getPackage(field.getElement())) && !modifiers.contains(Modifier.PUBLIC));
+    /**
+     * Get the parameters (type and name) of the static factory methods taking all arguments:
+     * required arguments first, followed by the optional arguments. Optional primitive arguments
+     * are boxed, null means not set.
+     */
+    private String[] getAllArgumentsParameters(AnnotatedFragment fragment) {
+        List<String> parameters = new ArrayList<String>();
+        for (ArgumentAnnotatedField arg : fragment.getRequiredFields()) {
+            boolean annotate = supportAnnotations && !arg.isPrimitive();
+            parameters.add(annotate ? "@NonNull " + arg.getType() : arg.getType());
+            parameters.add(arg.getVariableName());
+        }
+        for (ArgumentAnnotatedField arg : fragment.getOptionalFields()) {
+            String type = arg.getType();
+            if (arg.isPrimitive()) {
+                type = processingEnv.getTypeUtils()
+                        .boxedClass((PrimitiveType) arg.getTypeMirror())
+                        .getQualifiedName().toString();
+            }
+            parameters.add(supportAnnotations ? "@Nullable " + type : type);
+            parameters.add(arg.getVariableName());
+        }
+        return parameters.toArray(new String[parameters.size()]);
+    }
 
-            if (useSetter) {
-                ExecutableElement setterMethodElement = fragment.findSetterForField(field);
-                setterMethod = setterMethodElement.getSimpleName().toString();
+    /**
+     * Writes the static bundleX() method that puts all arguments directly into a pre-sized Bundle,
+     * without creating a builder
+     */
+    private void writeBundleWithAllArgumentsMethod(JavaWriter jw, AnnotatedFragment fragment)
+            throws IOException, ProcessingException {
+        TypeElement fragmentClass = fragment.getClassElement();
+        jw.emitJavadoc("Creates the arguments Bundle without creating a builder. Optional "
+                + "arguments that are null are not set.");
+        if (supportAnnotations) jw.emitAnnotation("NonNull");
+        jw.beginMethod("Bundle", "bundle" + fragmentClass.getSimpleName(),
+                EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), getAllArgumentsParameters(fragment));
+        jw.emitStatement("Bundle bundle = new Bundle(%d)", getBundleCapacity(fragment));
+        int presenceWords = getPresenceWords(fragment);
+        for (int i = 0; i < presenceWords; i++) {
+            jw.emitStatement("long presence%d = 0", i);
+        }
+        int packedArguments = fragment.getPackedArguments().size();
+        if (packedArguments > 0) {
+            jw.emitStatement("long[] packed = new long[%d]", packedArguments);
+        }
+        for (ArgumentAnnotatedField arg : fragment.getRequiredFields()) {
+            writePutArguments(jw, fragment, arg.getVariableName(), "bundle", "presence", "packed",
+                    false, false, arg);
+        }
+        for (ArgumentAnnotatedField arg : fragment.getOptionalFields()) {
+            writePutArguments(jw, fragment, arg.getVariableName(), "bundle", "presence", "packed",
+                    true, false, arg);
+        }
+        jw.emitEmptyLine();
+        for (int i = 0; i < presenceWords; i++) {
+            jw.emitStatement("bundle.putLong(%s, presence%d)",
+                    JavaWriter.stringLiteral(PRESENCE_FLAGS_KEY + i), i);
+        }
+        if (packedArguments > 0) {
+            jw.emitStatement("bundle.putLongArray(%s, packed)",
+                    JavaWriter.stringLiteral(PACKED_ARGUMENTS_KEY));
+        }
+        jw.emitStatement("return bundle");
+        jw.endMethod();
+    }
+
+    /**
+     * Writes the static newX() method taking all arguments, which sets the Bundle created by
+     * bundleX() as arguments
+     */
+    private void writeNewFragmentWithAllArgumentsMethod(JavaWriter jw, AnnotatedFragment fragment)
+            throws IOException {
+        TypeElement fragmentClass = fragment.getClassElement();
+        String[] parameters = getAllArgumentsParameters(fragment);
+        StringBuilder argNames = new StringBuilder();
+        for (int i = 1; i < parameters.length; i += 2) {
+            if (argNames.length() > 0) {
+                argNames.append(", ");
             }
+            argNames.append(parameters[i]);
+        }
 
-            // Args Bundler
-            if (field.hasCustomBundler()) {
+        if (supportAnnotations) jw.emitAnnotation("NonNull");
+        jw.beginMethod(fragmentClass.getQualifiedName().toString(),
+                "new" + fragmentClass.getSimpleName(), EnumSet.of(Modifier.PUBLIC, Modifier.STATIC),
+                parameters);
+        jw.emitStatement("%1$s fragment = new %1$s()", fragmentClass.getSimpleName());
+        jw.emitStatement("fragment.setArguments(bundle%s(%s))", fragmentClass.getSimpleName(),
+                argNames);
+        jw.emitStatement("return fragment");
+        jw.endMethod();
+    }
 
-                String setterAssignmentHelperStr = null;
-                String assignmentStr;
-                if (useSetter) {
-                    setterAssignmentHelperStr = field.getType()
-                            + " value"
-                            + setterAssignmentHelperCounter
-                            + " =  %s.get(\"%s\", args)";
-                    assignmentStr = "fragment.%s( value" + setterAssignmentHelperCounter + " )";
-                    setterAssignmentHelperCounter++;
-                } else {
-                    assignmentStr = "fragment.%s = %s.get(\"%s\", args)";
-                }
+    private void writeBuildMethod(JavaWriter jw, TypeElement element, AnnotatedFragment fragment)
+            throws IOException {
+        if (supportAnnotations) {
+            jw.emitAnnotation("NonNull");
+        }
 
-                // Required
-                if (field.isRequired()) {
-                    jw.beginControlFlow("if (!args.containsKey(" + JavaWriter.stringLiteral(
-                            CUSTOM_BUNDLER_BUNDLE_KEY + field.getKey()) + "))");
-                    jw.emitStatement("throw new IllegalStateException(\"required argument %1$s is not set\")",
-                            field.getKey());
-                    jw.endControlFlow();
-                    if (useSetter) {
-                        jw.emitStatement(setterAssignmentHelperStr, field.getBundlerFieldName(),
-                                field.getKey());
-                        jw.emitStatement(assignmentStr, setterMethod);
-                    } else {
-                        jw.emitStatement(assignmentStr, field.getName(),
-                                field.getBundlerFieldName(), field.getKey());
-                    }
-                } else {
-                    // not required bundler
-                    jw.beginControlFlow("if (args.getBoolean(" + JavaWriter.stringLiteral(
-                            CUSTOM_BUNDLER_BUNDLE_KEY + field.getKey()) + "))");
-
-                    if (useSetter) {
-                        jw.emitStatement(setterAssignmentHelperStr, field.getBundlerFieldName(),
-                                field.getKey());
-                        jw.emitStatement(assignmentStr, setterMethod);
-                    } else {
-                        jw.emitStatement(assignmentStr, field.getName(),
-                                field.getBundlerFieldName(), field.getKey());
-                    }
+        jw.beginMethod(element.getSimpleName().toString(), "build", EnumSet.of(Modifier.PUBLIC));
+        jw.emitStatement("checkNotTransferred()");
+        jw.emitStatement("%1$s fragment = new %1$s()", element.getSimpleName().toString());
+        if (fragment.isPrototype()) {
+            jw.beginControlFlow("if (mFrozen)");
+            jw.emitSingleLineComment("The prototype stays unchanged");
+            jw.emitStatement("fragment.setArguments(new Bundle(mArguments))");
+            jw.emitStatement("return fragment");
+            jw.endControlFlow();
+        }
+        writePutBuilderState(jw, fragment);
+        jw.emitStatement("fragment.setArguments(mArguments)");
+        jw.emitStatement("return fragment");
+        jw.endMethod();
+    }
 
-                    jw.endControlFlow();
-                }
+    /**
+     * Writes the methods of builders supporting prototypes: builder methods for required arguments,
+     * freeze(), derive() and buildAllWith...() for each argument
+     *
+     * @see FragmentWithArgs#prototype()
+     */
+    private void writePrototypeMethods(JavaWriter jw, AnnotatedFragment fragment)
+            throws IOException, ProcessingException {
+        String builderName = fragment.getBuilderName();
+        String fragmentName = fragment.getClassElement().getSimpleName().toString();
+        int presenceWords = getPresenceWords(fragment);
+        int packedArguments = fragment.getPackedArguments().size();
+
+        for (ArgumentAnnotatedField arg : fragment.getRequiredFields()) {
+            writeBuilderMethod(builderName, jw, fragment, arg);
+        }
+
+        // Copy constructor used by derive()
+        jw.emitEmptyLine();
+        jw.beginMethod(null, builderName, EnumSet.of(Modifier.PRIVATE), builderName, "prototype");
+        jw.emitStatement("mArguments.putAll(prototype.mArguments)");
+        for (int i = 0; i < presenceWords; i++) {
+            jw.emitStatement("mPresence%1$d = prototype.mPresence%1$d", i);
+        }
+        if (packedArguments > 0) {
+            jw.emitStatement("System.arraycopy(prototype.mPacked, 0, mPacked, 0, %d)",
+                    packedArguments);
+        }
+        jw.endMethod();
+
+        // freeze()
+        jw.emitEmptyLine();
+        jw.emitJavadoc("Turns this builder into an immutable prototype. Builder methods throw an "
+                + "exception afterwards, {@link #build()} can be called again and again and "
+                + "{@link #derive()} creates a new builder with the arguments of this prototype.");
+        if (supportAnnotations) jw.emitAnnotation("NonNull");
+        jw.beginMethod(builderName, "freeze", EnumSet.of(Modifier.PUBLIC));
+        jw.emitStatement("checkNotTransferred()");
+        jw.beginControlFlow("if (!mFrozen)");
+        writePutBuilderState(jw, fragment);
+        jw.emitStatement("mFrozen = true");
+        jw.endControlFlow();
+        jw.emitStatement("return this");
+        jw.endMethod();
+
+        // derive()
+        jw.emitEmptyLine();
+        jw.emitJavadoc("Creates a new builder with a copy of the arguments of this builder");
+        if (supportAnnotations) jw.emitAnnotation("NonNull");
+        jw.beginMethod(builderName, "derive", EnumSet.of(Modifier.PUBLIC));
+        jw.emitStatement("checkNotTransferred()");
+        jw.emitStatement("return new %s(this)", builderName);
+        jw.endMethod();
+
+        // buildAllWith...()
+        for (ArgumentAnnotatedField arg : fragment.getAllSorted()) {
+            String valuesType;
+            String valueType;
+            if (arg.isPrimitive()) {
+                valuesType = arg.getType() + "[]";
+                valueType = arg.getType();
             } else {
+                valuesType = "Collection<? extends " + arg.getType() + ">";
+                valueType = arg.getType();
+            }
+            String valuesSize = arg.isPrimitive() ? "values.length" : "values.size()";
 
-                // Build in functions
-                String op = getOperation(field);
-                if (op == null) {
-                    throw new ProcessingException(element,
-                            "Can't write injector, the type is not supported by default. "
-                                    + "However, You can provide your own implementation by providing an %s like this: @Arg( bundler = YourBundler.class )",
-                            ArgsBundler.class.getSimpleName());
+            jw.emitEmptyLine();
+            jw.emitJavadoc("Creates one fragment for each of the given values of %s. All other "
+                    + "arguments are the arguments of this builder.%s", arg.getVariableName(),
+                    !arg.isPrimitive() && !arg.isRequired()
+                            ? " A null value creates a fragment without " + arg.getVariableName()
+                            + ", even if this builder has one."
+                            : "");
+            if (supportAnnotations) jw.emitAnnotation("NonNull");
+            jw.beginMethod("List<" + fragmentName + ">",
+                    "buildAllWith" + capitalize(arg.getVariableName()), EnumSet.of(Modifier.PUBLIC),
+                    supportAnnotations ? "@NonNull " + valuesType : valuesType, "values");
+            jw.emitStatement("checkNotTransferred()");
+            writePutBuilderState(jw, fragment);
+            jw.emitStatement("List<%1$s> fragments = new ArrayList<%1$s>(%2$s)", fragmentName,
+                    valuesSize);
+            jw.beginControlFlow("for (%s value : values)", valueType);
+            jw.emitStatement("Bundle bundle = new Bundle(mArguments)");
+            boolean flagged = fragment.getPresenceFlagArguments().contains(arg);
+            boolean packed = fragment.getPackedArguments().contains(arg);
+            if (flagged) {
+                for (int i = 0; i < presenceWords; i++) {
+                    jw.emitStatement("long presence%1$d = mPresence%1$d", i);
                 }
-
-                String cast = "Serializable".equals(op) ? "(" + field.getType() + ") " : "";
-                if (!field.isRequired()) {
-                    jw.beginControlFlow(
-                            "if (args != null && args.containsKey("
-                                    + JavaWriter.stringLiteral(field.getKey())
-                                    + "))");
-                } else {
-                    jw.beginControlFlow(
-                            "if (!args.containsKey(" + JavaWriter.stringLiteral(field.getKey()) + "))");
-                    jw.emitStatement("throw new IllegalStateException(\"required argument %1$s is not set\")",
-                            field.getKey());
-                    jw.endControlFlow();
+            }
+            if (packed) {
+                jw.emitStatement("long[] packed = mPacked.clone()");
+            }
+            // An explicit null replaces the value of the prototype
+            writePutArguments(jw, fragment, "value", "bundle", "presence", "packed",
+                    !arg.isPrimitive() && !arg.isRequired(), true, arg);
+            if (flagged || packed) {
+                jw.emitEmptyLine();
+            }
+            if (flagged) {
+                for (int i = 0; i < presenceWords; i++) {
+                    jw.emitStatement("bundle.putLong(%s, presence%d)",
+                            JavaWriter.stringLiteral(PRESENCE_FLAGS_KEY + i), i);
                 }
+            }
+            if (packed) {
+                jw.emitStatement("bundle.putLongArray(%s, packed)",
+                        JavaWriter.stringLiteral(PACKED_ARGUMENTS_KEY));
+            }
+            jw.emitStatement("%1$s fragment = new %1$s()", fragmentName);
+            jw.emitStatement("fragment.setArguments(bundle)");
+            jw.emitStatement("fragments.add(fragment)");
+            jw.endControlFlow();
+            jw.emitStatement("return fragments");
+            jw.endMethod();
+        }
 
-                if (useSetter) {
-                    jw.emitStatement(
-                            "%1$s value" + setterAssignmentHelperCounter + " = %4$sargs.get%2$s(\"%3$s\")",
-                            field.getType(), op,
-                            field.getKey(), cast);
-                    jw.emitStatement("fragment.%1$s(value" + setterAssignmentHelperCounter + ")",
-                            setterMethod);
-                    setterAssignmentHelperCounter++;
-                } else {
-                    jw.emitStatement("fragment.%1$s = %4$sargs.get%2$s(\"%3$s\")", field.getName(), op,
-                            field.getKey(), cast);
+        jw.emitEmptyLine();
+        jw.beginMethod("void", "checkNotFrozen", EnumSet.of(Modifier.PRIVATE));
+        jw.beginControlFlow("if (mFrozen)");
+        jw.emitStatement("throw new IllegalStateException(\"This builder is a frozen prototype, "
+                + "use derive() to create a builder that can be modified\")");
+        jw.endControlFlow();
+        jw.endMethod();
+    }
+
+    private void writeInjectMethod(JavaWriter jw, TypeElement element,
+                                   AnnotatedFragment fragment) throws IOException, ProcessingException {
+
+        Set<ArgumentAnnotatedField> allArguments = fragment.getAll();
+
+        String fragmentType = supportAnnotations ? "@NonNull " + element.getSimpleName().toString()
+                : element.getSimpleName().toString();
+
+        jw.beginMethod("void", "injectArguments",
+                EnumSet.of(Modifier.PUBLIC, Modifier.FINAL, Modifier.STATIC),
+                fragmentType, "fragment");
+
+
+        jw.emitStatement("Bundle args = fragment.getArguments()");
+
+        // Check if bundle is null only if at least one required field
+        jw.beginControlFlow("if (args == null)");
+        jw.emitStatement(
+                "throw new IllegalStateException(\"No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? \")");
+        jw.endControlFlow();
+
+        if (fragment.isSkipUnchangedArguments()) {
+            jw.emitEmptyLine();
+            jw.beginControlFlow("synchronized (injectedArguments)");
+            jw.beginControlFlow("if (injectedArguments.get(fragment) == args)");
+            jw.emitSingleLineComment("Already injected");
+            jw.emitStatement("return");
+            jw.endControlFlow();
+            jw.endControlFlow();
+        }
+
+
+        List<ArgumentAnnotatedField> sortedArguments = fragment.getAllSorted();
+        if (fragment.isRetainArguments()) {
+            jw.emitEmptyLine();
+            jw.emitSingleLineComment("Parsed only once per Bundle instance");
+            jw.emitStatement("%s retained = %s.from(args)", fragment.getArgsName(),
+                    fragment.getArgsName());
+        } else {
+            boolean readPresenceFlags = usesPresenceFlags(fragment);
+            boolean readPacked = !fragment.getPackedArguments().isEmpty();
+            if (readPresenceFlags || readPacked) {
+                jw.emitEmptyLine();
+            }
+            if (readPresenceFlags) {
+                writeReadPresenceFlags(jw, fragment, "args");
+            }
+            if (readPacked) {
+                writeReadPackedArguments(jw, "args");
+            }
+        }
+
+        int setterAssignmentHelperCounter = 0;
+        for (ArgumentAnnotatedField field : allArguments) {
+            jw.emitEmptyLine();
+
+            // Check if the given setter is available
+            String setterMethod = null;
+            boolean useSetter = useSetter(fragment, field);
+            if (useSetter) {
+                ExecutableElement setterMethodElement = fragment.findSetterForField(field);
+                setterMethod = setterMethodElement.getSimpleName().toString();
+            }
+
+            if (releaseChecks && !fragment.isRetainArguments()) {
+                int helperVariables = writeReleaseAssignment(jw, fragment, field, setterMethod,
+                        setterAssignmentHelperCounter);
+                if (helperVariables >= 0) {
+                    setterAssignmentHelperCounter += helperVariables;
+                    continue;
                 }
+            }
 
-                if (!field.isRequired()) {
-                    jw.endControlFlow();
+            String readExpression;
+            String containsExpression;
+            if (fragment.isRetainArguments()) {
+                // Required arguments have already been checked while parsing
+                int index = sortedArguments.indexOf(field);
+                readExpression = "retained." + field.getVariableName();
+                containsExpression = String.format("(retained.%s & %s) != 0",
+                        getFlagsVariable(ARGS_CLASS_PRESENT_FLAGS, index), getFlagsBit(index));
+            } else {
+                readExpression = getReadExpression(fragment, field, "args");
+                containsExpression = getContainsExpression(fragment, field, "args", true);
+                if (field.isRequired()) {
+                    writeRequiredCheck(jw, field,
+                            getContainsExpression(fragment, field, "args", false));
                 }
             }
+
+            if (!field.isRequired()) {
+                jw.beginControlFlow("if (%s)", containsExpression);
+            }
+
+            if (useSetter) {
+                jw.emitStatement("%s value%d = %s", field.getType(), setterAssignmentHelperCounter,
+                        readExpression);
+                jw.emitStatement("fragment.%s(value%d)", setterMethod,
+                        setterAssignmentHelperCounter);
+                setterAssignmentHelperCounter++;
+            } else {
+                jw.emitStatement("fragment.%s = %s", field.getName(), readExpression);
+            }
+
+            if (!field.isRequired()) {
+                jw.endControlFlow();
+            }
+        }
+
+        if (fragment.isSkipUnchangedArguments()) {
+            jw.emitEmptyLine();
+            jw.beginControlFlow("synchronized (injectedArguments)");
+            jw.emitStatement("injectedArguments.put(fragment, args)");
+            jw.endControlFlow();
         }
         jw.endMethod();
     }
 
-    private void writeBuilderMethod(String type, JavaWriter writer, ArgumentAnnotatedField arg)
+    /**
+     * Private fields and non-public fields from a different package need a setter method
+     */
+    private boolean useSetter(AnnotatedFragment fragment, ArgumentAnnotatedField field) {
+        Set<Modifier> modifiers = field.getElement().getModifiers();
+        return modifiers.contains(Modifier.PRIVATE)
+                || (!getPackage(fragment.getClassElement()).equals(getPackage(field.getElement()))
+                && !modifiers.contains(Modifier.PUBLIC));
+    }
+
+    /**
+     * Checks if the generated injector tests flags of the presence bitmask. In release mode
+     * optional arguments are read by a single lookup without presence check (see {@link
+     * #writeReleaseAssignment(JavaWriter, AnnotatedFragment, ArgumentAnnotatedField, String,
+     * int)}).
+     */
+    private boolean usesPresenceFlags(AnnotatedFragment fragment) {
+        List<ArgumentAnnotatedField> packed = fragment.getPackedArguments();
+        for (ArgumentAnnotatedField field : fragment.getPresenceFlagArguments()) {
+            if (!releaseChecks || (!field.isRequired() && (field.hasCustomBundler()
+                    || packed.contains(field) || getEnumOperation(field) != null
+                    || (field.isPrimitive() && useSetter(fragment, field))))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the assignment of an argument without runtime validation, which is used in release
+     * mode (see {@link #OPTION_CHECKS}). Each argument is read by a single lookup in the bundle:
+     * <ul>
+     * <li>Required arguments are read without checking if they are set</li>
+     * <li>Optional primitive fields are read with the current value of the field as default
+     * value</li>
+     * <li>Optional objects are only assigned if the value in the bundle is not null</li>
+     * </ul>
+     *
+     * @return The number of used helper variables or -1 if the argument can't be read by a single
+     * lookup (optional primitive set by a setter method, packed optional primitive, optional enum
+     * or optional argument with custom bundler), the presence flag has to be checked in that case
+     */
+    private int writeReleaseAssignment(JavaWriter jw, AnnotatedFragment fragment,
+                                       ArgumentAnnotatedField field, String setterMethod,
+                                       int setterAssignmentHelperCounter)
+            throws IOException, ProcessingException {
+
+        String readExpression;
+        if (field.isRequired()) {
+            readExpression = getReadExpression(fragment, field, "args");
+        } else if (field.hasCustomBundler() || getEnumOperation(field) != null) {
+            return -1;
+        } else if (field.isPrimitive()) {
+            if (setterMethod != null || fragment.getPackedArguments().contains(field)) {
+                return -1;
+            }
+            jw.emitStatement("fragment.%1$s = args.get%2$s(%3$s, fragment.%1$s)", field.getName(),
+                    getOperation(field), getKeyExpression(fragment, field));
+            return 0;
+        } else if (isBoxedPrimitive(field)) {
+            // The typed getters of boxed types return the primitive default value if not set
+            readExpression = String.format("(%s) args.get(%s)", field.getType(),
+                    getKeyExpression(fragment, field));
+        } else {
+            readExpression = getReadExpression(fragment, field, "args");
+        }
+
+        if (field.isRequired()) {
+            if (setterMethod != null) {
+                jw.emitStatement("%s value%d = %s", field.getType(), setterAssignmentHelperCounter,
+                        readExpression);
+                jw.emitStatement("fragment.%s(value%d)", setterMethod,
+                        setterAssignmentHelperCounter);
+                return 1;
+            }
+            jw.emitStatement("fragment.%s = %s", field.getName(), readExpression);
+            return 0;
+        } else {
+            jw.emitStatement("%s value%d = %s", field.getType(), setterAssignmentHelperCounter,
+                    readExpression);
+            jw.beginControlFlow("if (value%d != null)", setterAssignmentHelperCounter);
+            if (setterMethod != null) {
+                jw.emitStatement("fragment.%s(value%d)", setterMethod,
+                        setterAssignmentHelperCounter);
+            } else {
+                jw.emitStatement("fragment.%s = value%d", field.getName(),
+                        setterAssignmentHelperCounter);
+            }
+            jw.endControlFlow();
+            return 1;
+        }
+    }
+
+    /**
+     * Checks if the type of the given argument is a boxed primitive like {@link Integer}
+     */
+    private boolean isBoxedPrimitive(ArgumentAnnotatedField field) {
+        try {
+            processingEnv.getTypeUtils().unboxedType(field.getTypeMirror());
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Get the expression to read the value of the given argument from the bundle
+     *
+     * @param field The argument
+     * @param bundleVariable The name of the Bundle variable
+     * @return The expression
+     * @throws ProcessingException if the type of the argument is not supported
+     */
+    private String getReadExpression(AnnotatedFragment fragment, ArgumentAnnotatedField field,
+                                     String bundleVariable) throws ProcessingException {
+
+        // Packed primitives, the local variable packed is declared by writeReadPackedArguments()
+        int packedIndex = fragment.getPackedArguments().indexOf(field);
+        if (packedIndex >= 0) {
+            return String.format("packed != null ? %s : %s.get%s(%s)",
+                    getUnpackExpression(field, "packed[" + packedIndex + "]"), bundleVariable,
+                    getOperation(field), getKeyExpression(fragment, field));
+        }
+
+        // Args Bundler
+        if (field.hasCustomBundler()) {
+            return getBundlerReadExpression(field, getKeyExpression(fragment, field),
+                    bundleVariable, fragment.getBuilderName());
+        }
+
+        return getOperationReadExpression(field, getKeyExpression(fragment, field), bundleVariable,
+                getEnumValuesFields(fragment.getAllSorted()), fragment.getBuilderName());
+    }
+
+    /**
+     * Get the expression to read an argument from the bundle by the built in Bundle operations
+     *
+     * @param enumValuesFields The fields caching the constants of enums, see {@link
+     * #getEnumValuesFields(Collection)}
+     * @param mapHelperClass The class containing the methods written by {@link
+     * #writeMapHelperMethods(JavaWriter, Collection, String)}
+     * @throws ProcessingException if the type of the argument is not supported
+     */
+    private String getOperationReadExpression(ArgumentAnnotatedField field, String key,
+                                              String bundleVariable,
+                                              Map<String, String> enumValuesFields,
+                                              String mapHelperClass)
+            throws ProcessingException {
+
+        if (getMapValues(field) != null) {
+            return String.format("%s.%s(%s.getBundle(%s))", mapHelperClass,
+                    getMapHelperMethodName("read", field), bundleVariable, key);
+        }
+
+        if (getEnumOperation(field) != null) {
+            return getEnumReadExpression(field, key, bundleVariable, enumValuesFields);
+        }
+
+        // Build in functions
+        String op = getOperation(field);
+        if (op == null) {
+            throw new ProcessingException(field.getElement(),
+                    "Can't write injector, the type is not supported by default. "
+                            + "However, You can provide your own implementation by providing an %s like this: @Arg( bundler = YourBundler.class )",
+                    ArgsBundler.class.getSimpleName());
+        }
+
+        if ("ParcelableArray".equals(op) && !"android.os.Parcelable".equals(field.getRawType())) {
+            return String.format("%s.toParcelableArray(%s.getParcelableArray(%s), %s.class)",
+                    BUNDLE_ARGS, bundleVariable, key, field.getType());
+        }
+
+        boolean cast = "Serializable".equals(op)
+                || ("Binder".equals(op) && !"android.os.IBinder".equals(field.getType()));
+        return String.format("%s%s.get%s(%s)", cast ? "(" + field.getType() + ") " : "",
+                bundleVariable, op, key);
+    }
+
+    /**
+     * Get the expression that checks if the given argument has been put into the bundle. Arguments
+     * with a flag in the presence bitmask are checked by testing the flag in the local variables
+     * declared by {@link #writeReadPresenceFlags(JavaWriter, AnnotatedFragment, String)}.
+     *
+     * @param present true for the expression that is true if the argument is set, false for the
+     * expression that is true if the argument is missing
+     */
+    private String getContainsExpression(AnnotatedFragment fragment, ArgumentAnnotatedField field,
+                                         String bundleVariable, boolean present) {
+        int presenceIndex = fragment.getPresenceFlagArguments().indexOf(field);
+        if (presenceIndex >= 0) {
+            return String.format("(%s & %s) %s 0", getPresenceVariable("presence", presenceIndex),
+                    getPresenceBit(presenceIndex), present ? "!=" : "==");
+        }
+        if (fragment.getPackedArguments().contains(field)) {
+            // Packed required argument, the packed array is always written by the builder
+            return String.format(present ? "packed != null || %s.containsKey(%s)"
+                    : "packed == null && !%s.containsKey(%s)", bundleVariable,
+                    getKeyExpression(fragment, field));
+        }
+        return String.format("%s%s.containsKey(%s)", present ? "" : "!", bundleVariable,
+                getKeyExpression(fragment, field));
+    }
+
+    /**
+     * Get the expression (java source code) of the Bundle key of the given argument: A string
+     * literal or the key constant of the builder if short keys are used
+     */
+    private String getKeyExpression(AnnotatedFragment fragment, ArgumentAnnotatedField field) {
+        if (shortKeys) {
+            return fragment.getBuilderName() + "." + getKeyConstantName(field);
+        }
+        return JavaWriter.stringLiteral(field.getKey());
+    }
+
+    /**
+     * The name of the constant in the builder holding the Bundle key of the given argument, i.e.
+     * "KEY_FEATURE_ID"
+     */
+    private static String getKeyConstantName(ArgumentAnnotatedField field) {
+        return "KEY_" + field.getVariableName().replaceAll("([a-z0-9])([A-Z])", "$1_$2")
+                .toUpperCase(Locale.US);
+    }
+
+    /**
+     * Checks that the key constants of the arguments of a fragment have distinct names. Different
+     * variable names like "userId" and "userID" result in the same constant name.
+     *
+     * @throws ProcessingException if two arguments would use the same constant
+     */
+    private static void checkKeyConstantNames(AnnotatedFragment fragment)
+            throws ProcessingException {
+        Map<String, ArgumentAnnotatedField> constants =
+                new HashMap<String, ArgumentAnnotatedField>();
+        for (ArgumentAnnotatedField arg : fragment.getAllSorted()) {
+            ArgumentAnnotatedField other = constants.put(getKeyConstantName(arg), arg);
+            if (other != null) {
+                throw new ProcessingException(arg.getElement(),
+                        "The arguments %s and %s in %s would both use the key constant %s. "
+                                + "Rename one of them to use short keys",
+                        other.getVariableName(), arg.getVariableName(),
+                        fragment.getQualifiedName(), getKeyConstantName(arg));
+            }
+        }
+    }
+
+    /**
+     * Writes the check that throws an exception if a required argument is not set
+     */
+    private void writeRequiredCheck(JavaWriter jw, ArgumentAnnotatedField field,
+                                    String missingExpression) throws IOException {
+        jw.beginControlFlow("if (%s)", missingExpression);
+        jw.emitStatement("throw new IllegalStateException(\"required argument %1$s is not set\")",
+                field.getKey());
+        jw.endControlFlow();
+    }
+
+    private void writeBuilderMethod(String type, JavaWriter writer, AnnotatedFragment fragment,
+                                    ArgumentAnnotatedField arg)
             throws IOException, ProcessingException {
         writer.emitEmptyLine();
         boolean annotate = supportAnnotations && !arg.isPrimitive();
@@ -1012,7 +3155,11 @@ public class ArgProcessor extends AbstractProcessor {
         if (supportAnnotations) writer.emitAnnotation("NonNull");
         writer.beginMethod(type, arg.getVariableName(), EnumSet.of(Modifier.PUBLIC),
                 typeStr, arg.getVariableName());
-        writePutArguments(writer, arg.getVariableName(), "mArguments", arg);
+        writer.emitStatement("checkNotTransferred()");
+        if (fragment.isPrototype()) {
+            writer.emitStatement("checkNotFrozen()");
+        }
+        writePutArguments(writer, fragment, arg.getVariableName(), "mArguments", arg);
         writer.emitStatement("return this");
         writer.endMethod();
     }
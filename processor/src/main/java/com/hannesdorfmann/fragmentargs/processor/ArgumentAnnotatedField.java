@@ -1,6 +1,7 @@
 package com.hannesdorfmann.fragmentargs.processor;
 
 import com.hannesdorfmann.fragmentargs.annotation.Arg;
+import com.hannesdorfmann.fragmentargs.annotation.ArgData;
 import com.hannesdorfmann.fragmentargs.bundler.ArgsBundler;
 import com.hannesdorfmann.fragmentargs.bundler.NoneArgsBundler;
 import java.lang.reflect.Constructor;
@@ -20,9 +21,12 @@ public class ArgumentAnnotatedField implements Comparable<ArgumentAnnotatedField
   private final String name;
   private final String key;
   private final String type;
+  private final TypeMirror typeMirror;
   private final Element element;
   private final boolean required;
+  private final boolean explicitKey;
   private final TypeElement classElement;
+  private String shortKey;
 
   private String bundlerClass;
   private String bundlerFieldName;
@@ -33,8 +37,10 @@ public class ArgumentAnnotatedField implements Comparable<ArgumentAnnotatedField
     this.name = element.getSimpleName().toString();
     this.key = getKey(element, annotation);
     this.type = element.asType().toString();
+    this.typeMirror = element.asType();
     this.element = element;
     this.required = annotation.required();
+    this.explicitKey = !"".equals(annotation.key());
     this.classElement = classElement;
 
     try {
@@ -44,6 +50,57 @@ public class ArgumentAnnotatedField implements Comparable<ArgumentAnnotatedField
       TypeMirror baggerClass = mte.getTypeMirror();
       bundlerClass = getFullQualifiedNameByTypeMirror(baggerClass);
     }
+
+    if (getBundlerClass() == null) {
+      setDefaultBundler();
+    }
+  }
+
+  /**
+   * Creates a field of a class annotated with {@link ArgData}. The field is optional and the name
+   * of the field is used as key.
+   */
+  public ArgumentAnnotatedField(Element element, TypeElement classElement) {
+    this.name = element.getSimpleName().toString();
+    this.key = name;
+    this.type = element.asType().toString();
+    this.typeMirror = element.asType();
+    this.element = element;
+    this.required = false;
+    this.explicitKey = false;
+    this.classElement = classElement;
+    this.bundlerClass = NoneArgsBundler.class.getCanonicalName();
+
+    setDefaultBundler();
+  }
+
+  /**
+   * Creates the values of a <code>Map&lt;String, V&gt;</code> argument, that are put one by one
+   * into a nested Bundle.
+   *
+   * @param mapField The map argument
+   * @param valueType The type V of the values
+   */
+  public ArgumentAnnotatedField(ArgumentAnnotatedField mapField, TypeMirror valueType) {
+    this.name = mapField.getName();
+    this.key = mapField.getKey();
+    this.type = valueType.toString();
+    this.typeMirror = valueType;
+    this.element = mapField.getElement();
+    this.required = false;
+    this.explicitKey = false;
+    this.classElement = mapField.getClassElement();
+    this.bundlerClass = NoneArgsBundler.class.getCanonicalName();
+  }
+
+  /**
+   * Uses the generated bundler if the type of this field is annotated with {@link ArgData}
+   */
+  private void setDefaultBundler() {
+    String argDataBundler = ArgDataClass.getQualifiedBundlerName(typeMirror);
+    if (argDataBundler != null) {
+      bundlerClass = argDataBundler;
+    }
   }
 
   public String getBundlerFieldName() {
@@ -201,6 +258,31 @@ public class ArgumentAnnotatedField implements Comparable<ArgumentAnnotatedField
     return this.key;
   }
 
+  /**
+   * @return true if the key has been specified by {@link Arg#key()}
+   */
+  public boolean hasExplicitKey() {
+    return explicitKey;
+  }
+
+  /**
+   * @return The short key that is used in the Bundle instead of {@link #getKey()} or null
+   */
+  public String getShortKey() {
+    return shortKey;
+  }
+
+  public void setShortKey(String shortKey) {
+    this.shortKey = shortKey;
+  }
+
+  /**
+   * @return The key that is actually used in the Bundle
+   */
+  public String getBundleKey() {
+    return shortKey != null ? shortKey : key;
+  }
+
   public String getName() {
     return name;
   }
@@ -213,6 +295,13 @@ public class ArgumentAnnotatedField implements Comparable<ArgumentAnnotatedField
     return element;
   }
 
+  /**
+   * @return The type of this argument
+   */
+  public TypeMirror getTypeMirror() {
+    return typeMirror;
+  }
+
   public boolean isRequired() {
     return required;
   }
@@ -256,6 +345,6 @@ public class ArgumentAnnotatedField implements Comparable<ArgumentAnnotatedField
   }
 
   public boolean isPrimitive() {
-    return element.asType().getKind().isPrimitive();
+    return typeMirror.getKind().isPrimitive();
   }
 }
@@ -0,0 +1,67 @@
+package com.hannesdorfmann.fragmentargs.processor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Simple data holder class for the generated registry class of a module, that holds one shared
+ * instance of each {@link com.hannesdorfmann.fragmentargs.bundler.ArgsBundler} class used by the
+ * generated builders.
+ */
+public class BundlerRegistry {
+
+  private final String packageName;
+  private final String className;
+
+  // qualified Bundler class is KEY, name of the getter method (without "get") and holder class = VALUE
+  private final Map<String, String> bundlerNames = new LinkedHashMap<String, String>();
+
+  public BundlerRegistry(String packageName, String className) {
+    this.packageName = packageName;
+    this.className = className;
+  }
+
+  public String getPackageName() {
+    return packageName;
+  }
+
+  public String getClassName() {
+    return className;
+  }
+
+  public String getQualifiedClassName() {
+    return packageName + "." + className;
+  }
+
+  /**
+   * Registers the bundler class (if not registered yet)
+   *
+   * @param bundlerClass The full qualified name of the bundler class
+   * @return The expression that returns the shared instance of the bundler class
+   */
+  public String getReference(String bundlerClass) {
+    String name = bundlerNames.get(bundlerClass);
+    if (name == null) {
+      String simpleName = bundlerClass.substring(bundlerClass.lastIndexOf('.') + 1)
+          .replace('$', '_');
+      name = simpleName;
+      for (int i = 2; bundlerNames.containsValue(name); i++) {
+        name = simpleName + i;
+      }
+      bundlerNames.put(bundlerClass, name);
+    }
+    return className + ".get" + name + "()";
+  }
+
+  public boolean isEmpty() {
+    return bundlerNames.isEmpty();
+  }
+
+  /**
+   * @return qualified Bundler class = KEY, name of the getter method (without "get") and holder
+   * class = VALUE
+   */
+  public Map<String, String> getBundlerNames() {
+    return bundlerNames;
+  }
+}
@@ -0,0 +1,43 @@
+package com.hannesdorfmann.fragmentargs.processor;
+
+import com.google.testing.compile.JavaFileObjects;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assert_;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+
+public class ArgDataTest {
+
+    @Test
+    public void argDataBundler() {
+        assert_().about(javaSource())
+                .that(JavaFileObjects.forResource("ArgDataFragment.java"))
+                .processedWith(new ArgProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(
+                        JavaFileObjects.forResource("ArgDataFragmentUserArgsBundler.java"),
+                        JavaFileObjects.forResource("ArgDataFragmentBuilder.java"));
+    }
+
+    @Test
+    public void inheritedFields() {
+        assert_().about(javaSource())
+                .that(JavaFileObjects.forResource("ArgDataSubclassFragment.java"))
+                .processedWith(new ArgProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(
+                        JavaFileObjects.forResource("ArgDataSubclassCustomerArgsBundler.java"));
+    }
+
+    @Test
+    public void hiddenField() {
+        assert_().about(javaSource())
+                .that(JavaFileObjects.forResource("ArgDataHiddenField.java"))
+                .processedWith(new ArgProcessor())
+                .failsToCompile()
+                .withErrorContaining("hides a field of a super class");
+    }
+}
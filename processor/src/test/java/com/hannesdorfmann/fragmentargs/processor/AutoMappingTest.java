@@ -0,0 +1,78 @@
+package com.hannesdorfmann.fragmentargs.processor;
+
+import com.google.testing.compile.JavaFileObjects;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assert_;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+import static com.hannesdorfmann.fragmentargs.processor.CompileTest.assertClassCompilesWithoutError;
+
+public class AutoMappingTest {
+
+    /**
+     * Generates a fragment in the first round, like other annotation processors may do
+     */
+    public static class FragmentGeneratingProcessor extends AbstractProcessor {
+
+        private boolean generated;
+
+        @Override
+        public Set<String> getSupportedAnnotationTypes() {
+            return Collections.singleton("*");
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return SourceVersion.latestSupported();
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+            if (generated) {
+                return false;
+            }
+            generated = true;
+            try {
+                Writer writer = processingEnv.getFiler().createSourceFile(
+                        "com.hannesdorfmann.fragmentargs.processor.test.GeneratedFragment")
+                        .openWriter();
+                writer.write("package com.hannesdorfmann.fragmentargs.processor.test;\n"
+                        + "@com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs\n"
+                        + "public class GeneratedFragment extends android.app.Fragment {\n"
+                        + "  @com.hannesdorfmann.fragmentargs.annotation.Arg String name;\n"
+                        + "}\n");
+                writer.close();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return false;
+        }
+    }
+
+    @Test
+    public void hashDispatch() {
+        assertClassCompilesWithoutError("AutoMappingFragments.java", "AutoMappingFragmentsInjector.java");
+    }
+
+    @Test
+    public void fragmentsOfLaterRounds() {
+        assert_().about(javaSource())
+                .that(JavaFileObjects.forResource("AutoMappingFragments.java"))
+                .processedWith(Arrays.asList(new FragmentGeneratingProcessor(), new ArgProcessor()))
+                .compilesWithoutError()
+                .and()
+                .generatesSources(JavaFileObjects.forResource("AutoMappingRoundsInjector.java"));
+    }
+}
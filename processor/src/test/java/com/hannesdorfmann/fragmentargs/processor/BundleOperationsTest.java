@@ -0,0 +1,44 @@
+package com.hannesdorfmann.fragmentargs.processor;
+
+import com.google.testing.compile.JavaFileObjects;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assert_;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+
+public class BundleOperationsTest {
+
+    @Test
+    public void nativeOperations() {
+        assert_().about(javaSource())
+                .that(JavaFileObjects.forResource("BundleOperationsFragment.java"))
+                .withCompilerOptions("-AfragmentArgsStrictTypes=true")
+                .processedWith(new ArgProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(
+                        JavaFileObjects.forResource("BundleOperationsFragmentBuilder.java"));
+    }
+
+    @Test
+    public void listSubtypesAreSerializable() {
+        assert_().about(javaSource())
+                .that(JavaFileObjects.forResource("ListSubtypesFragment.java"))
+                .processedWith(new ArgProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(
+                        JavaFileObjects.forResource("ListSubtypesFragmentBuilder.java"));
+    }
+
+    @Test
+    public void strictTypes() {
+        assert_().about(javaSource())
+                .that(JavaFileObjects.forResource("StrictTypesFragment.java"))
+                .withCompilerOptions("-AfragmentArgsStrictTypes=true")
+                .processedWith(new ArgProcessor())
+                .failsToCompile()
+                .withErrorContaining("date would be stored as Serializable");
+    }
+}
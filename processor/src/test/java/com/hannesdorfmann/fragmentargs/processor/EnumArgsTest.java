@@ -0,0 +1,32 @@
+package com.hannesdorfmann.fragmentargs.processor;
+
+import com.google.testing.compile.JavaFileObjects;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assert_;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+
+public class EnumArgsTest {
+
+    @Test
+    public void ordinals() {
+        assert_().about(javaSource())
+                .that(JavaFileObjects.forResource("EnumFragment.java"))
+                .processedWith(new ArgProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(JavaFileObjects.forResource("EnumFragmentBuilder.java"));
+    }
+
+    @Test
+    public void names() {
+        assert_().about(javaSource())
+                .that(JavaFileObjects.forResource("EnumNamesFragment.java"))
+                .withCompilerOptions("-AfragmentArgsEnumEncoding=name")
+                .processedWith(new ArgProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(JavaFileObjects.forResource("EnumNamesFragmentBuilder.java"));
+    }
+}
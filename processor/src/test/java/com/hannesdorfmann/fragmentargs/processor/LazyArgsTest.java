@@ -0,0 +1,13 @@
+package com.hannesdorfmann.fragmentargs.processor;
+
+import org.junit.Test;
+
+import static com.hannesdorfmann.fragmentargs.processor.CompileTest.assertClassCompilesWithoutError;
+
+public class LazyArgsTest {
+
+    @Test
+    public void lazyArgs() {
+        assertClassCompilesWithoutError("LazyArgsFragment.java", "LazyArgsFragmentLazyArgs.java");
+    }
+}
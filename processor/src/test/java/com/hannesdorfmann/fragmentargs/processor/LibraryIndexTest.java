@@ -0,0 +1,39 @@
+package com.hannesdorfmann.fragmentargs.processor;
+
+import com.google.testing.compile.JavaFileObjects;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static com.google.common.truth.Truth.assert_;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+import static com.google.testing.compile.JavaSourcesSubjectFactory.javaSources;
+
+public class LibraryIndexTest {
+
+    @Test
+    public void libraryWritesIndex() {
+        assert_().about(javaSource())
+                .that(JavaFileObjects.forResource("AutoMappingFragments.java"))
+                .withCompilerOptions("-AfragmentArgsLib=true", "-AfragmentArgsModuleName=feature")
+                .processedWith(new ArgProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(JavaFileObjects.forResource("AutoMappingFragmentsIndex.java"));
+    }
+
+    @Test
+    public void applicationMergesIndex() {
+        assert_().about(javaSources())
+                .that(Arrays.asList(
+                        JavaFileObjects.forResource("LibraryFragment.java"),
+                        JavaFileObjects.forResource("LibraryFragmentBuilder.java"),
+                        JavaFileObjects.forResource("LibraryIndex.java"),
+                        JavaFileObjects.forResource("AppFragment.java")))
+                .processedWith(new ArgProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(JavaFileObjects.forResource("AppWithLibraryInjector.java"));
+    }
+}
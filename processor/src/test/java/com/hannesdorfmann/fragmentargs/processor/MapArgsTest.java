@@ -0,0 +1,21 @@
+package com.hannesdorfmann.fragmentargs.processor;
+
+import com.google.testing.compile.JavaFileObjects;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assert_;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+
+public class MapArgsTest {
+
+    @Test
+    public void mapsAsNestedBundle() {
+        assert_().about(javaSource())
+                .that(JavaFileObjects.forResource("MapArgsFragment.java"))
+                .processedWith(new ArgProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(JavaFileObjects.forResource("MapArgsFragmentBuilder.java"));
+    }
+}
@@ -0,0 +1,22 @@
+package com.hannesdorfmann.fragmentargs.processor;
+
+import com.google.testing.compile.JavaFileObjects;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assert_;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+
+public class ParcelerBundlerTest {
+
+    @Test
+    public void directParcelerWrapper() {
+        assert_().about(javaSource())
+                .that(JavaFileObjects.forResource("ParcelerFragment.java"))
+                .processedWith(new ArgProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(
+                        JavaFileObjects.forResource("ParcelerFragmentBuilder.java"));
+    }
+}
@@ -0,0 +1,13 @@
+package com.hannesdorfmann.fragmentargs.processor;
+
+import org.junit.Test;
+
+import static com.hannesdorfmann.fragmentargs.processor.CompileTest.assertClassCompilesWithoutError;
+
+public class PresenceFlagsTest {
+
+    @Test
+    public void presenceBitmask() {
+        assertClassCompilesWithoutError("PresenceFlagsFragment.java", "PresenceFlagsFragmentBuilder.java");
+    }
+}
@@ -0,0 +1,36 @@
+package com.hannesdorfmann.fragmentargs.processor;
+
+import com.google.testing.compile.JavaFileObjects;
+
+import javax.tools.StandardLocation;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assert_;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+
+public class PrimitiveBundlerTest {
+
+    @Test
+    public void primitiveBundlerMethods() {
+        assert_().about(javaSource())
+                .that(JavaFileObjects.forResource("PrimitiveBundlerFragment.java"))
+                .processedWith(new ArgProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(
+                        JavaFileObjects.forResource("PrimitiveBundlerFragmentBuilder.java"),
+                        JavaFileObjects.forResource("PrimitiveBundlerArgsBundlers.java"));
+    }
+
+    @Test
+    public void registryNamedByModule() {
+        assert_().about(javaSource())
+                .that(JavaFileObjects.forResource("PrimitiveBundlerFragment.java"))
+                .withCompilerOptions("-AfragmentArgsModuleName=feature")
+                .processedWith(new ArgProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesFileNamed(StandardLocation.SOURCE_OUTPUT,
+                        "com.hannesdorfmann.fragmentargs", "ArgsBundlers$$feature.java");
+    }
+}
@@ -0,0 +1,21 @@
+package com.hannesdorfmann.fragmentargs.processor;
+
+import com.google.testing.compile.JavaFileObjects;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assert_;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+
+public class PrimitiveListsTest {
+
+    @Test
+    public void primitiveListBundlers() {
+        assert_().about(javaSource())
+                .that(JavaFileObjects.forResource("PrimitiveListsFragment.java"))
+                .processedWith(new ArgProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(JavaFileObjects.forResource("PrimitiveListsFragmentBuilder.java"));
+    }
+}
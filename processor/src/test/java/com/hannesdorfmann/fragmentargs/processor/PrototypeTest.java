@@ -0,0 +1,13 @@
+package com.hannesdorfmann.fragmentargs.processor;
+
+import org.junit.Test;
+
+import static com.hannesdorfmann.fragmentargs.processor.CompileTest.assertClassCompilesWithoutError;
+
+public class PrototypeTest {
+
+    @Test
+    public void prototypeBuilder() {
+        assertClassCompilesWithoutError("PrototypeFragment.java", "PrototypeFragmentBuilder.java");
+    }
+}
@@ -0,0 +1,22 @@
+package com.hannesdorfmann.fragmentargs.processor;
+
+import com.google.testing.compile.JavaFileObjects;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assert_;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+
+public class ReleaseChecksTest {
+
+    @Test
+    public void injectorWithoutRuntimeChecks() {
+        assert_().about(javaSource())
+                .that(JavaFileObjects.forResource("ReleaseChecksFragment.java"))
+                .withCompilerOptions("-AfragmentArgsChecks=release")
+                .processedWith(new ArgProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(JavaFileObjects.forResource("ReleaseChecksFragmentBuilder.java"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.hannesdorfmann.fragmentargs.processor;
+
+import com.google.testing.compile.JavaFileObjects;
+
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assert_;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+import static org.junit.Assert.assertEquals;
+
+public class ShardedAutoMappingTest {
+
+    private static final String INJECTOR_PACKAGE = "com.hannesdorfmann.fragmentargs";
+
+    /**
+     * A class with the given number of nested fragments, each with one argument
+     */
+    private static JavaFileObject fragments(int count) {
+        StringBuilder source = new StringBuilder()
+                .append("package com.hannesdorfmann.fragmentargs.processor.test;\n")
+                .append("public class ManyFragments {\n");
+        for (int i = 0; i < count; i++) {
+            source.append("  @com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs\n")
+                    .append("  public static class Fragment").append(i)
+                    .append(" extends android.app.Fragment {\n")
+                    .append("    @com.hannesdorfmann.fragmentargs.annotation.Arg String arg;\n")
+                    .append("  }\n");
+        }
+        source.append("}\n");
+        return JavaFileObjects.forSourceString(
+                "com.hannesdorfmann.fragmentargs.processor.test.ManyFragments", source.toString());
+    }
+
+    @Test
+    public void shardCount() {
+        assertEquals(1, ArgProcessor.getShardCount(0));
+        assertEquals(1, ArgProcessor.getShardCount(128));
+        assertEquals(2, ArgProcessor.getShardCount(129));
+        assertEquals(2, ArgProcessor.getShardCount(256));
+        assertEquals(3, ArgProcessor.getShardCount(257));
+    }
+
+    @Test
+    public void singleSwitchAtShardBoundary() {
+        assert_().about(javaSource())
+                .that(fragments(128))
+                .processedWith(new ArgProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesFileNamed(StandardLocation.SOURCE_OUTPUT, INJECTOR_PACKAGE,
+                        "AutoFragmentArgInjector.java");
+    }
+
+    @Test
+    public void shardsAboveBoundary() {
+        assert_().about(javaSource())
+                .that(fragments(129))
+                .processedWith(new ArgProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesFileNamed(StandardLocation.SOURCE_OUTPUT, INJECTOR_PACKAGE,
+                        "AutoFragmentArgInjector$$Shard1.java");
+    }
+
+    @Test
+    public void fullShards() {
+        assert_().about(javaSource())
+                .that(fragments(256))
+                .processedWith(new ArgProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesFileNamed(StandardLocation.SOURCE_OUTPUT, INJECTOR_PACKAGE,
+                        "AutoFragmentArgInjector$$Shard1.java");
+    }
+}
@@ -0,0 +1,42 @@
+package com.hannesdorfmann.fragmentargs.processor;
+
+import com.google.testing.compile.JavaFileObjects;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assert_;
+import static com.google.testing.compile.JavaSourceSubjectFactory.javaSource;
+import static org.junit.Assert.assertEquals;
+
+public class ShortKeysTest {
+
+    @Test
+    public void shortKeys() {
+        assert_().about(javaSource())
+                .that(JavaFileObjects.forResource("ShortKeysFragment.java"))
+                .withCompilerOptions("-AfragmentArgsShortKeys=true")
+                .processedWith(new ArgProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(JavaFileObjects.forResource("ShortKeysFragmentBuilder.java"));
+    }
+
+    @Test
+    public void keyConstantCollision() {
+        assert_().about(javaSource())
+                .that(JavaFileObjects.forResource("ShortKeysCollisionFragment.java"))
+                .withCompilerOptions("-AfragmentArgsShortKeys=true")
+                .processedWith(new ArgProcessor())
+                .failsToCompile()
+                .withErrorContaining("would both use the key constant KEY_USER_ID");
+    }
+
+    @Test
+    public void shortKeySequence() {
+        assertEquals("a", AnnotatedFragment.getShortKey(0));
+        assertEquals("Z", AnnotatedFragment.getShortKey(51));
+        assertEquals("aa", AnnotatedFragment.getShortKey(52));
+        assertEquals("ab", AnnotatedFragment.getShortKey(53));
+        assertEquals("ZZ", AnnotatedFragment.getShortKey(52 + 52 * 52 - 1));
+    }
+}
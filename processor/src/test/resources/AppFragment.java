@@ -0,0 +1,8 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+@com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs
+public class AppFragment extends android.app.Fragment {
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg
+    String arg;
+}
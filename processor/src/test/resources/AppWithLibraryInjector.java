@@ -0,0 +1,53 @@
+package com.hannesdorfmann.fragmentargs;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class AutoFragmentArgInjector
+    implements FragmentArgsInjector {
+
+  private static final Map<Class<?>, Class<?>> injectableClasses = new ConcurrentHashMap<Class<?>, Class<?>>();
+
+  @Override
+  public void inject(Object target) {
+    Class<?> targetClass = target.getClass();
+    Class<?> injectableClass = injectableClasses.get(targetClass);
+    if (injectableClass != null) {
+      if (injectableClass != Void.class) {
+        String targetName = injectableClass.getName();
+        inject(targetName, targetName.hashCode(), target);
+      }
+      return;
+    }
+
+    // First injection of this class: Find the nearest (super) class with a builder
+    for (Class<?> c = targetClass; c != null; c = c.getSuperclass()) {
+      String targetName = c.getName();
+      if (inject(targetName, targetName.hashCode(), target)) {
+        injectableClasses.put(targetClass, c);
+        return;
+      }
+    }
+    injectableClasses.put(targetClass, Void.class);
+  }
+
+  static boolean inject(String targetName, int hash, Object target) {
+    switch (hash) {
+      case -1775197909: {
+        if ("com.hannesdorfmann.fragmentargs.processor.test.AppFragment".equals(targetName)) {
+          com.hannesdorfmann.fragmentargs.processor.test.AppFragmentBuilder.injectArguments((com.hannesdorfmann.fragmentargs.processor.test.AppFragment) target);
+          return true;
+        }
+        return false;
+      }
+      case 785686108: {
+        if ("com.hannesdorfmann.fragmentargs.processor.test.lib.LibraryFragment".equals(targetName)) {
+          com.hannesdorfmann.fragmentargs.processor.test.lib.LibraryFragmentBuilder.injectArguments((com.hannesdorfmann.fragmentargs.processor.test.lib.LibraryFragment) target);
+          return true;
+        }
+        return false;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,41 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import com.hannesdorfmann.fragmentargs.annotation.Arg;
+import com.hannesdorfmann.fragmentargs.annotation.ArgData;
+import com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs;
+
+import java.util.List;
+
+@FragmentWithArgs
+public class ArgDataFragment extends android.app.Fragment {
+
+    @ArgData
+    public static class Address {
+        String street;
+        int zipCode;
+    }
+
+    @ArgData
+    public static class User {
+
+        public enum Role {
+            ADMIN, GUEST
+        }
+
+        static final int VERSION = 1;
+
+        long id;
+        String name;
+        Integer age;
+        Role role;
+        List<String> tags;
+        Address address;
+        transient Object cache;
+    }
+
+    @Arg
+    User user;
+
+    @Arg(required = false)
+    Address address;
+}
@@ -0,0 +1,119 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+import com.hannesdorfmann.fragmentargs.ArgsBundlers$$b96c1e49;
+
+public final class ArgDataFragmentBuilder {
+
+  private final Bundle mArguments = new Bundle(3);
+  private boolean mTransferred;
+  private long mPresence0;
+
+  public ArgDataFragmentBuilder(ArgDataFragment.User user) {
+
+    mPresence0 |= 0x2L;
+    ArgsBundlers$$b96c1e49.getArgDataFragment__UserArgsBundler().put("user", user, mArguments);
+  }
+
+  public static ArgDataFragment newArgDataFragment(ArgDataFragment.User user) {
+    return new ArgDataFragmentBuilder(user).build();
+  }
+
+  /**
+   * Creates the arguments Bundle without creating a builder. Optional arguments that are null are not set.
+   */
+  public static Bundle bundleArgDataFragment(ArgDataFragment.User user, ArgDataFragment.Address address) {
+    Bundle bundle = new Bundle(3);
+    long presence0 = 0;
+
+    presence0 |= 0x2L;
+    ArgsBundlers$$b96c1e49.getArgDataFragment__UserArgsBundler().put("user", user, bundle);
+
+    if (address != null) {
+      presence0 |= 0x1L;
+      ArgsBundlers$$b96c1e49.getArgDataFragment__AddressArgsBundler().put("address", address, bundle);
+    }
+
+    bundle.putLong("_fa_p0", presence0);
+    return bundle;
+  }
+
+  public static ArgDataFragment newArgDataFragment(ArgDataFragment.User user, ArgDataFragment.Address address) {
+    ArgDataFragment fragment = new ArgDataFragment();
+    fragment.setArguments(bundleArgDataFragment(user, address));
+    return fragment;
+  }
+
+  public ArgDataFragmentBuilder address(ArgDataFragment.Address address) {
+    checkNotTransferred();
+
+    if (address != null) {
+      mPresence0 |= 0x1L;
+      ArgsBundlers$$b96c1e49.getArgDataFragment__AddressArgsBundler().put("address", address, mArguments);
+    }
+    return this;
+  }
+
+  public Bundle buildBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    return new Bundle(mArguments);
+  }
+
+  /**
+   * Returns the arguments Bundle without copying it. This builder can't be used anymore afterwards.
+   */
+  public Bundle transferBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    mTransferred = true;
+    return mArguments;
+  }
+
+  private void checkNotTransferred() {
+    if (mTransferred) {
+      throw new IllegalStateException("The arguments have already been transferred by transferBundle(), this builder can't be used anymore");
+    }
+  }
+
+  public static final void injectArguments(ArgDataFragment fragment) {
+    Bundle args = fragment.getArguments();
+    if (args == null) {
+      throw new IllegalStateException("No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? ");
+    }
+
+    long presence0 = ArgDataFragmentBuilder.readPresenceFlags0(args);
+
+    if ((presence0 & 0x1L) != 0) {
+      fragment.address = ArgsBundlers$$b96c1e49.getArgDataFragment__AddressArgsBundler().get("address", args);
+    }
+
+    if ((presence0 & 0x2L) == 0) {
+      throw new IllegalStateException("required argument user is not set");
+    }
+    fragment.user = ArgsBundlers$$b96c1e49.getArgDataFragment__UserArgsBundler().get("user", args);
+  }
+
+  static long readPresenceFlags0(Bundle args) {
+    long presence = args.getLong("_fa_p0", -1L);
+    if (presence < 0) {
+      // Bundle has not been created by the builder
+      presence = 0;
+      if (args.getBoolean("com.hannesdorfmann.fragmentargs.custom.bundler.2312A478rand.address")) {
+        presence |= 0x1L;
+      }
+      if (args.containsKey("com.hannesdorfmann.fragmentargs.custom.bundler.2312A478rand.user")) {
+        presence |= 0x2L;
+      }
+    }
+    return presence;
+  }
+
+  public ArgDataFragment build() {
+    checkNotTransferred();
+    ArgDataFragment fragment = new ArgDataFragment();
+    mArguments.putLong("_fa_p0", mPresence0);
+    fragment.setArguments(mArguments);
+    return fragment;
+  }
+}
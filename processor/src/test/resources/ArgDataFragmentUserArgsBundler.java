@@ -0,0 +1,67 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+import com.hannesdorfmann.fragmentargs.bundler.ArgsBundler;
+
+public final class ArgDataFragment$$UserArgsBundler
+    implements ArgsBundler<ArgDataFragment.User> {
+
+  private static final ArgDataFragment$$AddressArgsBundler bundler1 = new com.hannesdorfmann.fragmentargs.processor.test.ArgDataFragment$$AddressArgsBundler();
+
+  private static final ArgDataFragment.User.Role[] enumValues1 = com.hannesdorfmann.fragmentargs.processor.test.ArgDataFragment.User.Role.values();
+
+  @Override
+  public void put(String key, ArgDataFragment.User value, Bundle bundle) {
+    if (value == null) {
+      bundle.putBundle(key, null);
+      return;
+    }
+
+    Bundle data = new Bundle(6);
+    data.putLong("id", value.id);
+    if (value.name != null) {
+      data.putString("name", value.name);
+    }
+    if (value.age != null) {
+      data.putInt("age", value.age);
+    }
+    if (value.role != null) {
+      data.putInt("role", com.hannesdorfmann.fragmentargs.bundler.EnumArgs.toOrdinal(value.role));
+    }
+    if (value.tags != null) {
+      data.putStringArrayList("tags", com.hannesdorfmann.fragmentargs.bundler.BundleArgs.toArrayList(value.tags));
+    }
+    if (value.address != null) {
+      bundler1.put("address", value.address, data);
+    }
+    bundle.putBundle(key, data);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T extends ArgDataFragment.User> T get(String key, Bundle bundle) {
+    Bundle data = bundle.getBundle(key);
+    if (data == null) {
+      return null;
+    }
+
+    ArgDataFragment.User value = new ArgDataFragment.User();
+    value.id = data.getLong("id");
+    if (data.containsKey("name")) {
+      value.name = data.getString("name");
+    }
+    if (data.containsKey("age")) {
+      value.age = data.getInt("age");
+    }
+    if (data.containsKey("role")) {
+      value.role = com.hannesdorfmann.fragmentargs.bundler.EnumArgs.fromOrdinal(data.getInt("role", -1), enumValues1);
+    }
+    if (data.containsKey("tags")) {
+      value.tags = data.getStringArrayList("tags");
+    }
+    if (data.containsKey("address")) {
+      value.address = bundler1.get("address", data);
+    }
+    return (T) value;
+  }
+}
@@ -0,0 +1,15 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import com.hannesdorfmann.fragmentargs.annotation.ArgData;
+
+public class ArgDataHiddenField {
+
+    public static class Entity {
+        long id;
+    }
+
+    @ArgData
+    public static class Customer extends Entity {
+        String id;
+    }
+}
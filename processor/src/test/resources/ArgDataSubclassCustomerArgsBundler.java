@@ -0,0 +1,45 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+import com.hannesdorfmann.fragmentargs.bundler.ArgsBundler;
+
+public final class ArgDataSubclassFragment$$CustomerArgsBundler
+    implements ArgsBundler<ArgDataSubclassFragment.Customer> {
+
+  @Override
+  public void put(String key, ArgDataSubclassFragment.Customer value, Bundle bundle) {
+    if (value == null) {
+      bundle.putBundle(key, null);
+      return;
+    }
+
+    Bundle data = new Bundle(3);
+    data.putLong("id", value.id);
+    if (value.createdBy != null) {
+      data.putString("createdBy", value.createdBy);
+    }
+    if (value.name != null) {
+      data.putString("name", value.name);
+    }
+    bundle.putBundle(key, data);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T extends ArgDataSubclassFragment.Customer> T get(String key, Bundle bundle) {
+    Bundle data = bundle.getBundle(key);
+    if (data == null) {
+      return null;
+    }
+
+    ArgDataSubclassFragment.Customer value = new ArgDataSubclassFragment.Customer();
+    value.id = data.getLong("id");
+    if (data.containsKey("createdBy")) {
+      value.createdBy = data.getString("createdBy");
+    }
+    if (data.containsKey("name")) {
+      value.name = data.getString("name");
+    }
+    return (T) value;
+  }
+}
@@ -0,0 +1,22 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import com.hannesdorfmann.fragmentargs.annotation.Arg;
+import com.hannesdorfmann.fragmentargs.annotation.ArgData;
+import com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs;
+
+@FragmentWithArgs
+public class ArgDataSubclassFragment extends android.app.Fragment {
+
+    public static class Entity {
+        long id;
+        String createdBy;
+    }
+
+    @ArgData
+    public static class Customer extends Entity {
+        String name;
+    }
+
+    @Arg
+    Customer customer;
+}
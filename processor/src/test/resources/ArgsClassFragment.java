@@ -0,0 +1,11 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+@com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs(argsClass = true)
+public class ArgsClassFragment extends android.app.Fragment {
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg
+    String title;
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg(required = false)
+    boolean mEnabled;
+}
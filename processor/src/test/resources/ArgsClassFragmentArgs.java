@@ -0,0 +1,55 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+public final class ArgsClassFragmentArgs {
+
+  private static final Map<Bundle, ArgsClassFragmentArgs> CACHE = new WeakHashMap<Bundle, ArgsClassFragmentArgs>();
+
+  public final boolean enabled;
+  public final String title;
+  final long presentFlags0;
+
+  private ArgsClassFragmentArgs(Bundle args) {
+    long presence0 = ArgsClassFragmentBuilder.readPresenceFlags0(args);
+    long present0 = 0;
+
+    if ((presence0 & 0x1L) != 0) {
+      this.enabled = args.getBoolean("enabled");
+      present0 |= 0x1L;
+    } else {
+      this.enabled = false;
+    }
+
+    if (!args.containsKey("title")) {
+      throw new IllegalStateException("required argument title is not set");
+    }
+    this.title = args.getString("title");
+
+    this.presentFlags0 = present0;
+  }
+
+  public static ArgsClassFragmentArgs from(Bundle args) {
+    ArgsClassFragmentArgs parsed;
+    synchronized (CACHE) {
+      parsed = CACHE.get(args);
+    }
+    if (parsed == null) {
+      parsed = new ArgsClassFragmentArgs(args);
+      synchronized (CACHE) {
+        CACHE.put(args, parsed);
+      }
+    }
+    return parsed;
+  }
+
+  public static ArgsClassFragmentArgs from(ArgsClassFragment fragment) {
+    Bundle args = fragment.getArguments();
+    if (args == null) {
+      throw new IllegalStateException("No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? ");
+    }
+    return from(args);
+  }
+}
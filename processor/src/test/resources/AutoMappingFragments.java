@@ -0,0 +1,18 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+public class AutoMappingFragments {
+
+    @com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs
+    public static class FirstFragment extends android.app.Fragment {
+
+        @com.hannesdorfmann.fragmentargs.annotation.Arg
+        String arg;
+    }
+
+    @com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs
+    public static class SecondFragment extends android.app.Fragment {
+
+        @com.hannesdorfmann.fragmentargs.annotation.Arg
+        int id;
+    }
+}
@@ -0,0 +1,11 @@
+package com.hannesdorfmann.fragmentargs.index;
+
+@com.hannesdorfmann.fragmentargs.annotation.FragmentArgsIndex({
+  "com.hannesdorfmann.fragmentargs.processor.test.AutoMappingFragments.FirstFragment",
+  "com.hannesdorfmann.fragmentargs.processor.test.AutoMappingFragments.SecondFragment"
+})
+public final class FragmentArgsIndex$$feature {
+
+  private FragmentArgsIndex$$feature() {
+  }
+}
@@ -0,0 +1,60 @@
+package com.hannesdorfmann.fragmentargs;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class AutoFragmentArgInjector
+    implements FragmentArgsInjector {
+
+  private static final Map<Class<?>, Class<?>> injectableClasses = new ConcurrentHashMap<Class<?>, Class<?>>();
+
+  @Override
+  public void inject(Object target) {
+    Class<?> targetClass = target.getClass();
+    Class<?> injectableClass = injectableClasses.get(targetClass);
+    if (injectableClass != null) {
+      if (injectableClass != Void.class) {
+        String targetName = injectableClass.getName();
+        inject(targetName, targetName.hashCode(), target);
+      }
+      return;
+    }
+
+    // First injection of this class: Find the nearest (super) class with a builder
+    for (Class<?> c = targetClass; c != null; c = c.getSuperclass()) {
+      String targetName = c.getName();
+      if (inject(targetName, targetName.hashCode(), target)) {
+        injectableClasses.put(targetClass, c);
+        return;
+      }
+    }
+    injectableClasses.put(targetClass, Void.class);
+  }
+
+  static boolean inject(String targetName, int hash, Object target) {
+    switch (hash) {
+      case 410081049: {
+        if ("com.hannesdorfmann.fragmentargs.processor.test.GeneratedFragment".equals(targetName)) {
+          com.hannesdorfmann.fragmentargs.processor.test.GeneratedFragmentBuilder.injectArguments((com.hannesdorfmann.fragmentargs.processor.test.GeneratedFragment) target);
+          return true;
+        }
+        return false;
+      }
+      case 536984702: {
+        if ("com.hannesdorfmann.fragmentargs.processor.test.AutoMappingFragments$SecondFragment".equals(targetName)) {
+          com.hannesdorfmann.fragmentargs.processor.test.AutoMappingFragments$$SecondFragmentBuilder.injectArguments((com.hannesdorfmann.fragmentargs.processor.test.AutoMappingFragments.SecondFragment) target);
+          return true;
+        }
+        return false;
+      }
+      case 2063296582: {
+        if ("com.hannesdorfmann.fragmentargs.processor.test.AutoMappingFragments$FirstFragment".equals(targetName)) {
+          com.hannesdorfmann.fragmentargs.processor.test.AutoMappingFragments$$FirstFragmentBuilder.injectArguments((com.hannesdorfmann.fragmentargs.processor.test.AutoMappingFragments.FirstFragment) target);
+          return true;
+        }
+        return false;
+      }
+    }
+    return false;
+  }
+}
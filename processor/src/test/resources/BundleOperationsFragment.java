@@ -0,0 +1,41 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.os.Parcelable;
+
+import com.hannesdorfmann.fragmentargs.annotation.Arg;
+import com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs;
+
+import java.util.List;
+
+@FragmentWithArgs
+public class BundleOperationsFragment extends android.app.Fragment {
+
+    @Arg
+    CharSequence text;
+
+    @Arg(required = false)
+    CharSequence[] texts;
+
+    @Arg(required = false)
+    Bundle extras;
+
+    @Arg(required = false)
+    Bundle[] extrasArray;
+
+    @Arg(required = false)
+    Parcelable[] parcelables;
+
+    @Arg(required = false)
+    Intent[] intents;
+
+    @Arg(required = false)
+    List<String> names;
+
+    @Arg(required = false)
+    List<Integer> ids;
+
+    @Arg(required = false)
+    List<Intent> intentList;
+}
@@ -0,0 +1,267 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+
+public final class BundleOperationsFragmentBuilder {
+
+  private final Bundle mArguments = new Bundle(10);
+  private boolean mTransferred;
+  private long mPresence0;
+
+  public BundleOperationsFragmentBuilder(CharSequence text) {
+
+    mArguments.putCharSequence("text", text);
+  }
+
+  public static BundleOperationsFragment newBundleOperationsFragment(CharSequence text) {
+    return new BundleOperationsFragmentBuilder(text).build();
+  }
+
+  /**
+   * Creates the arguments Bundle without creating a builder. Optional arguments that are null are not set.
+   */
+  public static Bundle bundleBundleOperationsFragment(CharSequence text, Bundle extras, Bundle[] extrasArray, java.util.List<Integer> ids, java.util.List<android.content.Intent> intentList, android.content.Intent[] intents, java.util.List<String> names, android.os.Parcelable[] parcelables, CharSequence[] texts) {
+    Bundle bundle = new Bundle(10);
+    long presence0 = 0;
+
+    bundle.putCharSequence("text", text);
+
+    if (extras != null) {
+      presence0 |= 0x1L;
+      bundle.putBundle("extras", extras);
+    }
+
+    if (extrasArray != null) {
+      presence0 |= 0x2L;
+      bundle.putParcelableArray("extrasArray", extrasArray);
+    }
+
+    if (ids != null) {
+      presence0 |= 0x4L;
+      bundle.putIntegerArrayList("ids", com.hannesdorfmann.fragmentargs.bundler.BundleArgs.toArrayList(ids));
+    }
+
+    if (intentList != null) {
+      presence0 |= 0x8L;
+      bundle.putParcelableArrayList("intentList", com.hannesdorfmann.fragmentargs.bundler.BundleArgs.toArrayList(intentList));
+    }
+
+    if (intents != null) {
+      presence0 |= 0x10L;
+      bundle.putParcelableArray("intents", intents);
+    }
+
+    if (names != null) {
+      presence0 |= 0x20L;
+      bundle.putStringArrayList("names", com.hannesdorfmann.fragmentargs.bundler.BundleArgs.toArrayList(names));
+    }
+
+    if (parcelables != null) {
+      presence0 |= 0x40L;
+      bundle.putParcelableArray("parcelables", parcelables);
+    }
+
+    if (texts != null) {
+      presence0 |= 0x80L;
+      bundle.putCharSequenceArray("texts", texts);
+    }
+
+    bundle.putLong("_fa_p0", presence0);
+    return bundle;
+  }
+
+  public static BundleOperationsFragment newBundleOperationsFragment(CharSequence text, Bundle extras, Bundle[] extrasArray, java.util.List<Integer> ids, java.util.List<android.content.Intent> intentList, android.content.Intent[] intents, java.util.List<String> names, android.os.Parcelable[] parcelables, CharSequence[] texts) {
+    BundleOperationsFragment fragment = new BundleOperationsFragment();
+    fragment.setArguments(bundleBundleOperationsFragment(text, extras, extrasArray, ids, intentList, intents, names, parcelables, texts));
+    return fragment;
+  }
+
+  public BundleOperationsFragmentBuilder extras(Bundle extras) {
+    checkNotTransferred();
+
+    if (extras != null) {
+      mPresence0 |= 0x1L;
+      mArguments.putBundle("extras", extras);
+    }
+    return this;
+  }
+
+  public BundleOperationsFragmentBuilder extrasArray(Bundle[] extrasArray) {
+    checkNotTransferred();
+
+    if (extrasArray != null) {
+      mPresence0 |= 0x2L;
+      mArguments.putParcelableArray("extrasArray", extrasArray);
+    }
+    return this;
+  }
+
+  public BundleOperationsFragmentBuilder ids(java.util.List<Integer> ids) {
+    checkNotTransferred();
+
+    if (ids != null) {
+      mPresence0 |= 0x4L;
+      mArguments.putIntegerArrayList("ids", com.hannesdorfmann.fragmentargs.bundler.BundleArgs.toArrayList(ids));
+    }
+    return this;
+  }
+
+  public BundleOperationsFragmentBuilder intentList(java.util.List<android.content.Intent> intentList) {
+    checkNotTransferred();
+
+    if (intentList != null) {
+      mPresence0 |= 0x8L;
+      mArguments.putParcelableArrayList("intentList", com.hannesdorfmann.fragmentargs.bundler.BundleArgs.toArrayList(intentList));
+    }
+    return this;
+  }
+
+  public BundleOperationsFragmentBuilder intents(android.content.Intent[] intents) {
+    checkNotTransferred();
+
+    if (intents != null) {
+      mPresence0 |= 0x10L;
+      mArguments.putParcelableArray("intents", intents);
+    }
+    return this;
+  }
+
+  public BundleOperationsFragmentBuilder names(java.util.List<String> names) {
+    checkNotTransferred();
+
+    if (names != null) {
+      mPresence0 |= 0x20L;
+      mArguments.putStringArrayList("names", com.hannesdorfmann.fragmentargs.bundler.BundleArgs.toArrayList(names));
+    }
+    return this;
+  }
+
+  public BundleOperationsFragmentBuilder parcelables(android.os.Parcelable[] parcelables) {
+    checkNotTransferred();
+
+    if (parcelables != null) {
+      mPresence0 |= 0x40L;
+      mArguments.putParcelableArray("parcelables", parcelables);
+    }
+    return this;
+  }
+
+  public BundleOperationsFragmentBuilder texts(CharSequence[] texts) {
+    checkNotTransferred();
+
+    if (texts != null) {
+      mPresence0 |= 0x80L;
+      mArguments.putCharSequenceArray("texts", texts);
+    }
+    return this;
+  }
+
+  public Bundle buildBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    return new Bundle(mArguments);
+  }
+
+  /**
+   * Returns the arguments Bundle without copying it. This builder can't be used anymore afterwards.
+   */
+  public Bundle transferBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    mTransferred = true;
+    return mArguments;
+  }
+
+  private void checkNotTransferred() {
+    if (mTransferred) {
+      throw new IllegalStateException("The arguments have already been transferred by transferBundle(), this builder can't be used anymore");
+    }
+  }
+
+  public static final void injectArguments(BundleOperationsFragment fragment) {
+    Bundle args = fragment.getArguments();
+    if (args == null) {
+      throw new IllegalStateException("No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? ");
+    }
+
+    long presence0 = BundleOperationsFragmentBuilder.readPresenceFlags0(args);
+
+    if ((presence0 & 0x10L) != 0) {
+      fragment.intents = com.hannesdorfmann.fragmentargs.bundler.BundleArgs.toParcelableArray(args.getParcelableArray("intents"), android.content.Intent[].class);
+    }
+
+    if ((presence0 & 0x20L) != 0) {
+      fragment.names = args.getStringArrayList("names");
+    }
+
+    if ((presence0 & 0x80L) != 0) {
+      fragment.texts = args.getCharSequenceArray("texts");
+    }
+
+    if ((presence0 & 0x2L) != 0) {
+      fragment.extrasArray = com.hannesdorfmann.fragmentargs.bundler.BundleArgs.toParcelableArray(args.getParcelableArray("extrasArray"), android.os.Bundle[].class);
+    }
+
+    if ((presence0 & 0x40L) != 0) {
+      fragment.parcelables = args.getParcelableArray("parcelables");
+    }
+
+    if ((presence0 & 0x1L) != 0) {
+      fragment.extras = args.getBundle("extras");
+    }
+
+    if ((presence0 & 0x4L) != 0) {
+      fragment.ids = args.getIntegerArrayList("ids");
+    }
+
+    if ((presence0 & 0x8L) != 0) {
+      fragment.intentList = args.getParcelableArrayList("intentList");
+    }
+
+    if (!args.containsKey("text")) {
+      throw new IllegalStateException("required argument text is not set");
+    }
+    fragment.text = args.getCharSequence("text");
+  }
+
+  static long readPresenceFlags0(Bundle args) {
+    long presence = args.getLong("_fa_p0", -1L);
+    if (presence < 0) {
+      // Bundle has not been created by the builder
+      presence = 0;
+      if (args.containsKey("extras")) {
+        presence |= 0x1L;
+      }
+      if (args.containsKey("extrasArray")) {
+        presence |= 0x2L;
+      }
+      if (args.containsKey("ids")) {
+        presence |= 0x4L;
+      }
+      if (args.containsKey("intentList")) {
+        presence |= 0x8L;
+      }
+      if (args.containsKey("intents")) {
+        presence |= 0x10L;
+      }
+      if (args.containsKey("names")) {
+        presence |= 0x20L;
+      }
+      if (args.containsKey("parcelables")) {
+        presence |= 0x40L;
+      }
+      if (args.containsKey("texts")) {
+        presence |= 0x80L;
+      }
+    }
+    return presence;
+  }
+
+  public BundleOperationsFragment build() {
+    checkNotTransferred();
+    BundleOperationsFragment fragment = new BundleOperationsFragment();
+    mArguments.putLong("_fa_p0", mPresence0);
+    fragment.setArguments(mArguments);
+    return fragment;
+  }
+}
@@ -4,7 +4,8 @@ import android.os.Bundle;
 
 public final class ClassWithInnerClassBuilder {
 
-    private final Bundle mArguments = new Bundle();
+    private final Bundle mArguments = new Bundle(1);
+    private boolean mTransferred;
 
     public ClassWithInnerClassBuilder(String arg) {
 
@@ -16,9 +17,25 @@ public final class ClassWithInnerClassBuilder {
     }
 
     public Bundle buildBundle() {
+        checkNotTransferred();
         return new Bundle(mArguments);
     }
 
+    /**
+     * Returns the arguments Bundle without copying it. This builder can't be used anymore afterwards.
+     */
+    public Bundle transferBundle() {
+        checkNotTransferred();
+        mTransferred = true;
+        return mArguments;
+    }
+
+    private void checkNotTransferred() {
+        if (mTransferred) {
+            throw new IllegalStateException("The arguments have already been transferred by transferBundle(), this builder can't be used anymore");
+        }
+    }
+
     public static final void injectArguments(ClassWithInnerClass fragment) {
         Bundle args = fragment.getArguments();
         if (args == null) {
@@ -32,6 +49,7 @@ public final class ClassWithInnerClassBuilder {
     }
 
     public ClassWithInnerClass build() {
+        checkNotTransferred();
         ClassWithInnerClass fragment = new ClassWithInnerClass();
         fragment.setArguments(mArguments);
         return fragment;
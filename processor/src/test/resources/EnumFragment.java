@@ -0,0 +1,27 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import com.hannesdorfmann.fragmentargs.annotation.Arg;
+import com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@FragmentWithArgs
+public class EnumFragment extends android.app.Fragment {
+
+    public enum Mode {
+        VIEW, EDIT
+    }
+
+    @Arg
+    Mode mode;
+
+    @Arg(required = false)
+    Mode[] modes;
+
+    @Arg(required = false)
+    List<Mode> modeList;
+
+    @Arg(required = false)
+    ArrayList<java.util.concurrent.TimeUnit> units;
+}
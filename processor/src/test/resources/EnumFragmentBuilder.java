@@ -0,0 +1,160 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+
+public final class EnumFragmentBuilder {
+
+  private static final EnumFragment.Mode[] enumValues1 = com.hannesdorfmann.fragmentargs.processor.test.EnumFragment.Mode.values();
+  private static final java.util.concurrent.TimeUnit[] enumValues2 = java.util.concurrent.TimeUnit.values();
+
+  private final Bundle mArguments = new Bundle(5);
+  private boolean mTransferred;
+  private long mPresence0;
+
+  public EnumFragmentBuilder(EnumFragment.Mode mode) {
+
+    mArguments.putInt("mode", com.hannesdorfmann.fragmentargs.bundler.EnumArgs.toOrdinal(mode));
+  }
+
+  public static EnumFragment newEnumFragment(EnumFragment.Mode mode) {
+    return new EnumFragmentBuilder(mode).build();
+  }
+
+  /**
+   * Creates the arguments Bundle without creating a builder. Optional arguments that are null are not set.
+   */
+  public static Bundle bundleEnumFragment(EnumFragment.Mode mode, java.util.List<EnumFragment.Mode> modeList, EnumFragment.Mode[] modes, java.util.ArrayList<java.util.concurrent.TimeUnit> units) {
+    Bundle bundle = new Bundle(5);
+    long presence0 = 0;
+
+    bundle.putInt("mode", com.hannesdorfmann.fragmentargs.bundler.EnumArgs.toOrdinal(mode));
+
+    if (modeList != null) {
+      presence0 |= 0x1L;
+      bundle.putIntArray("modeList", com.hannesdorfmann.fragmentargs.bundler.EnumArgs.toOrdinals(modeList));
+    }
+
+    if (modes != null) {
+      presence0 |= 0x2L;
+      bundle.putIntArray("modes", com.hannesdorfmann.fragmentargs.bundler.EnumArgs.toOrdinals(modes));
+    }
+
+    if (units != null) {
+      presence0 |= 0x4L;
+      bundle.putIntArray("units", com.hannesdorfmann.fragmentargs.bundler.EnumArgs.toOrdinals(units));
+    }
+
+    bundle.putLong("_fa_p0", presence0);
+    return bundle;
+  }
+
+  public static EnumFragment newEnumFragment(EnumFragment.Mode mode, java.util.List<EnumFragment.Mode> modeList, EnumFragment.Mode[] modes, java.util.ArrayList<java.util.concurrent.TimeUnit> units) {
+    EnumFragment fragment = new EnumFragment();
+    fragment.setArguments(bundleEnumFragment(mode, modeList, modes, units));
+    return fragment;
+  }
+
+  public EnumFragmentBuilder modeList(java.util.List<EnumFragment.Mode> modeList) {
+    checkNotTransferred();
+
+    if (modeList != null) {
+      mPresence0 |= 0x1L;
+      mArguments.putIntArray("modeList", com.hannesdorfmann.fragmentargs.bundler.EnumArgs.toOrdinals(modeList));
+    }
+    return this;
+  }
+
+  public EnumFragmentBuilder modes(EnumFragment.Mode[] modes) {
+    checkNotTransferred();
+
+    if (modes != null) {
+      mPresence0 |= 0x2L;
+      mArguments.putIntArray("modes", com.hannesdorfmann.fragmentargs.bundler.EnumArgs.toOrdinals(modes));
+    }
+    return this;
+  }
+
+  public EnumFragmentBuilder units(java.util.ArrayList<java.util.concurrent.TimeUnit> units) {
+    checkNotTransferred();
+
+    if (units != null) {
+      mPresence0 |= 0x4L;
+      mArguments.putIntArray("units", com.hannesdorfmann.fragmentargs.bundler.EnumArgs.toOrdinals(units));
+    }
+    return this;
+  }
+
+  public Bundle buildBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    return new Bundle(mArguments);
+  }
+
+  /**
+   * Returns the arguments Bundle without copying it. This builder can't be used anymore afterwards.
+   */
+  public Bundle transferBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    mTransferred = true;
+    return mArguments;
+  }
+
+  private void checkNotTransferred() {
+    if (mTransferred) {
+      throw new IllegalStateException("The arguments have already been transferred by transferBundle(), this builder can't be used anymore");
+    }
+  }
+
+  public static final void injectArguments(EnumFragment fragment) {
+    Bundle args = fragment.getArguments();
+    if (args == null) {
+      throw new IllegalStateException("No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? ");
+    }
+
+    long presence0 = EnumFragmentBuilder.readPresenceFlags0(args);
+
+    if (!args.containsKey("mode")) {
+      throw new IllegalStateException("required argument mode is not set");
+    }
+    fragment.mode = com.hannesdorfmann.fragmentargs.bundler.EnumArgs.fromOrdinal(args.getInt("mode", -1), enumValues1);
+
+    if ((presence0 & 0x2L) != 0) {
+      fragment.modes = com.hannesdorfmann.fragmentargs.bundler.EnumArgs.fromOrdinals(args.getIntArray("modes"), enumValues1);
+    }
+
+    if ((presence0 & 0x1L) != 0) {
+      fragment.modeList = com.hannesdorfmann.fragmentargs.bundler.EnumArgs.listFromOrdinals(args.getIntArray("modeList"), enumValues1);
+    }
+
+    if ((presence0 & 0x4L) != 0) {
+      fragment.units = com.hannesdorfmann.fragmentargs.bundler.EnumArgs.listFromOrdinals(args.getIntArray("units"), enumValues2);
+    }
+  }
+
+  static long readPresenceFlags0(Bundle args) {
+    long presence = args.getLong("_fa_p0", -1L);
+    if (presence < 0) {
+      // Bundle has not been created by the builder
+      presence = 0;
+      if (args.containsKey("modeList")) {
+        presence |= 0x1L;
+      }
+      if (args.containsKey("modes")) {
+        presence |= 0x2L;
+      }
+      if (args.containsKey("units")) {
+        presence |= 0x4L;
+      }
+    }
+    return presence;
+  }
+
+  public EnumFragment build() {
+    checkNotTransferred();
+    EnumFragment fragment = new EnumFragment();
+    mArguments.putLong("_fa_p0", mPresence0);
+    fragment.setArguments(mArguments);
+    return fragment;
+  }
+}
@@ -0,0 +1,157 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+
+public final class EnumNamesFragmentBuilder {
+
+  private final Bundle mArguments = new Bundle(5);
+  private boolean mTransferred;
+  private long mPresence0;
+
+  public EnumNamesFragmentBuilder(EnumNamesFragment.Mode mode) {
+
+    mArguments.putString("mode", com.hannesdorfmann.fragmentargs.bundler.EnumArgs.toName(mode));
+  }
+
+  public static EnumNamesFragment newEnumNamesFragment(EnumNamesFragment.Mode mode) {
+    return new EnumNamesFragmentBuilder(mode).build();
+  }
+
+  /**
+   * Creates the arguments Bundle without creating a builder. Optional arguments that are null are not set.
+   */
+  public static Bundle bundleEnumNamesFragment(EnumNamesFragment.Mode mode, java.util.List<EnumNamesFragment.Mode> modeList, EnumNamesFragment.Mode[] modes, java.util.ArrayList<java.util.concurrent.TimeUnit> units) {
+    Bundle bundle = new Bundle(5);
+    long presence0 = 0;
+
+    bundle.putString("mode", com.hannesdorfmann.fragmentargs.bundler.EnumArgs.toName(mode));
+
+    if (modeList != null) {
+      presence0 |= 0x1L;
+      bundle.putStringArray("modeList", com.hannesdorfmann.fragmentargs.bundler.EnumArgs.toNames(modeList));
+    }
+
+    if (modes != null) {
+      presence0 |= 0x2L;
+      bundle.putStringArray("modes", com.hannesdorfmann.fragmentargs.bundler.EnumArgs.toNames(modes));
+    }
+
+    if (units != null) {
+      presence0 |= 0x4L;
+      bundle.putStringArray("units", com.hannesdorfmann.fragmentargs.bundler.EnumArgs.toNames(units));
+    }
+
+    bundle.putLong("_fa_p0", presence0);
+    return bundle;
+  }
+
+  public static EnumNamesFragment newEnumNamesFragment(EnumNamesFragment.Mode mode, java.util.List<EnumNamesFragment.Mode> modeList, EnumNamesFragment.Mode[] modes, java.util.ArrayList<java.util.concurrent.TimeUnit> units) {
+    EnumNamesFragment fragment = new EnumNamesFragment();
+    fragment.setArguments(bundleEnumNamesFragment(mode, modeList, modes, units));
+    return fragment;
+  }
+
+  public EnumNamesFragmentBuilder modeList(java.util.List<EnumNamesFragment.Mode> modeList) {
+    checkNotTransferred();
+
+    if (modeList != null) {
+      mPresence0 |= 0x1L;
+      mArguments.putStringArray("modeList", com.hannesdorfmann.fragmentargs.bundler.EnumArgs.toNames(modeList));
+    }
+    return this;
+  }
+
+  public EnumNamesFragmentBuilder modes(EnumNamesFragment.Mode[] modes) {
+    checkNotTransferred();
+
+    if (modes != null) {
+      mPresence0 |= 0x2L;
+      mArguments.putStringArray("modes", com.hannesdorfmann.fragmentargs.bundler.EnumArgs.toNames(modes));
+    }
+    return this;
+  }
+
+  public EnumNamesFragmentBuilder units(java.util.ArrayList<java.util.concurrent.TimeUnit> units) {
+    checkNotTransferred();
+
+    if (units != null) {
+      mPresence0 |= 0x4L;
+      mArguments.putStringArray("units", com.hannesdorfmann.fragmentargs.bundler.EnumArgs.toNames(units));
+    }
+    return this;
+  }
+
+  public Bundle buildBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    return new Bundle(mArguments);
+  }
+
+  /**
+   * Returns the arguments Bundle without copying it. This builder can't be used anymore afterwards.
+   */
+  public Bundle transferBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    mTransferred = true;
+    return mArguments;
+  }
+
+  private void checkNotTransferred() {
+    if (mTransferred) {
+      throw new IllegalStateException("The arguments have already been transferred by transferBundle(), this builder can't be used anymore");
+    }
+  }
+
+  public static final void injectArguments(EnumNamesFragment fragment) {
+    Bundle args = fragment.getArguments();
+    if (args == null) {
+      throw new IllegalStateException("No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? ");
+    }
+
+    long presence0 = EnumNamesFragmentBuilder.readPresenceFlags0(args);
+
+    if (!args.containsKey("mode")) {
+      throw new IllegalStateException("required argument mode is not set");
+    }
+    fragment.mode = com.hannesdorfmann.fragmentargs.bundler.EnumArgs.fromName(args.getString("mode"), com.hannesdorfmann.fragmentargs.processor.test.EnumNamesFragment.Mode.class);
+
+    if ((presence0 & 0x2L) != 0) {
+      fragment.modes = com.hannesdorfmann.fragmentargs.bundler.EnumArgs.fromNames(args.getStringArray("modes"), com.hannesdorfmann.fragmentargs.processor.test.EnumNamesFragment.Mode.class);
+    }
+
+    if ((presence0 & 0x1L) != 0) {
+      fragment.modeList = com.hannesdorfmann.fragmentargs.bundler.EnumArgs.listFromNames(args.getStringArray("modeList"), com.hannesdorfmann.fragmentargs.processor.test.EnumNamesFragment.Mode.class);
+    }
+
+    if ((presence0 & 0x4L) != 0) {
+      fragment.units = com.hannesdorfmann.fragmentargs.bundler.EnumArgs.listFromNames(args.getStringArray("units"), java.util.concurrent.TimeUnit.class);
+    }
+  }
+
+  static long readPresenceFlags0(Bundle args) {
+    long presence = args.getLong("_fa_p0", -1L);
+    if (presence < 0) {
+      // Bundle has not been created by the builder
+      presence = 0;
+      if (args.containsKey("modeList")) {
+        presence |= 0x1L;
+      }
+      if (args.containsKey("modes")) {
+        presence |= 0x2L;
+      }
+      if (args.containsKey("units")) {
+        presence |= 0x4L;
+      }
+    }
+    return presence;
+  }
+
+  public EnumNamesFragment build() {
+    checkNotTransferred();
+    EnumNamesFragment fragment = new EnumNamesFragment();
+    mArguments.putLong("_fa_p0", mPresence0);
+    fragment.setArguments(mArguments);
+    return fragment;
+  }
+}
@@ -4,7 +4,8 @@ import android.os.Bundle;
 
 public final class InnerClassWithProtectedFieldBuilder {
 
-    private final Bundle mArguments = new Bundle();
+    private final Bundle mArguments = new Bundle(1);
+    private boolean mTransferred;
 
     public InnerClassWithProtectedFieldBuilder(String arg) {
 
@@ -16,9 +17,25 @@ public final class InnerClassWithProtectedFieldBuilder {
     }
 
     public Bundle buildBundle() {
+        checkNotTransferred();
         return new Bundle(mArguments);
     }
 
+    /**
+     * Returns the arguments Bundle without copying it. This builder can't be used anymore afterwards.
+     */
+    public Bundle transferBundle() {
+        checkNotTransferred();
+        mTransferred = true;
+        return mArguments;
+    }
+
+    private void checkNotTransferred() {
+        if (mTransferred) {
+            throw new IllegalStateException("The arguments have already been transferred by transferBundle(), this builder can't be used anymore");
+        }
+    }
+
     public static final void injectArguments(InnerClassWithProtectedField fragment) {
         Bundle args = fragment.getArguments();
         if (args == null) {
@@ -32,6 +49,7 @@ public final class InnerClassWithProtectedFieldBuilder {
     }
 
     public InnerClassWithProtectedField build() {
+        checkNotTransferred();
         InnerClassWithProtectedField fragment = new InnerClassWithProtectedField();
         fragment.setArguments(mArguments);
         return fragment;
@@ -0,0 +1,11 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+@com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs(lazyArgs = true)
+public class LazyArgsFragment extends android.app.Fragment {
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg
+    String title;
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg(required = false)
+    int mCount;
+}
@@ -0,0 +1,45 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+
+public final class LazyArgsFragmentLazyArgs {
+
+  private final Bundle mArguments;
+  private long mRead0;
+  private int mCount;
+  private String mTitle;
+
+  public LazyArgsFragmentLazyArgs(Bundle arguments) {
+    this.mArguments = arguments;
+  }
+
+  public static LazyArgsFragmentLazyArgs of(LazyArgsFragment fragment) {
+    Bundle args = fragment.getArguments();
+    if (args == null) {
+      throw new IllegalStateException("No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? ");
+    }
+    return new LazyArgsFragmentLazyArgs(args);
+  }
+
+  public int getCount() {
+    if ((mRead0 & 0x1L) == 0) {
+      long presence0 = LazyArgsFragmentBuilder.readPresenceFlags0(mArguments);
+      if ((presence0 & 0x1L) != 0) {
+        mCount = mArguments.getInt("count");
+      }
+      mRead0 |= 0x1L;
+    }
+    return mCount;
+  }
+
+  public String getTitle() {
+    if ((mRead0 & 0x2L) == 0) {
+      if (!mArguments.containsKey("title")) {
+        throw new IllegalStateException("required argument title is not set");
+      }
+      mTitle = mArguments.getString("title");
+      mRead0 |= 0x2L;
+    }
+    return mTitle;
+  }
+}
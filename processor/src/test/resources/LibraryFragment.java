@@ -0,0 +1,6 @@
+package com.hannesdorfmann.fragmentargs.processor.test.lib;
+
+public class LibraryFragment extends android.app.Fragment {
+
+    String arg;
+}
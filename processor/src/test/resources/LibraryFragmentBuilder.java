@@ -0,0 +1,8 @@
+package com.hannesdorfmann.fragmentargs.processor.test.lib;
+
+public final class LibraryFragmentBuilder {
+
+    public static final void injectArguments(LibraryFragment fragment) {
+        fragment.arg = fragment.getArguments().getString("arg");
+    }
+}
@@ -0,0 +1,10 @@
+package com.hannesdorfmann.fragmentargs.index;
+
+@com.hannesdorfmann.fragmentargs.annotation.FragmentArgsIndex({
+    "com.hannesdorfmann.fragmentargs.processor.test.lib.LibraryFragment"
+})
+final class FragmentArgsIndex$$lib {
+
+    private FragmentArgsIndex$$lib() {
+    }
+}
@@ -0,0 +1,19 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.content.Intent;
+
+import com.hannesdorfmann.fragmentargs.annotation.Arg;
+import com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+
+@FragmentWithArgs
+public class ListSubtypesFragment extends android.app.Fragment {
+
+    @Arg
+    LinkedList<String> names;
+
+    @Arg(required = false)
+    ArrayList<Intent> intents;
+}
@@ -0,0 +1,113 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+
+public final class ListSubtypesFragmentBuilder {
+
+  private final Bundle mArguments = new Bundle(3);
+  private boolean mTransferred;
+  private long mPresence0;
+
+  public ListSubtypesFragmentBuilder(java.util.LinkedList<String> names) {
+
+    mArguments.putSerializable("names", names);
+  }
+
+  public static ListSubtypesFragment newListSubtypesFragment(java.util.LinkedList<String> names) {
+    return new ListSubtypesFragmentBuilder(names).build();
+  }
+
+  /**
+   * Creates the arguments Bundle without creating a builder. Optional arguments that are null are not set.
+   */
+  public static Bundle bundleListSubtypesFragment(java.util.LinkedList<String> names, java.util.ArrayList<android.content.Intent> intents) {
+    Bundle bundle = new Bundle(3);
+    long presence0 = 0;
+
+    bundle.putSerializable("names", names);
+
+    if (intents != null) {
+      presence0 |= 0x1L;
+      bundle.putParcelableArrayList("intents", intents);
+    }
+
+    bundle.putLong("_fa_p0", presence0);
+    return bundle;
+  }
+
+  public static ListSubtypesFragment newListSubtypesFragment(java.util.LinkedList<String> names, java.util.ArrayList<android.content.Intent> intents) {
+    ListSubtypesFragment fragment = new ListSubtypesFragment();
+    fragment.setArguments(bundleListSubtypesFragment(names, intents));
+    return fragment;
+  }
+
+  public ListSubtypesFragmentBuilder intents(java.util.ArrayList<android.content.Intent> intents) {
+    checkNotTransferred();
+
+    if (intents != null) {
+      mPresence0 |= 0x1L;
+      mArguments.putParcelableArrayList("intents", intents);
+    }
+    return this;
+  }
+
+  public Bundle buildBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    return new Bundle(mArguments);
+  }
+
+  /**
+   * Returns the arguments Bundle without copying it. This builder can't be used anymore afterwards.
+   */
+  public Bundle transferBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    mTransferred = true;
+    return mArguments;
+  }
+
+  private void checkNotTransferred() {
+    if (mTransferred) {
+      throw new IllegalStateException("The arguments have already been transferred by transferBundle(), this builder can't be used anymore");
+    }
+  }
+
+  public static final void injectArguments(ListSubtypesFragment fragment) {
+    Bundle args = fragment.getArguments();
+    if (args == null) {
+      throw new IllegalStateException("No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? ");
+    }
+
+    long presence0 = ListSubtypesFragmentBuilder.readPresenceFlags0(args);
+
+    if ((presence0 & 0x1L) != 0) {
+      fragment.intents = args.getParcelableArrayList("intents");
+    }
+
+    if (!args.containsKey("names")) {
+      throw new IllegalStateException("required argument names is not set");
+    }
+    fragment.names = (java.util.LinkedList<java.lang.String>) args.getSerializable("names");
+  }
+
+  static long readPresenceFlags0(Bundle args) {
+    long presence = args.getLong("_fa_p0", -1L);
+    if (presence < 0) {
+      // Bundle has not been created by the builder
+      presence = 0;
+      if (args.containsKey("intents")) {
+        presence |= 0x1L;
+      }
+    }
+    return presence;
+  }
+
+  public ListSubtypesFragment build() {
+    checkNotTransferred();
+    ListSubtypesFragment fragment = new ListSubtypesFragment();
+    mArguments.putLong("_fa_p0", mPresence0);
+    fragment.setArguments(mArguments);
+    return fragment;
+  }
+}
@@ -0,0 +1,33 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.content.Intent;
+
+import com.hannesdorfmann.fragmentargs.annotation.Arg;
+import com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+@FragmentWithArgs
+public class MapArgsFragment extends android.app.Fragment {
+
+    public enum Mode {
+        VIEW, EDIT
+    }
+
+    @Arg
+    Map<String, String> labels;
+
+    @Arg(required = false)
+    HashMap<String, Integer> counts;
+
+    @Arg(required = false)
+    Map<String, Mode> modes;
+
+    @Arg(required = false)
+    Map<String, Intent> intents;
+
+    @Arg(required = false)
+    Map<String, ArrayList<String>> groups;
+}
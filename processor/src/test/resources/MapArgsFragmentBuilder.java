@@ -0,0 +1,321 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+
+public final class MapArgsFragmentBuilder {
+
+  private static final MapArgsFragment.Mode[] enumValues1 = com.hannesdorfmann.fragmentargs.processor.test.MapArgsFragment.Mode.values();
+
+  private final Bundle mArguments = new Bundle(6);
+  private boolean mTransferred;
+  private long mPresence0;
+
+  public MapArgsFragmentBuilder(java.util.Map<String,String> labels) {
+
+    mArguments.putBundle("labels", MapArgsFragmentBuilder.writeLabelsMap(labels));
+  }
+
+  public static MapArgsFragment newMapArgsFragment(java.util.Map<String,String> labels) {
+    return new MapArgsFragmentBuilder(labels).build();
+  }
+
+  /**
+   * Creates the arguments Bundle without creating a builder. Optional arguments that are null are not set.
+   */
+  public static Bundle bundleMapArgsFragment(java.util.Map<String,String> labels, java.util.HashMap<String,Integer> counts, java.util.Map<String,java.util.ArrayList<String>> groups, java.util.Map<String,android.content.Intent> intents, java.util.Map<String,MapArgsFragment.Mode> modes) {
+    Bundle bundle = new Bundle(6);
+    long presence0 = 0;
+
+    bundle.putBundle("labels", MapArgsFragmentBuilder.writeLabelsMap(labels));
+
+    if (counts != null) {
+      presence0 |= 0x1L;
+      bundle.putBundle("counts", MapArgsFragmentBuilder.writeCountsMap(counts));
+    }
+
+    if (groups != null) {
+      presence0 |= 0x2L;
+      bundle.putBundle("groups", MapArgsFragmentBuilder.writeGroupsMap(groups));
+    }
+
+    if (intents != null) {
+      presence0 |= 0x4L;
+      bundle.putBundle("intents", MapArgsFragmentBuilder.writeIntentsMap(intents));
+    }
+
+    if (modes != null) {
+      presence0 |= 0x8L;
+      bundle.putBundle("modes", MapArgsFragmentBuilder.writeModesMap(modes));
+    }
+
+    bundle.putLong("_fa_p0", presence0);
+    return bundle;
+  }
+
+  public static MapArgsFragment newMapArgsFragment(java.util.Map<String,String> labels, java.util.HashMap<String,Integer> counts, java.util.Map<String,java.util.ArrayList<String>> groups, java.util.Map<String,android.content.Intent> intents, java.util.Map<String,MapArgsFragment.Mode> modes) {
+    MapArgsFragment fragment = new MapArgsFragment();
+    fragment.setArguments(bundleMapArgsFragment(labels, counts, groups, intents, modes));
+    return fragment;
+  }
+
+  public MapArgsFragmentBuilder counts(java.util.HashMap<String,Integer> counts) {
+    checkNotTransferred();
+
+    if (counts != null) {
+      mPresence0 |= 0x1L;
+      mArguments.putBundle("counts", MapArgsFragmentBuilder.writeCountsMap(counts));
+    }
+    return this;
+  }
+
+  public MapArgsFragmentBuilder groups(java.util.Map<String,java.util.ArrayList<String>> groups) {
+    checkNotTransferred();
+
+    if (groups != null) {
+      mPresence0 |= 0x2L;
+      mArguments.putBundle("groups", MapArgsFragmentBuilder.writeGroupsMap(groups));
+    }
+    return this;
+  }
+
+  public MapArgsFragmentBuilder intents(java.util.Map<String,android.content.Intent> intents) {
+    checkNotTransferred();
+
+    if (intents != null) {
+      mPresence0 |= 0x4L;
+      mArguments.putBundle("intents", MapArgsFragmentBuilder.writeIntentsMap(intents));
+    }
+    return this;
+  }
+
+  public MapArgsFragmentBuilder modes(java.util.Map<String,MapArgsFragment.Mode> modes) {
+    checkNotTransferred();
+
+    if (modes != null) {
+      mPresence0 |= 0x8L;
+      mArguments.putBundle("modes", MapArgsFragmentBuilder.writeModesMap(modes));
+    }
+    return this;
+  }
+
+  public Bundle buildBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    return new Bundle(mArguments);
+  }
+
+  /**
+   * Returns the arguments Bundle without copying it. This builder can't be used anymore afterwards.
+   */
+  public Bundle transferBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    mTransferred = true;
+    return mArguments;
+  }
+
+  private void checkNotTransferred() {
+    if (mTransferred) {
+      throw new IllegalStateException("The arguments have already been transferred by transferBundle(), this builder can't be used anymore");
+    }
+  }
+
+  public static final void injectArguments(MapArgsFragment fragment) {
+    Bundle args = fragment.getArguments();
+    if (args == null) {
+      throw new IllegalStateException("No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? ");
+    }
+
+    long presence0 = MapArgsFragmentBuilder.readPresenceFlags0(args);
+
+    if ((presence0 & 0x4L) != 0) {
+      fragment.intents = MapArgsFragmentBuilder.readIntentsMap(args.getBundle("intents"));
+    }
+
+    if ((presence0 & 0x8L) != 0) {
+      fragment.modes = MapArgsFragmentBuilder.readModesMap(args.getBundle("modes"));
+    }
+
+    if ((presence0 & 0x1L) != 0) {
+      fragment.counts = MapArgsFragmentBuilder.readCountsMap(args.getBundle("counts"));
+    }
+
+    if ((presence0 & 0x2L) != 0) {
+      fragment.groups = MapArgsFragmentBuilder.readGroupsMap(args.getBundle("groups"));
+    }
+
+    if (!args.containsKey("labels")) {
+      throw new IllegalStateException("required argument labels is not set");
+    }
+    fragment.labels = MapArgsFragmentBuilder.readLabelsMap(args.getBundle("labels"));
+  }
+
+  static long readPresenceFlags0(Bundle args) {
+    long presence = args.getLong("_fa_p0", -1L);
+    if (presence < 0) {
+      // Bundle has not been created by the builder
+      presence = 0;
+      if (args.containsKey("counts")) {
+        presence |= 0x1L;
+      }
+      if (args.containsKey("groups")) {
+        presence |= 0x2L;
+      }
+      if (args.containsKey("intents")) {
+        presence |= 0x4L;
+      }
+      if (args.containsKey("modes")) {
+        presence |= 0x8L;
+      }
+    }
+    return presence;
+  }
+
+  static Bundle writeCountsMap(java.util.HashMap<String,Integer> map) {
+    if (map == null) {
+      return null;
+    }
+    Bundle bundle = new Bundle(map.size());
+    for (java.util.Map.Entry<String, Integer> entry : map.entrySet()) {
+      Integer value = entry.getValue();
+      if (value == null) {
+        bundle.putString(entry.getKey(), null);
+      } else {
+        bundle.putInt(entry.getKey(), value);
+      }
+    }
+    return bundle;
+  }
+
+  static java.util.HashMap<String, Integer> readCountsMap(Bundle bundle) {
+    if (bundle == null) {
+      return null;
+    }
+    java.util.HashMap<String, Integer> map = new java.util.HashMap<String, Integer>((int) (bundle.size() / 0.75f) + 1);
+    for (String key : bundle.keySet()) {
+      Integer value = bundle.get(key) == null ? null : bundle.getInt(key);
+      map.put(key, value);
+    }
+    return map;
+  }
+
+  static Bundle writeGroupsMap(java.util.Map<String,java.util.ArrayList<String>> map) {
+    if (map == null) {
+      return null;
+    }
+    Bundle bundle = new Bundle(map.size());
+    for (java.util.Map.Entry<String, java.util.ArrayList<String>> entry : map.entrySet()) {
+      java.util.ArrayList<String> value = entry.getValue();
+      if (value == null) {
+        bundle.putString(entry.getKey(), null);
+      } else {
+        bundle.putStringArrayList(entry.getKey(), value);
+      }
+    }
+    return bundle;
+  }
+
+  static java.util.HashMap<String, java.util.ArrayList<String>> readGroupsMap(Bundle bundle) {
+    if (bundle == null) {
+      return null;
+    }
+    java.util.HashMap<String, java.util.ArrayList<String>> map = new java.util.HashMap<String, java.util.ArrayList<String>>((int) (bundle.size() / 0.75f) + 1);
+    for (String key : bundle.keySet()) {
+      java.util.ArrayList<String> value = bundle.getStringArrayList(key);
+      map.put(key, value);
+    }
+    return map;
+  }
+
+  static Bundle writeIntentsMap(java.util.Map<String,android.content.Intent> map) {
+    if (map == null) {
+      return null;
+    }
+    Bundle bundle = new Bundle(map.size());
+    for (java.util.Map.Entry<String, android.content.Intent> entry : map.entrySet()) {
+      android.content.Intent value = entry.getValue();
+      if (value == null) {
+        bundle.putString(entry.getKey(), null);
+      } else {
+        bundle.putParcelable(entry.getKey(), value);
+      }
+    }
+    return bundle;
+  }
+
+  static java.util.HashMap<String, android.content.Intent> readIntentsMap(Bundle bundle) {
+    if (bundle == null) {
+      return null;
+    }
+    java.util.HashMap<String, android.content.Intent> map = new java.util.HashMap<String, android.content.Intent>((int) (bundle.size() / 0.75f) + 1);
+    for (String key : bundle.keySet()) {
+      android.content.Intent value = bundle.getParcelable(key);
+      map.put(key, value);
+    }
+    return map;
+  }
+
+  static Bundle writeLabelsMap(java.util.Map<String,String> map) {
+    if (map == null) {
+      return null;
+    }
+    Bundle bundle = new Bundle(map.size());
+    for (java.util.Map.Entry<String, String> entry : map.entrySet()) {
+      String value = entry.getValue();
+      if (value == null) {
+        bundle.putString(entry.getKey(), null);
+      } else {
+        bundle.putString(entry.getKey(), value);
+      }
+    }
+    return bundle;
+  }
+
+  static java.util.HashMap<String, String> readLabelsMap(Bundle bundle) {
+    if (bundle == null) {
+      return null;
+    }
+    java.util.HashMap<String, String> map = new java.util.HashMap<String, String>((int) (bundle.size() / 0.75f) + 1);
+    for (String key : bundle.keySet()) {
+      String value = bundle.getString(key);
+      map.put(key, value);
+    }
+    return map;
+  }
+
+  static Bundle writeModesMap(java.util.Map<String,MapArgsFragment.Mode> map) {
+    if (map == null) {
+      return null;
+    }
+    Bundle bundle = new Bundle(map.size());
+    for (java.util.Map.Entry<String, MapArgsFragment.Mode> entry : map.entrySet()) {
+      MapArgsFragment.Mode value = entry.getValue();
+      if (value == null) {
+        bundle.putString(entry.getKey(), null);
+      } else {
+        bundle.putInt(entry.getKey(), com.hannesdorfmann.fragmentargs.bundler.EnumArgs.toOrdinal(value));
+      }
+    }
+    return bundle;
+  }
+
+  static java.util.HashMap<String, MapArgsFragment.Mode> readModesMap(Bundle bundle) {
+    if (bundle == null) {
+      return null;
+    }
+    java.util.HashMap<String, MapArgsFragment.Mode> map = new java.util.HashMap<String, MapArgsFragment.Mode>((int) (bundle.size() / 0.75f) + 1);
+    for (String key : bundle.keySet()) {
+      MapArgsFragment.Mode value = bundle.get(key) == null ? null : com.hannesdorfmann.fragmentargs.bundler.EnumArgs.fromOrdinal(bundle.getInt(key, -1), enumValues1);
+      map.put(key, value);
+    }
+    return map;
+  }
+
+  public MapArgsFragment build() {
+    checkNotTransferred();
+    MapArgsFragment fragment = new MapArgsFragment();
+    mArguments.putLong("_fa_p0", mPresence0);
+    fragment.setArguments(mArguments);
+    return fragment;
+  }
+}
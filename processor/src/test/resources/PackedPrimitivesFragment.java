@@ -0,0 +1,26 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+@com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs(packPrimitives = true)
+public class PackedPrimitivesFragment extends android.app.Fragment {
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg
+    int id;
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg
+    String title;
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg(required = false)
+    boolean enabled = true;
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg(required = false)
+    double factor;
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg(required = false)
+    float ratio;
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg(required = false)
+    char separator;
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg(required = false)
+    int[] numbers;
+}
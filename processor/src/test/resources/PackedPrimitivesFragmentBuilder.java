@@ -0,0 +1,209 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+
+public final class PackedPrimitivesFragmentBuilder {
+
+  private final Bundle mArguments = new Bundle(4);
+  private boolean mTransferred;
+  private long mPresence0;
+  private final long[] mPacked = new long[5];
+
+  public PackedPrimitivesFragmentBuilder(int id, String title) {
+
+    mPacked[2] = id;
+
+    mArguments.putString("title", title);
+  }
+
+  public static PackedPrimitivesFragment newPackedPrimitivesFragment(int id, String title) {
+    return new PackedPrimitivesFragmentBuilder(id, title).build();
+  }
+
+  /**
+   * Creates the arguments Bundle without creating a builder. Optional arguments that are null are not set.
+   */
+  public static Bundle bundlePackedPrimitivesFragment(int id, String title, Boolean enabled, Double factor, int[] numbers, Float ratio, Character separator) {
+    Bundle bundle = new Bundle(4);
+    long presence0 = 0;
+    long[] packed = new long[5];
+
+    packed[2] = id;
+
+    bundle.putString("title", title);
+
+    if (enabled != null) {
+      presence0 |= 0x1L;
+      packed[0] = enabled ? 1L : 0L;
+    }
+
+    if (factor != null) {
+      presence0 |= 0x2L;
+      packed[1] = Double.doubleToRawLongBits(factor);
+    }
+
+    if (numbers != null) {
+      presence0 |= 0x4L;
+      bundle.putIntArray("numbers", numbers);
+    }
+
+    if (ratio != null) {
+      presence0 |= 0x8L;
+      packed[3] = Float.floatToRawIntBits(ratio);
+    }
+
+    if (separator != null) {
+      presence0 |= 0x10L;
+      packed[4] = separator;
+    }
+
+    bundle.putLong("_fa_p0", presence0);
+    bundle.putLongArray("_fa_v", packed);
+    return bundle;
+  }
+
+  public static PackedPrimitivesFragment newPackedPrimitivesFragment(int id, String title, Boolean enabled, Double factor, int[] numbers, Float ratio, Character separator) {
+    PackedPrimitivesFragment fragment = new PackedPrimitivesFragment();
+    fragment.setArguments(bundlePackedPrimitivesFragment(id, title, enabled, factor, numbers, ratio, separator));
+    return fragment;
+  }
+
+  public PackedPrimitivesFragmentBuilder enabled(boolean enabled) {
+    checkNotTransferred();
+
+    mPresence0 |= 0x1L;
+    mPacked[0] = enabled ? 1L : 0L;
+    return this;
+  }
+
+  public PackedPrimitivesFragmentBuilder factor(double factor) {
+    checkNotTransferred();
+
+    mPresence0 |= 0x2L;
+    mPacked[1] = Double.doubleToRawLongBits(factor);
+    return this;
+  }
+
+  public PackedPrimitivesFragmentBuilder numbers(int[] numbers) {
+    checkNotTransferred();
+
+    if (numbers != null) {
+      mPresence0 |= 0x4L;
+      mArguments.putIntArray("numbers", numbers);
+    }
+    return this;
+  }
+
+  public PackedPrimitivesFragmentBuilder ratio(float ratio) {
+    checkNotTransferred();
+
+    mPresence0 |= 0x8L;
+    mPacked[3] = Float.floatToRawIntBits(ratio);
+    return this;
+  }
+
+  public PackedPrimitivesFragmentBuilder separator(char separator) {
+    checkNotTransferred();
+
+    mPresence0 |= 0x10L;
+    mPacked[4] = separator;
+    return this;
+  }
+
+  public Bundle buildBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    mArguments.putLongArray("_fa_v", mPacked.clone());
+    return new Bundle(mArguments);
+  }
+
+  /**
+   * Returns the arguments Bundle without copying it. This builder can't be used anymore afterwards.
+   */
+  public Bundle transferBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    mArguments.putLongArray("_fa_v", mPacked.clone());
+    mTransferred = true;
+    return mArguments;
+  }
+
+  private void checkNotTransferred() {
+    if (mTransferred) {
+      throw new IllegalStateException("The arguments have already been transferred by transferBundle(), this builder can't be used anymore");
+    }
+  }
+
+  public static final void injectArguments(PackedPrimitivesFragment fragment) {
+    Bundle args = fragment.getArguments();
+    if (args == null) {
+      throw new IllegalStateException("No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? ");
+    }
+
+    long presence0 = PackedPrimitivesFragmentBuilder.readPresenceFlags0(args);
+    long[] packed = args.getLongArray("_fa_v");
+
+    if ((presence0 & 0x4L) != 0) {
+      fragment.numbers = args.getIntArray("numbers");
+    }
+
+    if (packed == null && !args.containsKey("id")) {
+      throw new IllegalStateException("required argument id is not set");
+    }
+    fragment.id = packed != null ? (int) packed[2] : args.getInt("id");
+
+    if (!args.containsKey("title")) {
+      throw new IllegalStateException("required argument title is not set");
+    }
+    fragment.title = args.getString("title");
+
+    if ((presence0 & 0x2L) != 0) {
+      fragment.factor = packed != null ? Double.longBitsToDouble(packed[1]) : args.getDouble("factor");
+    }
+
+    if ((presence0 & 0x10L) != 0) {
+      fragment.separator = packed != null ? (char) packed[4] : args.getChar("separator");
+    }
+
+    if ((presence0 & 0x1L) != 0) {
+      fragment.enabled = packed != null ? packed[0] != 0 : args.getBoolean("enabled");
+    }
+
+    if ((presence0 & 0x8L) != 0) {
+      fragment.ratio = packed != null ? Float.intBitsToFloat((int) packed[3]) : args.getFloat("ratio");
+    }
+  }
+
+  static long readPresenceFlags0(Bundle args) {
+    long presence = args.getLong("_fa_p0", -1L);
+    if (presence < 0) {
+      // Bundle has not been created by the builder
+      presence = 0;
+      if (args.containsKey("enabled")) {
+        presence |= 0x1L;
+      }
+      if (args.containsKey("factor")) {
+        presence |= 0x2L;
+      }
+      if (args.containsKey("numbers")) {
+        presence |= 0x4L;
+      }
+      if (args.containsKey("ratio")) {
+        presence |= 0x8L;
+      }
+      if (args.containsKey("separator")) {
+        presence |= 0x10L;
+      }
+    }
+    return presence;
+  }
+
+  public PackedPrimitivesFragment build() {
+    checkNotTransferred();
+    PackedPrimitivesFragment fragment = new PackedPrimitivesFragment();
+    mArguments.putLong("_fa_p0", mPresence0);
+    mArguments.putLongArray("_fa_v", mPacked.clone());
+    fragment.setArguments(mArguments);
+    return fragment;
+  }
+}
@@ -0,0 +1,54 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import com.hannesdorfmann.fragmentargs.annotation.Arg;
+import com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs;
+import com.hannesdorfmann.fragmentargs.bundler.DirectParcelerArgsBundler;
+import com.hannesdorfmann.fragmentargs.bundler.ParcelerArgsBundler;
+
+import org.parceler.ParcelWrapper;
+
+@FragmentWithArgs
+public class ParcelerFragment extends android.app.Fragment {
+
+    @org.parceler.Parcel
+    public static class User {
+        String name;
+    }
+
+    @Arg(bundler = DirectParcelerArgsBundler.class)
+    User user;
+
+    @Arg(required = false, bundler = DirectParcelerArgsBundler.class)
+    User friend;
+
+    @Arg(required = false, bundler = ParcelerArgsBundler.class)
+    User other;
+}
+
+// Generated by Parceler
+class ParcelerFragment$User$$Parcelable implements Parcelable, ParcelWrapper<ParcelerFragment.User> {
+
+    private final ParcelerFragment.User user;
+
+    public ParcelerFragment$User$$Parcelable(ParcelerFragment.User user) {
+        this.user = user;
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeString(user.name);
+    }
+
+    @Override
+    public ParcelerFragment.User getParcel() {
+        return user;
+    }
+}
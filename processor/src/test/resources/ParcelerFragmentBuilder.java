@@ -0,0 +1,173 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+import com.hannesdorfmann.fragmentargs.ArgsBundlers$$ad08fdab;
+
+public final class ParcelerFragmentBuilder {
+
+  private final Bundle mArguments = new Bundle(4);
+  private boolean mTransferred;
+  private long mPresence0;
+
+  public ParcelerFragmentBuilder(ParcelerFragment.User user) {
+
+    mPresence0 |= 0x4L;
+    ParcelerFragmentBuilder.writeUserParcel("user", user, mArguments);
+  }
+
+  public static ParcelerFragment newParcelerFragment(ParcelerFragment.User user) {
+    return new ParcelerFragmentBuilder(user).build();
+  }
+
+  /**
+   * Creates the arguments Bundle without creating a builder. Optional arguments that are null are not set.
+   */
+  public static Bundle bundleParcelerFragment(ParcelerFragment.User user, ParcelerFragment.User friend, ParcelerFragment.User other) {
+    Bundle bundle = new Bundle(4);
+    long presence0 = 0;
+
+    presence0 |= 0x4L;
+    ParcelerFragmentBuilder.writeUserParcel("user", user, bundle);
+
+    if (friend != null) {
+      presence0 |= 0x1L;
+      ParcelerFragmentBuilder.writeFriendParcel("friend", friend, bundle);
+    }
+
+    if (other != null) {
+      presence0 |= 0x2L;
+      ArgsBundlers$$ad08fdab.getParcelerArgsBundler().put("other", other, bundle);
+    }
+
+    bundle.putLong("_fa_p0", presence0);
+    return bundle;
+  }
+
+  public static ParcelerFragment newParcelerFragment(ParcelerFragment.User user, ParcelerFragment.User friend, ParcelerFragment.User other) {
+    ParcelerFragment fragment = new ParcelerFragment();
+    fragment.setArguments(bundleParcelerFragment(user, friend, other));
+    return fragment;
+  }
+
+  public ParcelerFragmentBuilder friend(ParcelerFragment.User friend) {
+    checkNotTransferred();
+
+    if (friend != null) {
+      mPresence0 |= 0x1L;
+      ParcelerFragmentBuilder.writeFriendParcel("friend", friend, mArguments);
+    }
+    return this;
+  }
+
+  public ParcelerFragmentBuilder other(ParcelerFragment.User other) {
+    checkNotTransferred();
+
+    if (other != null) {
+      mPresence0 |= 0x2L;
+      ArgsBundlers$$ad08fdab.getParcelerArgsBundler().put("other", other, mArguments);
+    }
+    return this;
+  }
+
+  public Bundle buildBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    return new Bundle(mArguments);
+  }
+
+  /**
+   * Returns the arguments Bundle without copying it. This builder can't be used anymore afterwards.
+   */
+  public Bundle transferBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    mTransferred = true;
+    return mArguments;
+  }
+
+  private void checkNotTransferred() {
+    if (mTransferred) {
+      throw new IllegalStateException("The arguments have already been transferred by transferBundle(), this builder can't be used anymore");
+    }
+  }
+
+  public static final void injectArguments(ParcelerFragment fragment) {
+    Bundle args = fragment.getArguments();
+    if (args == null) {
+      throw new IllegalStateException("No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? ");
+    }
+
+    long presence0 = ParcelerFragmentBuilder.readPresenceFlags0(args);
+
+    if ((presence0 & 0x2L) != 0) {
+      fragment.other = ArgsBundlers$$ad08fdab.getParcelerArgsBundler().get("other", args);
+    }
+
+    if ((presence0 & 0x1L) != 0) {
+      fragment.friend = ParcelerFragmentBuilder.readFriendParcel("friend", args);
+    }
+
+    if ((presence0 & 0x4L) == 0) {
+      throw new IllegalStateException("required argument user is not set");
+    }
+    fragment.user = ParcelerFragmentBuilder.readUserParcel("user", args);
+  }
+
+  static long readPresenceFlags0(Bundle args) {
+    long presence = args.getLong("_fa_p0", -1L);
+    if (presence < 0) {
+      // Bundle has not been created by the builder
+      presence = 0;
+      if (args.getBoolean("com.hannesdorfmann.fragmentargs.custom.bundler.2312A478rand.friend")) {
+        presence |= 0x1L;
+      }
+      if (args.getBoolean("com.hannesdorfmann.fragmentargs.custom.bundler.2312A478rand.other")) {
+        presence |= 0x2L;
+      }
+      if (args.containsKey("com.hannesdorfmann.fragmentargs.custom.bundler.2312A478rand.user")) {
+        presence |= 0x4L;
+      }
+    }
+    return presence;
+  }
+
+  static void writeFriendParcel(String key, ParcelerFragment.User value, Bundle bundle) {
+    if (value != null && value.getClass() == ParcelerFragment.User.class) {
+      bundle.putParcelable(key, new ParcelerFragment$User$$Parcelable(value));
+    } else {
+      ArgsBundlers$$ad08fdab.getDirectParcelerArgsBundler().put(key, value, bundle);
+    }
+  }
+
+  static ParcelerFragment.User readFriendParcel(String key, Bundle bundle) {
+    android.os.Parcelable parcelable = bundle.getParcelable(key);
+    if (parcelable instanceof ParcelerFragment$User$$Parcelable) {
+      return ((ParcelerFragment$User$$Parcelable) parcelable).getParcel();
+    }
+    return ArgsBundlers$$ad08fdab.getDirectParcelerArgsBundler().get(key, bundle);
+  }
+
+  static void writeUserParcel(String key, ParcelerFragment.User value, Bundle bundle) {
+    if (value != null && value.getClass() == ParcelerFragment.User.class) {
+      bundle.putParcelable(key, new ParcelerFragment$User$$Parcelable(value));
+    } else {
+      ArgsBundlers$$ad08fdab.getDirectParcelerArgsBundler().put(key, value, bundle);
+    }
+  }
+
+  static ParcelerFragment.User readUserParcel(String key, Bundle bundle) {
+    android.os.Parcelable parcelable = bundle.getParcelable(key);
+    if (parcelable instanceof ParcelerFragment$User$$Parcelable) {
+      return ((ParcelerFragment$User$$Parcelable) parcelable).getParcel();
+    }
+    return ArgsBundlers$$ad08fdab.getDirectParcelerArgsBundler().get(key, bundle);
+  }
+
+  public ParcelerFragment build() {
+    checkNotTransferred();
+    ParcelerFragment fragment = new ParcelerFragment();
+    mArguments.putLong("_fa_p0", mPresence0);
+    fragment.setArguments(mArguments);
+    return fragment;
+  }
+}
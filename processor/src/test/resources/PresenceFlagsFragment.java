@@ -0,0 +1,23 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import com.hannesdorfmann.fragmentargs.annotation.Arg;
+import com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs;
+import com.hannesdorfmann.fragmentargs.bundler.CastedArrayListArgsBundler;
+
+import java.util.List;
+
+@FragmentWithArgs
+public class PresenceFlagsFragment extends android.app.Fragment {
+
+    @Arg
+    String title;
+
+    @Arg(bundler = CastedArrayListArgsBundler.class)
+    List<android.os.Parcelable> items;
+
+    @Arg(required = false)
+    int count;
+
+    @Arg(required = false)
+    String subtitle;
+}
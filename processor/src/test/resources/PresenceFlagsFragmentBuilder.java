@@ -0,0 +1,148 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+import com.hannesdorfmann.fragmentargs.ArgsBundlers$$218b59f5;
+
+public final class PresenceFlagsFragmentBuilder {
+
+  private final Bundle mArguments = new Bundle(5);
+  private boolean mTransferred;
+  private long mPresence0;
+
+  public PresenceFlagsFragmentBuilder(java.util.List<android.os.Parcelable> items, String title) {
+
+    mPresence0 |= 0x2L;
+    ArgsBundlers$$218b59f5.getCastedArrayListArgsBundler().put("items", items, mArguments);
+
+    mArguments.putString("title", title);
+  }
+
+  public static PresenceFlagsFragment newPresenceFlagsFragment(java.util.List<android.os.Parcelable> items, String title) {
+    return new PresenceFlagsFragmentBuilder(items, title).build();
+  }
+
+  /**
+   * Creates the arguments Bundle without creating a builder. Optional arguments that are null are not set.
+   */
+  public static Bundle bundlePresenceFlagsFragment(java.util.List<android.os.Parcelable> items, String title, Integer count, String subtitle) {
+    Bundle bundle = new Bundle(5);
+    long presence0 = 0;
+
+    presence0 |= 0x2L;
+    ArgsBundlers$$218b59f5.getCastedArrayListArgsBundler().put("items", items, bundle);
+
+    bundle.putString("title", title);
+
+    if (count != null) {
+      presence0 |= 0x1L;
+      bundle.putInt("count", count);
+    }
+
+    if (subtitle != null) {
+      presence0 |= 0x4L;
+      bundle.putString("subtitle", subtitle);
+    }
+
+    bundle.putLong("_fa_p0", presence0);
+    return bundle;
+  }
+
+  public static PresenceFlagsFragment newPresenceFlagsFragment(java.util.List<android.os.Parcelable> items, String title, Integer count, String subtitle) {
+    PresenceFlagsFragment fragment = new PresenceFlagsFragment();
+    fragment.setArguments(bundlePresenceFlagsFragment(items, title, count, subtitle));
+    return fragment;
+  }
+
+  public PresenceFlagsFragmentBuilder count(int count) {
+    checkNotTransferred();
+
+    mPresence0 |= 0x1L;
+    mArguments.putInt("count", count);
+    return this;
+  }
+
+  public PresenceFlagsFragmentBuilder subtitle(String subtitle) {
+    checkNotTransferred();
+
+    if (subtitle != null) {
+      mPresence0 |= 0x4L;
+      mArguments.putString("subtitle", subtitle);
+    }
+    return this;
+  }
+
+  public Bundle buildBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    return new Bundle(mArguments);
+  }
+
+  /**
+   * Returns the arguments Bundle without copying it. This builder can't be used anymore afterwards.
+   */
+  public Bundle transferBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    mTransferred = true;
+    return mArguments;
+  }
+
+  private void checkNotTransferred() {
+    if (mTransferred) {
+      throw new IllegalStateException("The arguments have already been transferred by transferBundle(), this builder can't be used anymore");
+    }
+  }
+
+  public static final void injectArguments(PresenceFlagsFragment fragment) {
+    Bundle args = fragment.getArguments();
+    if (args == null) {
+      throw new IllegalStateException("No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? ");
+    }
+
+    long presence0 = PresenceFlagsFragmentBuilder.readPresenceFlags0(args);
+
+    if ((presence0 & 0x4L) != 0) {
+      fragment.subtitle = args.getString("subtitle");
+    }
+
+    if ((presence0 & 0x1L) != 0) {
+      fragment.count = args.getInt("count");
+    }
+
+    if (!args.containsKey("title")) {
+      throw new IllegalStateException("required argument title is not set");
+    }
+    fragment.title = args.getString("title");
+
+    if ((presence0 & 0x2L) == 0) {
+      throw new IllegalStateException("required argument items is not set");
+    }
+    fragment.items = ArgsBundlers$$218b59f5.getCastedArrayListArgsBundler().get("items", args);
+  }
+
+  static long readPresenceFlags0(Bundle args) {
+    long presence = args.getLong("_fa_p0", -1L);
+    if (presence < 0) {
+      // Bundle has not been created by the builder
+      presence = 0;
+      if (args.containsKey("count")) {
+        presence |= 0x1L;
+      }
+      if (args.containsKey("com.hannesdorfmann.fragmentargs.custom.bundler.2312A478rand.items")) {
+        presence |= 0x2L;
+      }
+      if (args.containsKey("subtitle")) {
+        presence |= 0x4L;
+      }
+    }
+    return presence;
+  }
+
+  public PresenceFlagsFragment build() {
+    checkNotTransferred();
+    PresenceFlagsFragment fragment = new PresenceFlagsFragment();
+    mArguments.putLong("_fa_p0", mPresence0);
+    fragment.setArguments(mArguments);
+    return fragment;
+  }
+}
@@ -0,0 +1,23 @@
+package com.hannesdorfmann.fragmentargs;
+
+public final class ArgsBundlers$$3f53af7e {
+
+  private ArgsBundlers$$3f53af7e() {
+  }
+
+  public static com.hannesdorfmann.fragmentargs.processor.test.PrimitiveBundlerFragment.IdBundler getIdBundler() {
+    return IdBundlerHolder.INSTANCE;
+  }
+
+  public static com.hannesdorfmann.fragmentargs.processor.test.PrimitiveBundlerFragment.SecondsBundler getSecondsBundler() {
+    return SecondsBundlerHolder.INSTANCE;
+  }
+
+  private static final class IdBundlerHolder {
+    static final com.hannesdorfmann.fragmentargs.processor.test.PrimitiveBundlerFragment.IdBundler INSTANCE = new com.hannesdorfmann.fragmentargs.processor.test.PrimitiveBundlerFragment.IdBundler();
+  }
+
+  private static final class SecondsBundlerHolder {
+    static final com.hannesdorfmann.fragmentargs.processor.test.PrimitiveBundlerFragment.SecondsBundler INSTANCE = new com.hannesdorfmann.fragmentargs.processor.test.PrimitiveBundlerFragment.SecondsBundler();
+  }
+}
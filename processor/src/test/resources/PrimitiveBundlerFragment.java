@@ -0,0 +1,47 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+
+import com.hannesdorfmann.fragmentargs.annotation.Arg;
+import com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs;
+import com.hannesdorfmann.fragmentargs.bundler.IntArgsBundler;
+import com.hannesdorfmann.fragmentargs.bundler.LongArgsBundler;
+
+@FragmentWithArgs
+public class PrimitiveBundlerFragment extends android.app.Fragment {
+
+    public static class IdBundler extends IntArgsBundler {
+
+        @Override
+        public void putInt(String key, int value, Bundle bundle) {
+            bundle.putInt(key, value ^ 0x5555);
+        }
+
+        @Override
+        public int getInt(String key, Bundle bundle) {
+            return bundle.getInt(key) ^ 0x5555;
+        }
+    }
+
+    public static class SecondsBundler extends LongArgsBundler {
+
+        @Override
+        public void putLong(String key, long value, Bundle bundle) {
+            bundle.putInt(key, (int) (value / 1000));
+        }
+
+        @Override
+        public long getLong(String key, Bundle bundle) {
+            return bundle.getInt(key) * 1000L;
+        }
+    }
+
+    @Arg(bundler = IdBundler.class)
+    int id;
+
+    @Arg(required = false, bundler = SecondsBundler.class)
+    long timestamp;
+
+    @Arg(required = false, bundler = IdBundler.class)
+    Integer parentId;
+}
@@ -0,0 +1,139 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+import com.hannesdorfmann.fragmentargs.ArgsBundlers$$3f53af7e;
+
+public final class PrimitiveBundlerFragmentBuilder {
+
+  private final Bundle mArguments = new Bundle(4);
+  private boolean mTransferred;
+  private long mPresence0;
+
+  public PrimitiveBundlerFragmentBuilder(int id) {
+
+    mPresence0 |= 0x1L;
+    ArgsBundlers$$3f53af7e.getIdBundler().putInt("id", id, mArguments);
+  }
+
+  public static PrimitiveBundlerFragment newPrimitiveBundlerFragment(int id) {
+    return new PrimitiveBundlerFragmentBuilder(id).build();
+  }
+
+  /**
+   * Creates the arguments Bundle without creating a builder. Optional arguments that are null are not set.
+   */
+  public static Bundle bundlePrimitiveBundlerFragment(int id, Integer parentId, Long timestamp) {
+    Bundle bundle = new Bundle(4);
+    long presence0 = 0;
+
+    presence0 |= 0x1L;
+    ArgsBundlers$$3f53af7e.getIdBundler().putInt("id", id, bundle);
+
+    if (parentId != null) {
+      presence0 |= 0x2L;
+      ArgsBundlers$$3f53af7e.getIdBundler().put("parentId", parentId, bundle);
+    }
+
+    if (timestamp != null) {
+      presence0 |= 0x4L;
+      ArgsBundlers$$3f53af7e.getSecondsBundler().putLong("timestamp", timestamp, bundle);
+    }
+
+    bundle.putLong("_fa_p0", presence0);
+    return bundle;
+  }
+
+  public static PrimitiveBundlerFragment newPrimitiveBundlerFragment(int id, Integer parentId, Long timestamp) {
+    PrimitiveBundlerFragment fragment = new PrimitiveBundlerFragment();
+    fragment.setArguments(bundlePrimitiveBundlerFragment(id, parentId, timestamp));
+    return fragment;
+  }
+
+  public PrimitiveBundlerFragmentBuilder parentId(Integer parentId) {
+    checkNotTransferred();
+
+    if (parentId != null) {
+      mPresence0 |= 0x2L;
+      ArgsBundlers$$3f53af7e.getIdBundler().put("parentId", parentId, mArguments);
+    }
+    return this;
+  }
+
+  public PrimitiveBundlerFragmentBuilder timestamp(long timestamp) {
+    checkNotTransferred();
+
+    mPresence0 |= 0x4L;
+    ArgsBundlers$$3f53af7e.getSecondsBundler().putLong("timestamp", timestamp, mArguments);
+    return this;
+  }
+
+  public Bundle buildBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    return new Bundle(mArguments);
+  }
+
+  /**
+   * Returns the arguments Bundle without copying it. This builder can't be used anymore afterwards.
+   */
+  public Bundle transferBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    mTransferred = true;
+    return mArguments;
+  }
+
+  private void checkNotTransferred() {
+    if (mTransferred) {
+      throw new IllegalStateException("The arguments have already been transferred by transferBundle(), this builder can't be used anymore");
+    }
+  }
+
+  public static final void injectArguments(PrimitiveBundlerFragment fragment) {
+    Bundle args = fragment.getArguments();
+    if (args == null) {
+      throw new IllegalStateException("No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? ");
+    }
+
+    long presence0 = PrimitiveBundlerFragmentBuilder.readPresenceFlags0(args);
+
+    if ((presence0 & 0x1L) == 0) {
+      throw new IllegalStateException("required argument id is not set");
+    }
+    fragment.id = ArgsBundlers$$3f53af7e.getIdBundler().getInt("id", args);
+
+    if ((presence0 & 0x2L) != 0) {
+      fragment.parentId = ArgsBundlers$$3f53af7e.getIdBundler().get("parentId", args);
+    }
+
+    if ((presence0 & 0x4L) != 0) {
+      fragment.timestamp = ArgsBundlers$$3f53af7e.getSecondsBundler().getLong("timestamp", args);
+    }
+  }
+
+  static long readPresenceFlags0(Bundle args) {
+    long presence = args.getLong("_fa_p0", -1L);
+    if (presence < 0) {
+      // Bundle has not been created by the builder
+      presence = 0;
+      if (args.containsKey("com.hannesdorfmann.fragmentargs.custom.bundler.2312A478rand.id")) {
+        presence |= 0x1L;
+      }
+      if (args.getBoolean("com.hannesdorfmann.fragmentargs.custom.bundler.2312A478rand.parentId")) {
+        presence |= 0x2L;
+      }
+      if (args.getBoolean("com.hannesdorfmann.fragmentargs.custom.bundler.2312A478rand.timestamp")) {
+        presence |= 0x4L;
+      }
+    }
+    return presence;
+  }
+
+  public PrimitiveBundlerFragment build() {
+    checkNotTransferred();
+    PrimitiveBundlerFragment fragment = new PrimitiveBundlerFragment();
+    mArguments.putLong("_fa_p0", mPresence0);
+    fragment.setArguments(mArguments);
+    return fragment;
+  }
+}
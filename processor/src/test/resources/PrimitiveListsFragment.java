@@ -0,0 +1,33 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import com.hannesdorfmann.fragmentargs.annotation.Arg;
+import com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs;
+import com.hannesdorfmann.fragmentargs.bundler.BooleanListArgsBundler;
+import com.hannesdorfmann.fragmentargs.bundler.DoubleListArgsBundler;
+import com.hannesdorfmann.fragmentargs.bundler.IntListArgsBundler;
+import com.hannesdorfmann.fragmentargs.bundler.LongListArgsBundler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@FragmentWithArgs
+public class PrimitiveListsFragment extends android.app.Fragment {
+
+    @Arg(bundler = IntListArgsBundler.class)
+    List<Integer> ids;
+
+    @Arg(required = false, bundler = LongListArgsBundler.class)
+    List<Long> timestamps;
+
+    @Arg(required = false, bundler = DoubleListArgsBundler.class)
+    List<Double> values;
+
+    @Arg(required = false, bundler = BooleanListArgsBundler.class)
+    List<Boolean> flags;
+
+    @Arg(required = false)
+    List<Integer> plainIds;
+
+    @Arg(required = false)
+    ArrayList<Integer> positions;
+}
@@ -0,0 +1,207 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+import com.hannesdorfmann.fragmentargs.ArgsBundlers$$77c221a3;
+
+public final class PrimitiveListsFragmentBuilder {
+
+  private final Bundle mArguments = new Bundle(7);
+  private boolean mTransferred;
+  private long mPresence0;
+
+  public PrimitiveListsFragmentBuilder(java.util.List<Integer> ids) {
+
+    mPresence0 |= 0x2L;
+    ArgsBundlers$$77c221a3.getIntListArgsBundler().put("ids", ids, mArguments);
+  }
+
+  public static PrimitiveListsFragment newPrimitiveListsFragment(java.util.List<Integer> ids) {
+    return new PrimitiveListsFragmentBuilder(ids).build();
+  }
+
+  /**
+   * Creates the arguments Bundle without creating a builder. Optional arguments that are null are not set.
+   */
+  public static Bundle bundlePrimitiveListsFragment(java.util.List<Integer> ids, java.util.List<Boolean> flags, java.util.List<Integer> plainIds, java.util.ArrayList<Integer> positions, java.util.List<Long> timestamps, java.util.List<Double> values) {
+    Bundle bundle = new Bundle(7);
+    long presence0 = 0;
+
+    presence0 |= 0x2L;
+    ArgsBundlers$$77c221a3.getIntListArgsBundler().put("ids", ids, bundle);
+
+    if (flags != null) {
+      presence0 |= 0x1L;
+      ArgsBundlers$$77c221a3.getBooleanListArgsBundler().put("flags", flags, bundle);
+    }
+
+    if (plainIds != null) {
+      presence0 |= 0x4L;
+      bundle.putIntegerArrayList("plainIds", com.hannesdorfmann.fragmentargs.bundler.BundleArgs.toArrayList(plainIds));
+    }
+
+    if (positions != null) {
+      presence0 |= 0x8L;
+      bundle.putIntegerArrayList("positions", positions);
+    }
+
+    if (timestamps != null) {
+      presence0 |= 0x10L;
+      ArgsBundlers$$77c221a3.getLongListArgsBundler().put("timestamps", timestamps, bundle);
+    }
+
+    if (values != null) {
+      presence0 |= 0x20L;
+      ArgsBundlers$$77c221a3.getDoubleListArgsBundler().put("values", values, bundle);
+    }
+
+    bundle.putLong("_fa_p0", presence0);
+    return bundle;
+  }
+
+  public static PrimitiveListsFragment newPrimitiveListsFragment(java.util.List<Integer> ids, java.util.List<Boolean> flags, java.util.List<Integer> plainIds, java.util.ArrayList<Integer> positions, java.util.List<Long> timestamps, java.util.List<Double> values) {
+    PrimitiveListsFragment fragment = new PrimitiveListsFragment();
+    fragment.setArguments(bundlePrimitiveListsFragment(ids, flags, plainIds, positions, timestamps, values));
+    return fragment;
+  }
+
+  public PrimitiveListsFragmentBuilder flags(java.util.List<Boolean> flags) {
+    checkNotTransferred();
+
+    if (flags != null) {
+      mPresence0 |= 0x1L;
+      ArgsBundlers$$77c221a3.getBooleanListArgsBundler().put("flags", flags, mArguments);
+    }
+    return this;
+  }
+
+  public PrimitiveListsFragmentBuilder plainIds(java.util.List<Integer> plainIds) {
+    checkNotTransferred();
+
+    if (plainIds != null) {
+      mPresence0 |= 0x4L;
+      mArguments.putIntegerArrayList("plainIds", com.hannesdorfmann.fragmentargs.bundler.BundleArgs.toArrayList(plainIds));
+    }
+    return this;
+  }
+
+  public PrimitiveListsFragmentBuilder positions(java.util.ArrayList<Integer> positions) {
+    checkNotTransferred();
+
+    if (positions != null) {
+      mPresence0 |= 0x8L;
+      mArguments.putIntegerArrayList("positions", positions);
+    }
+    return this;
+  }
+
+  public PrimitiveListsFragmentBuilder timestamps(java.util.List<Long> timestamps) {
+    checkNotTransferred();
+
+    if (timestamps != null) {
+      mPresence0 |= 0x10L;
+      ArgsBundlers$$77c221a3.getLongListArgsBundler().put("timestamps", timestamps, mArguments);
+    }
+    return this;
+  }
+
+  public PrimitiveListsFragmentBuilder values(java.util.List<Double> values) {
+    checkNotTransferred();
+
+    if (values != null) {
+      mPresence0 |= 0x20L;
+      ArgsBundlers$$77c221a3.getDoubleListArgsBundler().put("values", values, mArguments);
+    }
+    return this;
+  }
+
+  public Bundle buildBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    return new Bundle(mArguments);
+  }
+
+  /**
+   * Returns the arguments Bundle without copying it. This builder can't be used anymore afterwards.
+   */
+  public Bundle transferBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    mTransferred = true;
+    return mArguments;
+  }
+
+  private void checkNotTransferred() {
+    if (mTransferred) {
+      throw new IllegalStateException("The arguments have already been transferred by transferBundle(), this builder can't be used anymore");
+    }
+  }
+
+  public static final void injectArguments(PrimitiveListsFragment fragment) {
+    Bundle args = fragment.getArguments();
+    if (args == null) {
+      throw new IllegalStateException("No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? ");
+    }
+
+    long presence0 = PrimitiveListsFragmentBuilder.readPresenceFlags0(args);
+
+    if ((presence0 & 0x10L) != 0) {
+      fragment.timestamps = ArgsBundlers$$77c221a3.getLongListArgsBundler().get("timestamps", args);
+    }
+
+    if ((presence0 & 0x20L) != 0) {
+      fragment.values = ArgsBundlers$$77c221a3.getDoubleListArgsBundler().get("values", args);
+    }
+
+    if ((presence0 & 0x1L) != 0) {
+      fragment.flags = ArgsBundlers$$77c221a3.getBooleanListArgsBundler().get("flags", args);
+    }
+
+    if ((presence0 & 0x2L) == 0) {
+      throw new IllegalStateException("required argument ids is not set");
+    }
+    fragment.ids = ArgsBundlers$$77c221a3.getIntListArgsBundler().get("ids", args);
+
+    if ((presence0 & 0x8L) != 0) {
+      fragment.positions = args.getIntegerArrayList("positions");
+    }
+
+    if ((presence0 & 0x4L) != 0) {
+      fragment.plainIds = args.getIntegerArrayList("plainIds");
+    }
+  }
+
+  static long readPresenceFlags0(Bundle args) {
+    long presence = args.getLong("_fa_p0", -1L);
+    if (presence < 0) {
+      // Bundle has not been created by the builder
+      presence = 0;
+      if (args.getBoolean("com.hannesdorfmann.fragmentargs.custom.bundler.2312A478rand.flags")) {
+        presence |= 0x1L;
+      }
+      if (args.containsKey("com.hannesdorfmann.fragmentargs.custom.bundler.2312A478rand.ids")) {
+        presence |= 0x2L;
+      }
+      if (args.containsKey("plainIds")) {
+        presence |= 0x4L;
+      }
+      if (args.containsKey("positions")) {
+        presence |= 0x8L;
+      }
+      if (args.getBoolean("com.hannesdorfmann.fragmentargs.custom.bundler.2312A478rand.timestamps")) {
+        presence |= 0x10L;
+      }
+      if (args.getBoolean("com.hannesdorfmann.fragmentargs.custom.bundler.2312A478rand.values")) {
+        presence |= 0x20L;
+      }
+    }
+    return presence;
+  }
+
+  public PrimitiveListsFragment build() {
+    checkNotTransferred();
+    PrimitiveListsFragment fragment = new PrimitiveListsFragment();
+    mArguments.putLong("_fa_p0", mPresence0);
+    fragment.setArguments(mArguments);
+    return fragment;
+  }
+}
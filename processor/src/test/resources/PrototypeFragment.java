@@ -0,0 +1,14 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+@com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs(prototype = true)
+public class PrototypeFragment extends android.app.Fragment {
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg
+    int position;
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg
+    String title;
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg(required = false)
+    String subtitle;
+}
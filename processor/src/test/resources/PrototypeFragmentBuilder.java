@@ -0,0 +1,243 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public final class PrototypeFragmentBuilder {
+
+  private final Bundle mArguments = new Bundle(4);
+  private boolean mTransferred;
+  private boolean mFrozen;
+  private long mPresence0;
+
+  public PrototypeFragmentBuilder(int position, String title) {
+
+    mArguments.putInt("position", position);
+
+    mArguments.putString("title", title);
+  }
+
+  public static PrototypeFragment newPrototypeFragment(int position, String title) {
+    return new PrototypeFragmentBuilder(position, title).build();
+  }
+
+  /**
+   * Creates the arguments Bundle without creating a builder. Optional arguments that are null are not set.
+   */
+  public static Bundle bundlePrototypeFragment(int position, String title, String subtitle) {
+    Bundle bundle = new Bundle(4);
+    long presence0 = 0;
+
+    bundle.putInt("position", position);
+
+    bundle.putString("title", title);
+
+    if (subtitle != null) {
+      presence0 |= 0x1L;
+      bundle.putString("subtitle", subtitle);
+    }
+
+    bundle.putLong("_fa_p0", presence0);
+    return bundle;
+  }
+
+  public static PrototypeFragment newPrototypeFragment(int position, String title, String subtitle) {
+    PrototypeFragment fragment = new PrototypeFragment();
+    fragment.setArguments(bundlePrototypeFragment(position, title, subtitle));
+    return fragment;
+  }
+
+  public PrototypeFragmentBuilder subtitle(String subtitle) {
+    checkNotTransferred();
+    checkNotFrozen();
+
+    if (subtitle != null) {
+      mPresence0 |= 0x1L;
+      mArguments.putString("subtitle", subtitle);
+    }
+    return this;
+  }
+
+  public PrototypeFragmentBuilder position(int position) {
+    checkNotTransferred();
+    checkNotFrozen();
+
+    mArguments.putInt("position", position);
+    return this;
+  }
+
+  public PrototypeFragmentBuilder title(String title) {
+    checkNotTransferred();
+    checkNotFrozen();
+
+    mArguments.putString("title", title);
+    return this;
+  }
+
+  private PrototypeFragmentBuilder(PrototypeFragmentBuilder prototype) {
+    mArguments.putAll(prototype.mArguments);
+    mPresence0 = prototype.mPresence0;
+  }
+
+  /**
+   * Turns this builder into an immutable prototype. Builder methods throw an exception afterwards, {@link #build()} can be called again and again and {@link #derive()} creates a new builder with the arguments of this prototype.
+   */
+  public PrototypeFragmentBuilder freeze() {
+    checkNotTransferred();
+    if (!mFrozen) {
+      mArguments.putLong("_fa_p0", mPresence0);
+      mFrozen = true;
+    }
+    return this;
+  }
+
+  /**
+   * Creates a new builder with a copy of the arguments of this builder
+   */
+  public PrototypeFragmentBuilder derive() {
+    checkNotTransferred();
+    return new PrototypeFragmentBuilder(this);
+  }
+
+  /**
+   * Creates one fragment for each of the given values of position. All other arguments are the arguments of this builder.
+   */
+  public List<PrototypeFragment> buildAllWithPosition(int[] values) {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    List<PrototypeFragment> fragments = new ArrayList<PrototypeFragment>(values.length);
+    for (int value : values) {
+      Bundle bundle = new Bundle(mArguments);
+
+      bundle.putInt("position", value);
+      PrototypeFragment fragment = new PrototypeFragment();
+      fragment.setArguments(bundle);
+      fragments.add(fragment);
+    }
+    return fragments;
+  }
+
+  /**
+   * Creates one fragment for each of the given values of subtitle. All other arguments are the arguments of this builder. A null value creates a fragment without subtitle, even if this builder has one.
+   */
+  public List<PrototypeFragment> buildAllWithSubtitle(Collection<? extends String> values) {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    List<PrototypeFragment> fragments = new ArrayList<PrototypeFragment>(values.size());
+    for (java.lang.String value : values) {
+      Bundle bundle = new Bundle(mArguments);
+      long presence0 = mPresence0;
+
+      if (value == null) {
+        presence0 &= ~0x1L;
+        bundle.remove("subtitle");
+      } else {
+        presence0 |= 0x1L;
+        bundle.putString("subtitle", value);
+      }
+
+      bundle.putLong("_fa_p0", presence0);
+      PrototypeFragment fragment = new PrototypeFragment();
+      fragment.setArguments(bundle);
+      fragments.add(fragment);
+    }
+    return fragments;
+  }
+
+  /**
+   * Creates one fragment for each of the given values of title. All other arguments are the arguments of this builder.
+   */
+  public List<PrototypeFragment> buildAllWithTitle(Collection<? extends String> values) {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    List<PrototypeFragment> fragments = new ArrayList<PrototypeFragment>(values.size());
+    for (java.lang.String value : values) {
+      Bundle bundle = new Bundle(mArguments);
+
+      bundle.putString("title", value);
+      PrototypeFragment fragment = new PrototypeFragment();
+      fragment.setArguments(bundle);
+      fragments.add(fragment);
+    }
+    return fragments;
+  }
+
+  private void checkNotFrozen() {
+    if (mFrozen) {
+      throw new IllegalStateException("This builder is a frozen prototype, use derive() to create a builder that can be modified");
+    }
+  }
+
+  public Bundle buildBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    return new Bundle(mArguments);
+  }
+
+  /**
+   * Returns the arguments Bundle without copying it. This builder can't be used anymore afterwards.
+   */
+  public Bundle transferBundle() {
+    checkNotTransferred();
+    checkNotFrozen();
+    mArguments.putLong("_fa_p0", mPresence0);
+    mTransferred = true;
+    return mArguments;
+  }
+
+  private void checkNotTransferred() {
+    if (mTransferred) {
+      throw new IllegalStateException("The arguments have already been transferred by transferBundle(), this builder can't be used anymore");
+    }
+  }
+
+  public static final void injectArguments(PrototypeFragment fragment) {
+    Bundle args = fragment.getArguments();
+    if (args == null) {
+      throw new IllegalStateException("No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? ");
+    }
+
+    long presence0 = PrototypeFragmentBuilder.readPresenceFlags0(args);
+
+    if ((presence0 & 0x1L) != 0) {
+      fragment.subtitle = args.getString("subtitle");
+    }
+
+    if (!args.containsKey("position")) {
+      throw new IllegalStateException("required argument position is not set");
+    }
+    fragment.position = args.getInt("position");
+
+    if (!args.containsKey("title")) {
+      throw new IllegalStateException("required argument title is not set");
+    }
+    fragment.title = args.getString("title");
+  }
+
+  static long readPresenceFlags0(Bundle args) {
+    long presence = args.getLong("_fa_p0", -1L);
+    if (presence < 0) {
+      // Bundle has not been created by the builder
+      presence = 0;
+      if (args.containsKey("subtitle")) {
+        presence |= 0x1L;
+      }
+    }
+    return presence;
+  }
+
+  public PrototypeFragment build() {
+    checkNotTransferred();
+    PrototypeFragment fragment = new PrototypeFragment();
+    if (mFrozen) {
+      // The prototype stays unchanged
+      fragment.setArguments(new Bundle(mArguments));
+      return fragment;
+    }
+    mArguments.putLong("_fa_p0", mPresence0);
+    fragment.setArguments(mArguments);
+    return fragment;
+  }
+}
@@ -0,0 +1,31 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+@com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs
+public class ReleaseChecksFragment extends android.app.Fragment {
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg
+    String title;
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg
+    private long id;
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg(required = false)
+    int count = 5;
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg(required = false)
+    Integer limit;
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg(required = false)
+    String subtitle = "none";
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg(required = false)
+    private boolean enabled;
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
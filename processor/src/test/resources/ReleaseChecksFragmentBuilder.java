@@ -0,0 +1,180 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+
+public final class ReleaseChecksFragmentBuilder {
+
+  private final Bundle mArguments = new Bundle(7);
+  private boolean mTransferred;
+  private long mPresence0;
+
+  public ReleaseChecksFragmentBuilder(long id, String title) {
+
+    mArguments.putLong("id", id);
+
+    mArguments.putString("title", title);
+  }
+
+  public static ReleaseChecksFragment newReleaseChecksFragment(long id, String title) {
+    return new ReleaseChecksFragmentBuilder(id, title).build();
+  }
+
+  /**
+   * Creates the arguments Bundle without creating a builder. Optional arguments that are null are not set.
+   */
+  public static Bundle bundleReleaseChecksFragment(long id, String title, Integer count, Boolean enabled, Integer limit, String subtitle) {
+    Bundle bundle = new Bundle(7);
+    long presence0 = 0;
+
+    bundle.putLong("id", id);
+
+    bundle.putString("title", title);
+
+    if (count != null) {
+      presence0 |= 0x1L;
+      bundle.putInt("count", count);
+    }
+
+    if (enabled != null) {
+      presence0 |= 0x2L;
+      bundle.putBoolean("enabled", enabled);
+    }
+
+    if (limit != null) {
+      presence0 |= 0x4L;
+      bundle.putInt("limit", limit);
+    }
+
+    if (subtitle != null) {
+      presence0 |= 0x8L;
+      bundle.putString("subtitle", subtitle);
+    }
+
+    bundle.putLong("_fa_p0", presence0);
+    return bundle;
+  }
+
+  public static ReleaseChecksFragment newReleaseChecksFragment(long id, String title, Integer count, Boolean enabled, Integer limit, String subtitle) {
+    ReleaseChecksFragment fragment = new ReleaseChecksFragment();
+    fragment.setArguments(bundleReleaseChecksFragment(id, title, count, enabled, limit, subtitle));
+    return fragment;
+  }
+
+  public ReleaseChecksFragmentBuilder count(int count) {
+    checkNotTransferred();
+
+    mPresence0 |= 0x1L;
+    mArguments.putInt("count", count);
+    return this;
+  }
+
+  public ReleaseChecksFragmentBuilder enabled(boolean enabled) {
+    checkNotTransferred();
+
+    mPresence0 |= 0x2L;
+    mArguments.putBoolean("enabled", enabled);
+    return this;
+  }
+
+  public ReleaseChecksFragmentBuilder limit(Integer limit) {
+    checkNotTransferred();
+
+    if (limit != null) {
+      mPresence0 |= 0x4L;
+      mArguments.putInt("limit", limit);
+    }
+    return this;
+  }
+
+  public ReleaseChecksFragmentBuilder subtitle(String subtitle) {
+    checkNotTransferred();
+
+    if (subtitle != null) {
+      mPresence0 |= 0x8L;
+      mArguments.putString("subtitle", subtitle);
+    }
+    return this;
+  }
+
+  public Bundle buildBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    return new Bundle(mArguments);
+  }
+
+  /**
+   * Returns the arguments Bundle without copying it. This builder can't be used anymore afterwards.
+   */
+  public Bundle transferBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    mTransferred = true;
+    return mArguments;
+  }
+
+  private void checkNotTransferred() {
+    if (mTransferred) {
+      throw new IllegalStateException("The arguments have already been transferred by transferBundle(), this builder can't be used anymore");
+    }
+  }
+
+  public static final void injectArguments(ReleaseChecksFragment fragment) {
+    Bundle args = fragment.getArguments();
+    if (args == null) {
+      throw new IllegalStateException("No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? ");
+    }
+
+    long presence0 = ReleaseChecksFragmentBuilder.readPresenceFlags0(args);
+
+    java.lang.String value0 = args.getString("subtitle");
+    if (value0 != null) {
+      fragment.subtitle = value0;
+    }
+
+    fragment.count = args.getInt("count", fragment.count);
+
+    java.lang.Integer value1 = (java.lang.Integer) args.get("limit");
+    if (value1 != null) {
+      fragment.limit = value1;
+    }
+
+    long value2 = args.getLong("id");
+    fragment.setId(value2);
+
+    fragment.title = args.getString("title");
+
+    if ((presence0 & 0x2L) != 0) {
+      boolean value3 = args.getBoolean("enabled");
+      fragment.setEnabled(value3);
+    }
+  }
+
+  static long readPresenceFlags0(Bundle args) {
+    long presence = args.getLong("_fa_p0", -1L);
+    if (presence < 0) {
+      // Bundle has not been created by the builder
+      presence = 0;
+      if (args.containsKey("count")) {
+        presence |= 0x1L;
+      }
+      if (args.containsKey("enabled")) {
+        presence |= 0x2L;
+      }
+      if (args.containsKey("limit")) {
+        presence |= 0x4L;
+      }
+      if (args.containsKey("subtitle")) {
+        presence |= 0x8L;
+      }
+    }
+    return presence;
+  }
+
+  public ReleaseChecksFragment build() {
+    checkNotTransferred();
+    ReleaseChecksFragment fragment = new ReleaseChecksFragment();
+    mArguments.putLong("_fa_p0", mPresence0);
+    fragment.setArguments(mArguments);
+    return fragment;
+  }
+}
@@ -0,0 +1,18 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+@com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs(retainArguments = true)
+public class RetainArgumentsFragment extends android.app.Fragment {
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg
+    String title;
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg(required = false)
+    int count = 5;
+
+    @com.hannesdorfmann.fragmentargs.annotation.Arg
+    private long id;
+
+    public void setId(long id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,116 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+
+public final class RetainArgumentsFragmentBuilder {
+
+  private final Bundle mArguments = new Bundle(4);
+  private boolean mTransferred;
+  private long mPresence0;
+
+  public RetainArgumentsFragmentBuilder(long id, String title) {
+
+    mArguments.putLong("id", id);
+
+    mArguments.putString("title", title);
+  }
+
+  public static RetainArgumentsFragment newRetainArgumentsFragment(long id, String title) {
+    return new RetainArgumentsFragmentBuilder(id, title).build();
+  }
+
+  /**
+   * Creates the arguments Bundle without creating a builder. Optional arguments that are null are not set.
+   */
+  public static Bundle bundleRetainArgumentsFragment(long id, String title, Integer count) {
+    Bundle bundle = new Bundle(4);
+    long presence0 = 0;
+
+    bundle.putLong("id", id);
+
+    bundle.putString("title", title);
+
+    if (count != null) {
+      presence0 |= 0x1L;
+      bundle.putInt("count", count);
+    }
+
+    bundle.putLong("_fa_p0", presence0);
+    return bundle;
+  }
+
+  public static RetainArgumentsFragment newRetainArgumentsFragment(long id, String title, Integer count) {
+    RetainArgumentsFragment fragment = new RetainArgumentsFragment();
+    fragment.setArguments(bundleRetainArgumentsFragment(id, title, count));
+    return fragment;
+  }
+
+  public RetainArgumentsFragmentBuilder count(int count) {
+    checkNotTransferred();
+
+    mPresence0 |= 0x1L;
+    mArguments.putInt("count", count);
+    return this;
+  }
+
+  public Bundle buildBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    return new Bundle(mArguments);
+  }
+
+  /**
+   * Returns the arguments Bundle without copying it. This builder can't be used anymore afterwards.
+   */
+  public Bundle transferBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    mTransferred = true;
+    return mArguments;
+  }
+
+  private void checkNotTransferred() {
+    if (mTransferred) {
+      throw new IllegalStateException("The arguments have already been transferred by transferBundle(), this builder can't be used anymore");
+    }
+  }
+
+  public static final void injectArguments(RetainArgumentsFragment fragment) {
+    Bundle args = fragment.getArguments();
+    if (args == null) {
+      throw new IllegalStateException("No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? ");
+    }
+
+    // Parsed only once per Bundle instance
+    RetainArgumentsFragmentArgs retained = RetainArgumentsFragmentArgs.from(args);
+
+    if ((retained.presentFlags0 & 0x1L) != 0) {
+      fragment.count = retained.count;
+    }
+
+    long value0 = retained.id;
+    fragment.setId(value0);
+
+    fragment.title = retained.title;
+  }
+
+  static long readPresenceFlags0(Bundle args) {
+    long presence = args.getLong("_fa_p0", -1L);
+    if (presence < 0) {
+      // Bundle has not been created by the builder
+      presence = 0;
+      if (args.containsKey("count")) {
+        presence |= 0x1L;
+      }
+    }
+    return presence;
+  }
+
+  public RetainArgumentsFragment build() {
+    checkNotTransferred();
+    RetainArgumentsFragment fragment = new RetainArgumentsFragment();
+    mArguments.putLong("_fa_p0", mPresence0);
+    fragment.setArguments(mArguments);
+    return fragment;
+  }
+}
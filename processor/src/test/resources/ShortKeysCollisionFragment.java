@@ -0,0 +1,14 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import com.hannesdorfmann.fragmentargs.annotation.Arg;
+import com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs;
+
+@FragmentWithArgs
+public class ShortKeysCollisionFragment extends android.app.Fragment {
+
+    @Arg
+    String userId;
+
+    @Arg
+    String userID;
+}
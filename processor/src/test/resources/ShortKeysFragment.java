@@ -0,0 +1,23 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import com.hannesdorfmann.fragmentargs.annotation.Arg;
+import com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs;
+import com.hannesdorfmann.fragmentargs.bundler.CastedArrayListArgsBundler;
+
+import java.util.List;
+
+@FragmentWithArgs
+public class ShortKeysFragment extends android.app.Fragment {
+
+    @Arg
+    String title;
+
+    @Arg(key = "b")
+    int mFeatureId;
+
+    @Arg(required = false)
+    String subtitle;
+
+    @Arg(required = false, bundler = CastedArrayListArgsBundler.class)
+    List<android.os.Parcelable> items;
+}
@@ -0,0 +1,150 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+import com.hannesdorfmann.fragmentargs.ArgsBundlers$$9756b539;
+
+public final class ShortKeysFragmentBuilder {
+
+  public static final String KEY_FEATURE_ID = "b";
+  public static final String KEY_ITEMS = "a";
+  public static final String KEY_SUBTITLE = "c";
+  public static final String KEY_TITLE = "d";
+
+  private final Bundle mArguments = new Bundle(5);
+  private boolean mTransferred;
+  private long mPresence0;
+
+  public ShortKeysFragmentBuilder(int featureId, String title) {
+
+    mArguments.putInt(ShortKeysFragmentBuilder.KEY_FEATURE_ID, featureId);
+
+    mArguments.putString(ShortKeysFragmentBuilder.KEY_TITLE, title);
+  }
+
+  public static ShortKeysFragment newShortKeysFragment(int featureId, String title) {
+    return new ShortKeysFragmentBuilder(featureId, title).build();
+  }
+
+  /**
+   * Creates the arguments Bundle without creating a builder. Optional arguments that are null are not set.
+   */
+  public static Bundle bundleShortKeysFragment(int featureId, String title, java.util.List<android.os.Parcelable> items, String subtitle) {
+    Bundle bundle = new Bundle(5);
+    long presence0 = 0;
+
+    bundle.putInt(ShortKeysFragmentBuilder.KEY_FEATURE_ID, featureId);
+
+    bundle.putString(ShortKeysFragmentBuilder.KEY_TITLE, title);
+
+    if (items != null) {
+      presence0 |= 0x1L;
+      ArgsBundlers$$9756b539.getCastedArrayListArgsBundler().put(ShortKeysFragmentBuilder.KEY_ITEMS, items, bundle);
+    }
+
+    if (subtitle != null) {
+      presence0 |= 0x2L;
+      bundle.putString(ShortKeysFragmentBuilder.KEY_SUBTITLE, subtitle);
+    }
+
+    bundle.putLong("_fa_p0", presence0);
+    return bundle;
+  }
+
+  public static ShortKeysFragment newShortKeysFragment(int featureId, String title, java.util.List<android.os.Parcelable> items, String subtitle) {
+    ShortKeysFragment fragment = new ShortKeysFragment();
+    fragment.setArguments(bundleShortKeysFragment(featureId, title, items, subtitle));
+    return fragment;
+  }
+
+  public ShortKeysFragmentBuilder items(java.util.List<android.os.Parcelable> items) {
+    checkNotTransferred();
+
+    if (items != null) {
+      mPresence0 |= 0x1L;
+      ArgsBundlers$$9756b539.getCastedArrayListArgsBundler().put(ShortKeysFragmentBuilder.KEY_ITEMS, items, mArguments);
+    }
+    return this;
+  }
+
+  public ShortKeysFragmentBuilder subtitle(String subtitle) {
+    checkNotTransferred();
+
+    if (subtitle != null) {
+      mPresence0 |= 0x2L;
+      mArguments.putString(ShortKeysFragmentBuilder.KEY_SUBTITLE, subtitle);
+    }
+    return this;
+  }
+
+  public Bundle buildBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    return new Bundle(mArguments);
+  }
+
+  /**
+   * Returns the arguments Bundle without copying it. This builder can't be used anymore afterwards.
+   */
+  public Bundle transferBundle() {
+    checkNotTransferred();
+    mArguments.putLong("_fa_p0", mPresence0);
+    mTransferred = true;
+    return mArguments;
+  }
+
+  private void checkNotTransferred() {
+    if (mTransferred) {
+      throw new IllegalStateException("The arguments have already been transferred by transferBundle(), this builder can't be used anymore");
+    }
+  }
+
+  public static final void injectArguments(ShortKeysFragment fragment) {
+    Bundle args = fragment.getArguments();
+    if (args == null) {
+      throw new IllegalStateException("No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? ");
+    }
+
+    long presence0 = ShortKeysFragmentBuilder.readPresenceFlags0(args);
+
+    if (!args.containsKey(ShortKeysFragmentBuilder.KEY_FEATURE_ID)) {
+      throw new IllegalStateException("required argument b is not set");
+    }
+    fragment.mFeatureId = args.getInt(ShortKeysFragmentBuilder.KEY_FEATURE_ID);
+
+    if ((presence0 & 0x2L) != 0) {
+      fragment.subtitle = args.getString(ShortKeysFragmentBuilder.KEY_SUBTITLE);
+    }
+
+    if (!args.containsKey(ShortKeysFragmentBuilder.KEY_TITLE)) {
+      throw new IllegalStateException("required argument title is not set");
+    }
+    fragment.title = args.getString(ShortKeysFragmentBuilder.KEY_TITLE);
+
+    if ((presence0 & 0x1L) != 0) {
+      fragment.items = ArgsBundlers$$9756b539.getCastedArrayListArgsBundler().get(ShortKeysFragmentBuilder.KEY_ITEMS, args);
+    }
+  }
+
+  static long readPresenceFlags0(Bundle args) {
+    long presence = args.getLong("_fa_p0", -1L);
+    if (presence < 0) {
+      // Bundle has not been created by the builder
+      presence = 0;
+      if (args.getBoolean("com.hannesdorfmann.fragmentargs.custom.bundler.2312A478rand.items")) {
+        presence |= 0x1L;
+      }
+      if (args.containsKey(ShortKeysFragmentBuilder.KEY_SUBTITLE)) {
+        presence |= 0x2L;
+      }
+    }
+    return presence;
+  }
+
+  public ShortKeysFragment build() {
+    checkNotTransferred();
+    ShortKeysFragment fragment = new ShortKeysFragment();
+    mArguments.putLong("_fa_p0", mPresence0);
+    fragment.setArguments(mArguments);
+    return fragment;
+  }
+}
@@ -0,0 +1,72 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import android.os.Bundle;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+public final class SkipUnchangedArgumentsBuilder {
+
+  private static final Map<SkipUnchangedArguments, Bundle> injectedArguments = new WeakHashMap<SkipUnchangedArguments, Bundle>();
+
+  private final Bundle mArguments = new Bundle(1);
+  private boolean mTransferred;
+
+  public SkipUnchangedArgumentsBuilder(String arg) {
+
+    mArguments.putString("arg", arg);
+  }
+
+  public static SkipUnchangedArguments newSkipUnchangedArguments(String arg) {
+    return new SkipUnchangedArgumentsBuilder(arg).build();
+  }
+
+  public Bundle buildBundle() {
+    checkNotTransferred();
+    return new Bundle(mArguments);
+  }
+
+  /**
+   * Returns the arguments Bundle without copying it. This builder can't be used anymore afterwards.
+   */
+  public Bundle transferBundle() {
+    checkNotTransferred();
+    mTransferred = true;
+    return mArguments;
+  }
+
+  private void checkNotTransferred() {
+    if (mTransferred) {
+      throw new IllegalStateException("The arguments have already been transferred by transferBundle(), this builder can't be used anymore");
+    }
+  }
+
+  public static final void injectArguments(SkipUnchangedArguments fragment) {
+    Bundle args = fragment.getArguments();
+    if (args == null) {
+      throw new IllegalStateException("No arguments set. Have you set up this Fragment with the corresponding FragmentArgs Builder? ");
+    }
+
+    synchronized (injectedArguments) {
+      if (injectedArguments.get(fragment) == args) {
+        // Already injected
+        return;
+      }
+    }
+
+    if (!args.containsKey("arg")) {
+      throw new IllegalStateException("required argument arg is not set");
+    }
+    fragment.arg = args.getString("arg");
+
+    synchronized (injectedArguments) {
+      injectedArguments.put(fragment, args);
+    }
+  }
+
+  public SkipUnchangedArguments build() {
+    checkNotTransferred();
+    SkipUnchangedArguments fragment = new SkipUnchangedArguments();
+    fragment.setArguments(mArguments);
+    return fragment;
+  }
+}
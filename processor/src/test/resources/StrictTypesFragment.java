@@ -0,0 +1,17 @@
+package com.hannesdorfmann.fragmentargs.processor.test;
+
+import com.hannesdorfmann.fragmentargs.annotation.Arg;
+import com.hannesdorfmann.fragmentargs.annotation.FragmentWithArgs;
+
+import java.io.Serializable;
+import java.util.Date;
+
+@FragmentWithArgs
+public class StrictTypesFragment extends android.app.Fragment {
+
+    @Arg
+    Serializable state;
+
+    @Arg
+    Date date;
+}